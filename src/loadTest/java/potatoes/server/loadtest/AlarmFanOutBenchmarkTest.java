@@ -0,0 +1,166 @@
+package potatoes.server.loadtest;
+
+import static org.assertj.core.api.Assertions.*;
+import static potatoes.server.utils.constant.AlarmStatus.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import potatoes.server.chat.dto.AlarmSubscribe;
+import potatoes.server.chat.dto.ParticipantsInfoResponse;
+import potatoes.server.chat.repository.ChatRepository;
+import potatoes.server.chat.repository.ChatUserRepository;
+import potatoes.server.chat.stomp.AlarmDispatcher;
+import potatoes.server.chat.stomp.ChatPresenceRegistry;
+import potatoes.server.travel.cache.TravelRosterCache;
+import potatoes.server.travel.repository.TravelRepository;
+import potatoes.server.travel.repository.TravelUserRepository;
+import potatoes.server.user.entity.User;
+import potatoes.server.user.repository.UserRepository;
+
+// 방 인원별로 채팅 알림 한 건을 모든 참여자에게 보내는 비용 비교
+// PER_USER: 알림마다 findAllByTravel 로 참여자를 읽고 참여자마다 convertAndSend (변경 전 ChatService)
+// ROOM_DISPATCH: TravelRosterCache 의 참여자 목록으로 AlarmDispatcher 가 한 번 직렬화해 전달
+// 참여자는 모두 접속중으로 등록하고 구독은 하지 않으므로 소켓 쓰기는 빠진 직렬화 + 브로커 전달 비용이다
+// ./gradlew loadTest --tests '*AlarmFanOutBenchmarkTest' -Dloadtest.alarm.room-sizes=10,100,1000 -Dloadtest.alarm.iterations=200
+// 결과는 build/reports/loadtest/alarm-fan-out-*.json
+@ActiveProfiles("loadtest")
+@SpringBootTest
+class AlarmFanOutBenchmarkTest {
+
+	@TestConfiguration
+	static class LoadTestConfig {
+
+		@Bean
+		static QueryCountingDataSource queryCountingDataSource() {
+			return new QueryCountingDataSource();
+		}
+	}
+
+	private final int[] roomSizes = Arrays.stream(System.getProperty("loadtest.alarm.room-sizes", "10,100,1000")
+		.split(",")).mapToInt(size -> Integer.parseInt(size.trim())).toArray();
+	private final int iterations = Integer.getInteger("loadtest.alarm.iterations", 200);
+
+	@Autowired
+	private QueryCountingDataSource queryCounter;
+
+	@Autowired
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Autowired
+	private AlarmDispatcher alarmDispatcher;
+
+	@Autowired
+	private TravelRosterCache travelRosterCache;
+
+	@Autowired
+	private ChatPresenceRegistry presenceRegistry;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TravelRepository travelRepository;
+
+	@Autowired
+	private TravelUserRepository travelUserRepository;
+
+	@Autowired
+	private ChatRepository chatRepository;
+
+	@Autowired
+	private ChatUserRepository chatUserRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void 방_인원별_알림_fan_out_비용을_비교한다() throws Exception {
+		ChatLoadSeeder seeder = new ChatLoadSeeder(userRepository, travelRepository, travelUserRepository,
+			chatRepository, chatUserRepository, transactionTemplate);
+
+		List<Result> results = new ArrayList<>();
+		for (int roomSize : roomSizes) {
+			ChatLoadSeeder.SeededRoom room = seeder.seedRoom("alarm-" + roomSize, roomSize);
+			Long travelId = transactionTemplate.execute(
+				status -> chatRepository.findById(room.chatId()).orElseThrow().getTravel().getId());
+			room.userIds().forEach(userId -> presenceRegistry.connected("alarm-" + userId, userId));
+
+			AlarmSubscribe alarm = alarm(room.chatId(), roomSize, room.userIds().get(0));
+			// JIT 와 로스터 캐시를 데우기 위한 실행은 결과에서 제외
+			perUser(travelId, alarm, Math.max(1, iterations / 4));
+			roomDispatch(travelId, alarm, Math.max(1, iterations / 4));
+
+			results.add(perUser(travelId, alarm, iterations));
+			results.add(roomDispatch(travelId, alarm, iterations));
+
+			room.userIds().forEach(userId -> presenceRegistry.disconnected("alarm-" + userId));
+		}
+		LoadTestReports.write("alarm-fan-out", new Report(Instant.now(), iterations, results));
+
+		for (Result result : results) {
+			if (result.mode().equals("ROOM_DISPATCH")) {
+				assertThat(result.statementsPerAlarm()).isZero();
+			}
+		}
+	}
+
+	private Result perUser(Long travelId, AlarmSubscribe alarm, int count) {
+		return measure("PER_USER", alarm.currentMemberCount(), count,
+			() -> transactionTemplate.executeWithoutResult(status ->
+				travelUserRepository.findAllByTravel(travelRepository.getReferenceById(travelId))
+					.forEach(travelUser -> messagingTemplate.convertAndSend(
+						"/sub/alarm/" + travelUser.getUser().getId(), alarm))));
+	}
+
+	private Result roomDispatch(Long travelId, AlarmSubscribe alarm, int count) {
+		return measure("ROOM_DISPATCH", alarm.currentMemberCount(), count,
+			() -> transactionTemplate.executeWithoutResult(status ->
+				alarmDispatcher.send(travelRosterCache.userIds(travelId), alarm)));
+	}
+
+	private Result measure(String mode, int roomSize, int count, Runnable sendAlarm) {
+		long statementsBefore = queryCounter.count();
+		long startedAt = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			sendAlarm.run();
+		}
+		long elapsedNanos = System.nanoTime() - startedAt;
+		long statements = queryCounter.count() - statementsBefore;
+		return new Result(mode, roomSize, count,
+			count / (elapsedNanos / 1_000_000_000.0),
+			elapsedNanos / 1_000.0 / count,
+			elapsedNanos / 1_000.0 / count / roomSize,
+			(double)statements / count);
+	}
+
+	private AlarmSubscribe alarm(Long chatId, int roomSize, Long senderId) {
+		User sender = userRepository.findById(senderId).orElseThrow();
+		return new AlarmSubscribe(chatId, roomSize, "2024-01-01", MESSAGE, ParticipantsInfoResponse.of(sender, 1));
+	}
+
+	private record Result(
+		String mode,
+		int roomSize,
+		int alarms,
+		double alarmsPerSecond,
+		double microsPerAlarm,
+		double microsPerRecipient,
+		double statementsPerAlarm
+	) {
+	}
+
+	private record Report(Instant measuredAt, int iterations, List<Result> results) {
+	}
+}
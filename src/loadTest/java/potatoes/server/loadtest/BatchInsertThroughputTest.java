@@ -0,0 +1,114 @@
+package potatoes.server.loadtest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import potatoes.server.chat.entity.ChatImage;
+import potatoes.server.chat.repository.ChatImageRepository;
+import potatoes.server.utils.id.TimeOrderedIdGenerator;
+
+// IDENTITY 방식(행마다 INSERT 한 번)과 TimeOrderedId + JDBC batch 의 초당 INSERT 수 비교
+// IDENTITY 는 id 를 받아야 다음 행을 보낼 수 있으므로 행마다 statement 를 실행하는 것으로 재현
+// ./gradlew loadTest --tests '*BatchInsertThroughputTest' -Dloadtest.insert.rows=20000 -Dloadtest.insert.chunk=1000
+// H2 메모리 DB 라 네트워크 왕복이 없으므로 MariaDB 에서는 차이가 더 커진다, 결과는 build/reports/loadtest/batch-insert-*.json
+@ActiveProfiles("loadtest")
+@SpringBootTest
+class BatchInsertThroughputTest {
+
+	private static final String INSERT_CHAT_IMAGE =
+		"INSERT INTO chat_image (id, image_url, image_url_hash) VALUES (?, ?, ?)";
+
+	@TestConfiguration
+	static class LoadTestConfig {
+
+		@Bean
+		static QueryCountingDataSource queryCountingDataSource() {
+			return new QueryCountingDataSource();
+		}
+	}
+
+	private final int rows = Integer.getInteger("loadtest.insert.rows", 20_000);
+	private final int chunk = Integer.getInteger("loadtest.insert.chunk", 1_000);
+
+	@Autowired
+	private QueryCountingDataSource queryCounter;
+
+	@Autowired
+	private ChatImageRepository chatImageRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void 행별_INSERT_와_batch_INSERT_의_처리량을_비교한다() throws Exception {
+		// JIT 와 커넥션 풀을 데우기 위한 한 번의 실행은 결과에서 제외
+		rowByRow("warmup", chunk);
+		batched("warmup", chunk);
+
+		Result rowByRow = rowByRow("row", rows);
+		Result batched = batched("batch", rows);
+		LoadTestReports.write("batch-insert", new Report(Instant.now(), rows, chunk, List.of(rowByRow, batched)));
+
+		assertThat(batched.statementsPerRow()).isLessThan(rowByRow.statementsPerRow());
+	}
+
+	private Result rowByRow(String prefix, int count) {
+		return measure("ROW_BY_ROW", count, from -> transactionTemplate.executeWithoutResult(status -> {
+			for (int i = from; i < Math.min(from + chunk, count); i++) {
+				String imageUrl = imageUrl(prefix, i);
+				jdbcTemplate.update(INSERT_CHAT_IMAGE, TimeOrderedIdGenerator.nextId(), imageUrl,
+					ChatImage.hashOf(imageUrl));
+			}
+		}));
+	}
+
+	private Result batched(String prefix, int count) {
+		return measure("TIME_ORDERED_BATCH", count, from -> transactionTemplate.executeWithoutResult(status -> {
+			List<ChatImage> chatImages = new ArrayList<>(chunk);
+			for (int i = from; i < Math.min(from + chunk, count); i++) {
+				chatImages.add(new ChatImage(imageUrl(prefix, i)));
+			}
+			chatImageRepository.saveAll(chatImages);
+		}));
+	}
+
+	private Result measure(String mode, int count, ChunkWriter writer) {
+		long statementsBefore = queryCounter.count();
+		long startedAt = System.nanoTime();
+		for (int from = 0; from < count; from += chunk) {
+			writer.write(from);
+		}
+		double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+		long statements = queryCounter.count() - statementsBefore;
+		return new Result(mode, seconds, count / seconds, (double)statements / count);
+	}
+
+	private static String imageUrl(String prefix, int index) {
+		return "https://load-test.s3.amazonaws.com/" + prefix + "-" + System.nanoTime() + "-" + index + ".png";
+	}
+
+	private interface ChunkWriter {
+		void write(int from);
+	}
+
+	private record Result(String mode, double seconds, double rowsPerSecond, double statementsPerRow) {
+	}
+
+	private record Report(Instant measuredAt, int rows, int chunk, List<Result> results) {
+	}
+}
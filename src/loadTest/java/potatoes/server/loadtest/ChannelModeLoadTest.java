@@ -0,0 +1,140 @@
+package potatoes.server.loadtest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import potatoes.server.chat.repository.ChatRepository;
+import potatoes.server.chat.repository.ChatUserRepository;
+import potatoes.server.travel.repository.TravelRepository;
+import potatoes.server.travel.repository.TravelUserRepository;
+import potatoes.server.user.repository.UserRepository;
+import potatoes.server.utils.constant.ChannelExecutionMode;
+import potatoes.server.utils.jwt.JwtTokenUtil;
+
+// clientInbound / clientOutbound / broker 채널 실행 방식(chat.channel.*.mode)별로 같은 부하를 걸어 비교
+// 모드마다 별도 컨텍스트와 DB 로 띄우고 끝나면 닫는다, 기본 100 방 x 50 명 = 5000 세션
+// 세션마다 소켓을 두 개(클라이언트, 서버) 쓰므로 ulimit -n 을 12000 이상으로 올리고 실행
+// ./gradlew loadTest --tests '*ChannelModeLoadTest' -Dloadtest.rooms=100 -Dloadtest.room-size=50 -Dloadtest.send-rate=5
+// 결과는 build/reports/loadtest/channel-mode-*.json
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ChannelModeLoadTest {
+
+	private static final List<Result> RESULTS = new ArrayList<>();
+
+	@TestConfiguration
+	static class LoadTestConfig {
+
+		@Bean
+		static QueryCountingDataSource queryCountingDataSource() {
+			return new QueryCountingDataSource();
+		}
+	}
+
+	@AfterAll
+	static void writeComparison() throws Exception {
+		LoadTestReports.write("channel-mode", new Report(Instant.now(), RESULTS));
+	}
+
+	@Nested
+	@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+	@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:channel-mode-default;MODE=MariaDB;DB_CLOSE_DELAY=-1"
+	})
+	class DefaultMode extends ModeRun {
+	}
+
+	@Nested
+	@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+	@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:channel-mode-virtual;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+		"chat.channel.inbound.mode=VIRTUAL",
+		"chat.channel.outbound.mode=VIRTUAL",
+		"chat.channel.broker.mode=VIRTUAL"
+	})
+	class VirtualMode extends ModeRun {
+	}
+
+	@Nested
+	@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+	@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:channel-mode-bounded;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+		"chat.channel.inbound.mode=BOUNDED",
+		"chat.channel.outbound.mode=BOUNDED",
+		"chat.channel.broker.mode=BOUNDED"
+	})
+	class BoundedMode extends ModeRun {
+	}
+
+	abstract class ModeRun {
+
+		@LocalServerPort
+		private int port;
+
+		@Autowired
+		private Environment environment;
+
+		@Autowired
+		private QueryCountingDataSource queryCounter;
+
+		@Autowired
+		private JwtTokenUtil jwtTokenUtil;
+
+		@Autowired
+		private UserRepository userRepository;
+
+		@Autowired
+		private TravelRepository travelRepository;
+
+		@Autowired
+		private TravelUserRepository travelUserRepository;
+
+		@Autowired
+		private ChatRepository chatRepository;
+
+		@Autowired
+		private ChatUserRepository chatUserRepository;
+
+		@Autowired
+		private TransactionTemplate transactionTemplate;
+
+		@Test
+		void 같은_부하에서_채널_실행_방식의_처리량과_지연시간을_측정한다() throws Exception {
+			ChatLoadScenario scenario = ChatLoadScenario.fromSystemProperties(100, 50);
+			List<ChatLoadSeeder.SeededRoom> rooms = new ChatLoadSeeder(userRepository, travelRepository,
+				travelUserRepository, chatRepository, chatUserRepository, transactionTemplate).seed(scenario);
+
+			ChatLoadReport report = new ChatLoadDriver(port, jwtTokenUtil, queryCounter).run(scenario, rooms);
+			ChannelExecutionMode mode = environment.getProperty("chat.channel.inbound.mode",
+				ChannelExecutionMode.class, ChannelExecutionMode.DEFAULT);
+			synchronized (RESULTS) {
+				RESULTS.add(new Result(mode, report));
+			}
+
+			assertThat(report.delivered()).isPositive();
+		}
+	}
+
+	private record Result(ChannelExecutionMode mode, ChatLoadReport report) {
+	}
+
+	private record Report(Instant measuredAt, List<Result> results) {
+	}
+}
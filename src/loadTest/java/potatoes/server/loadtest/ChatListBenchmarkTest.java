@@ -0,0 +1,188 @@
+package potatoes.server.loadtest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import potatoes.server.chat.entity.Chat;
+import potatoes.server.chat.entity.ChatMessage;
+import potatoes.server.chat.entity.ChatUser;
+import potatoes.server.chat.repository.ChatMessageRepository;
+import potatoes.server.chat.repository.ChatRepository;
+import potatoes.server.chat.repository.ChatUserRepository;
+import potatoes.server.chat.service.ChatService;
+import potatoes.server.travel.entity.TravelUser;
+import potatoes.server.travel.repository.TravelRepository;
+import potatoes.server.travel.repository.TravelUserRepository;
+import potatoes.server.user.entity.User;
+import potatoes.server.user.repository.UserRepository;
+import potatoes.server.utils.constant.ChatSortType;
+
+// 채팅방 50개 이상에 속한 유저의 GET /chat (getChatSummaryList) 지연시간과 SQL 실행 수
+// 유저는 방 5개 중 4개에 참여하고 1개는 여행만 참여한 상태(참여 가능한 채팅방)로 둔다
+// ./gradlew loadTest --tests '*ChatListBenchmarkTest' -Dloadtest.chat-list.room-counts=50,100,200 -Dloadtest.chat-list.messages=20
+// 결과는 build/reports/loadtest/chat-list-*.json
+@ActiveProfiles("loadtest")
+@SpringBootTest
+class ChatListBenchmarkTest {
+
+	private static final int ROOM_SIZE = 3;
+
+	@TestConfiguration
+	static class LoadTestConfig {
+
+		@Bean
+		static QueryCountingDataSource queryCountingDataSource() {
+			return new QueryCountingDataSource();
+		}
+	}
+
+	private final int[] roomCounts = Arrays.stream(System.getProperty("loadtest.chat-list.room-counts", "50,100,200")
+		.split(",")).mapToInt(count -> Integer.parseInt(count.trim())).toArray();
+	private final int messagesPerRoom = Integer.getInteger("loadtest.chat-list.messages", 20);
+	private final int iterations = Integer.getInteger("loadtest.chat-list.iterations", 200);
+
+	@Autowired
+	private QueryCountingDataSource queryCounter;
+
+	@Autowired
+	private ChatService chatService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TravelRepository travelRepository;
+
+	@Autowired
+	private TravelUserRepository travelUserRepository;
+
+	@Autowired
+	private ChatRepository chatRepository;
+
+	@Autowired
+	private ChatUserRepository chatUserRepository;
+
+	@Autowired
+	private ChatMessageRepository chatMessageRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void 채팅방이_많은_유저의_채팅방_목록_조회_비용을_측정한다() throws Exception {
+		ChatLoadSeeder seeder = new ChatLoadSeeder(userRepository, travelRepository, travelUserRepository,
+			chatRepository, chatUserRepository, transactionTemplate);
+		int maxRooms = Arrays.stream(roomCounts).max().orElse(0);
+		List<ChatLoadSeeder.SeededRoom> rooms = new ArrayList<>(maxRooms);
+		for (int room = 0; room < maxRooms; room++) {
+			ChatLoadSeeder.SeededRoom seeded = seeder.seedRoom("chat-list-" + room, ROOM_SIZE);
+			addMessages(seeded);
+			rooms.add(seeded);
+		}
+
+		List<Result> results = new ArrayList<>();
+		for (int roomCount : roomCounts) {
+			Long userId = joinRooms("chat-list-user-" + roomCount, rooms.subList(0, roomCount));
+			for (ChatSortType sortType : ChatSortType.values()) {
+				results.add(measure(userId, roomCount, sortType));
+			}
+		}
+		LoadTestReports.write("chat-list", new Report(Instant.now(), messagesPerRoom, iterations, results));
+
+		// 조회 SQL 수는 채팅방 수에 따라 늘지 않아야 한다
+		for (ChatSortType sortType : ChatSortType.values()) {
+			assertThat(results.stream()
+				.filter(result -> result.sortType() == sortType)
+				.mapToDouble(Result::statementsPerCall)
+				.distinct()
+				.count()).isEqualTo(1);
+		}
+	}
+
+	private Result measure(Long userId, int roomCount, ChatSortType sortType) {
+		// JIT 와 커넥션 풀을 데우기 위한 실행은 결과에서 제외
+		for (int i = 0; i < Math.max(1, iterations / 4); i++) {
+			chatService.getChatSummaryList(userId, sortType);
+		}
+
+		Histogram nanos = new Histogram(3);
+		long statementsBefore = queryCounter.count();
+		int listed = 0;
+		for (int i = 0; i < iterations; i++) {
+			long startedAt = System.nanoTime();
+			listed = chatService.getChatSummaryList(userId, sortType).size();
+			nanos.recordValue(System.nanoTime() - startedAt);
+		}
+		long statements = queryCounter.count() - statementsBefore;
+		return new Result(roomCount, sortType, listed, (double)statements / iterations,
+			ChatLoadReport.Latency.of(nanos));
+	}
+
+	private void addMessages(ChatLoadSeeder.SeededRoom room) {
+		transactionTemplate.executeWithoutResult(status -> {
+			Chat chat = chatRepository.getReferenceById(room.chatId());
+			User sender = userRepository.getReferenceById(room.userIds().get(0));
+			List<ChatMessage> messages = new ArrayList<>(messagesPerRoom);
+			for (long seq = 1; seq <= messagesPerRoom; seq++) {
+				messages.add(ChatMessage.builder()
+					.chat(chat)
+					.sender(sender)
+					.message("message-" + seq)
+					.seq(seq)
+					.build());
+			}
+			chatMessageRepository.saveAll(messages);
+		});
+	}
+
+	// 방 5개 중 4개는 채팅방까지 참여, 나머지는 여행만 참여해 목록에 참여 가능한 채팅방으로 나온다
+	private Long joinRooms(String key, List<ChatLoadSeeder.SeededRoom> rooms) {
+		return transactionTemplate.execute(status -> {
+			User user = userRepository.save(User.builder()
+				.email(key + "@wego.test")
+				.password("load-test")
+				.name("load")
+				.nickname(key)
+				.birthDate(19900101)
+				.contact("010-0000-0000")
+				.build());
+			List<TravelUser> travelUsers = new ArrayList<>(rooms.size());
+			List<ChatUser> chatUsers = new ArrayList<>(rooms.size());
+			for (int room = 0; room < rooms.size(); room++) {
+				Chat chat = chatRepository.findById(rooms.get(room).chatId()).orElseThrow();
+				travelUsers.add(TravelUser.createAttendee(chat.getTravel(), user));
+				if (room % 5 != 4) {
+					chatUsers.add(ChatUser.builder().chat(chat).user(user).lastReadMessageId(0L).build());
+				}
+			}
+			travelUserRepository.saveAll(travelUsers);
+			chatUserRepository.saveAll(chatUsers);
+			return user.getId();
+		});
+	}
+
+	private record Result(
+		int rooms,
+		ChatSortType sortType,
+		int listed,
+		double statementsPerCall,
+		ChatLoadReport.Latency latencyMillis
+	) {
+	}
+
+	private record Report(Instant measuredAt, int messagesPerRoom, int iterations, List<Result> results) {
+	}
+}
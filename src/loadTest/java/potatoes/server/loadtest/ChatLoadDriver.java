@@ -0,0 +1,184 @@
+package potatoes.server.loadtest;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Recorder;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import potatoes.server.utils.jwt.JwtTokenUtil;
+
+// CONNECT -> SUBSCRIBE /sub/chat/{id} -> SEND /pub/chat/{id} -> SEND /pub/chat/read/{id} 를 반복해 ChatLoadReport 를 만든다
+// 한 번 실행하고 버린다
+public class ChatLoadDriver {
+
+	private static final String LATENCY_PREFIX = "lt:";
+
+	private final int port;
+	private final JwtTokenUtil jwtTokenUtil;
+	private final QueryCountingDataSource queryCounter;
+
+	private final Recorder latency = new Recorder(3);
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicLong delivered = new AtomicLong();
+	private final AtomicLong readReceipts = new AtomicLong();
+	private final AtomicLong errors = new AtomicLong();
+	private volatile boolean measuring;
+
+	public ChatLoadDriver(int port, JwtTokenUtil jwtTokenUtil, QueryCountingDataSource queryCounter) {
+		this.port = port;
+		this.jwtTokenUtil = jwtTokenUtil;
+		this.queryCounter = queryCounter;
+	}
+
+	public ChatLoadReport run(ChatLoadScenario scenario, List<ChatLoadSeeder.SeededRoom> rooms) throws Exception {
+		WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+		stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+		List<StompSession> senders = new ArrayList<>(rooms.size());
+		List<StompSession> sessions = new ArrayList<>(scenario.clients());
+		for (ChatLoadSeeder.SeededRoom room : rooms) {
+			senders.add(connectRoom(stompClient, scenario, room, sessions));
+		}
+
+		ScheduledExecutorService sendScheduler = Executors.newScheduledThreadPool(
+			Math.max(2, Runtime.getRuntime().availableProcessors()));
+		long periodMicros = (long)(1_000_000 / scenario.sendRatePerRoom());
+		for (int i = 0; i < rooms.size(); i++) {
+			StompSession sender = senders.get(i);
+			Long chatId = rooms.get(i).chatId();
+			sendScheduler.scheduleAtFixedRate(() -> publish(sender, chatId),
+				ThreadLocalRandom.current().nextLong(periodMicros), periodMicros, TimeUnit.MICROSECONDS);
+		}
+
+		TimeUnit.SECONDS.sleep(scenario.warmupSeconds());
+		latency.reset();
+		published.set(0);
+		delivered.set(0);
+		readReceipts.set(0);
+		long queriesBefore = queryCounter.count();
+		Instant startedAt = Instant.now();
+		long measureStart = System.nanoTime();
+		measuring = true;
+
+		TimeUnit.SECONDS.sleep(scenario.durationSeconds());
+
+		measuring = false;
+		double measuredSeconds = (System.nanoTime() - measureStart) / 1_000_000_000.0;
+		long queries = queryCounter.count() - queriesBefore;
+		sendScheduler.shutdownNow();
+		sessions.forEach(StompSession::disconnect);
+		stompClient.stop();
+
+		return new ChatLoadReport(
+			startedAt,
+			scenario,
+			measuredSeconds,
+			published.get(),
+			delivered.get(),
+			readReceipts.get(),
+			errors.get(),
+			published.get() / measuredSeconds,
+			delivered.get() / measuredSeconds,
+			queries,
+			published.get() == 0 ? 0 : (double)queries / published.get(),
+			ChatLoadReport.Latency.of(latency.getIntervalHistogram())
+		);
+	}
+
+	// 방의 첫 번째 참여자는 메시지만 보내고, 나머지 중 reader-ratio 만큼은 받은 메시지마다 읽음 처리를 보낸다
+	private StompSession connectRoom(WebSocketStompClient stompClient, ChatLoadScenario scenario,
+		ChatLoadSeeder.SeededRoom room, List<StompSession> sessions) {
+		List<CompletableFuture<StompSession>> connecting = new ArrayList<>(room.userIds().size());
+		for (int member = 0; member < room.userIds().size(); member++) {
+			boolean reader = member > 0 && ThreadLocalRandom.current().nextDouble() < scenario.readerRatio();
+			connecting.add(connect(stompClient, room.chatId(), room.userIds().get(member), reader));
+			if (connecting.size() % scenario.connectConcurrency() == 0) {
+				CompletableFuture.allOf(connecting.toArray(CompletableFuture[]::new)).join();
+			}
+		}
+		List<StompSession> roomSessions = connecting.stream().map(CompletableFuture::join).toList();
+		sessions.addAll(roomSessions);
+		return roomSessions.get(0);
+	}
+
+	private CompletableFuture<StompSession> connect(WebSocketStompClient stompClient, Long chatId, Long userId,
+		boolean reader) {
+		WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+		handshakeHeaders.add("Cookie", "accessToken=" + jwtTokenUtil.createAccessToken(String.valueOf(userId)));
+
+		return stompClient.connectAsync("ws://localhost:" + port + "/ws", handshakeHeaders, new StompHeaders(),
+			new StompSessionHandlerAdapter() {
+				@Override
+				public void handleTransportError(StompSession session, Throwable exception) {
+					errors.incrementAndGet();
+				}
+			}).thenApply(session -> {
+				session.subscribe("/sub/chat/" + chatId, new ChatFrameHandler(session, chatId, reader));
+				return session;
+			});
+	}
+
+	private void publish(StompSession sender, Long chatId) {
+		try {
+			sender.send("/pub/chat/" + chatId, Map.of(
+				"message", LATENCY_PREFIX + System.nanoTime(),
+				"images", List.of()));
+			if (measuring) {
+				published.incrementAndGet();
+			}
+		} catch (RuntimeException e) {
+			errors.incrementAndGet();
+		}
+	}
+
+	private class ChatFrameHandler implements StompFrameHandler {
+		private final StompSession session;
+		private final Long chatId;
+		private final boolean reader;
+
+		ChatFrameHandler(StompSession session, Long chatId, boolean reader) {
+			this.session = session;
+			this.chatId = chatId;
+			this.reader = reader;
+		}
+
+		@Override
+		public Type getPayloadType(StompHeaders headers) {
+			return Map.class;
+		}
+
+		@Override
+		public void handleFrame(StompHeaders headers, Object payload) {
+			if (!(payload instanceof Map<?, ?> frame) || !(frame.get("content") instanceof String content)
+				|| !content.startsWith(LATENCY_PREFIX)) {
+				return;
+			}
+			if (measuring) {
+				latency.recordValue(System.nanoTime() - Long.parseLong(content.substring(LATENCY_PREFIX.length())));
+				delivered.incrementAndGet();
+			}
+			if (reader && frame.get("chatMessageId") instanceof Number chatMessageId) {
+				session.send("/pub/chat/read/" + chatId, Map.of("chatMessageId", chatMessageId.longValue()));
+				if (measuring) {
+					readReceipts.incrementAndGet();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package potatoes.server.loadtest;
+
+import java.time.Instant;
+
+import org.HdrHistogram.Histogram;
+
+public record ChatLoadReport(
+	Instant startedAt,
+	ChatLoadScenario scenario,
+	double measuredSeconds,
+	long published,
+	long delivered,
+	long readReceiptsSent,
+	long errors,
+	double publishedPerSecond,
+	double deliveredPerSecond,
+	long queries,
+	double queriesPerMessage,
+	Latency latencyMillis
+) {
+	public record Latency(
+		long count,
+		double mean,
+		double p50,
+		double p90,
+		double p99,
+		double p999,
+		double max
+	) {
+		static Latency of(Histogram nanos) {
+			return new Latency(
+				nanos.getTotalCount(),
+				nanos.getMean() / 1_000_000.0,
+				nanos.getValueAtPercentile(50) / 1_000_000.0,
+				nanos.getValueAtPercentile(90) / 1_000_000.0,
+				nanos.getValueAtPercentile(99) / 1_000_000.0,
+				nanos.getValueAtPercentile(99.9) / 1_000_000.0,
+				nanos.getMaxValue() / 1_000_000.0
+			);
+		}
+	}
+}
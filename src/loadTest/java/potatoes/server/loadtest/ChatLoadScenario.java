@@ -0,0 +1,37 @@
+package potatoes.server.loadtest;
+
+// -Dloadtest.rooms=50 -Dloadtest.room-size=40 ... 로 조정
+public record ChatLoadScenario(
+	int rooms,
+	int roomSize,
+	double sendRatePerRoom,
+	double readerRatio,
+	int warmupSeconds,
+	int durationSeconds,
+	int connectConcurrency
+) {
+	public static ChatLoadScenario fromSystemProperties() {
+		return fromSystemProperties(50, 40);
+	}
+
+	public static ChatLoadScenario fromSystemProperties(int defaultRooms, int defaultRoomSize) {
+		return new ChatLoadScenario(
+			Integer.getInteger("loadtest.rooms", defaultRooms),
+			Integer.getInteger("loadtest.room-size", defaultRoomSize),
+			doubleProperty("loadtest.send-rate", 5.0),
+			doubleProperty("loadtest.reader-ratio", 0.5),
+			Integer.getInteger("loadtest.warmup-seconds", 5),
+			Integer.getInteger("loadtest.duration-seconds", 30),
+			Integer.getInteger("loadtest.connect-concurrency", 200)
+		);
+	}
+
+	public int clients() {
+		return rooms * roomSize;
+	}
+
+	private static double doubleProperty(String name, double defaultValue) {
+		String value = System.getProperty(name);
+		return value == null ? defaultValue : Double.parseDouble(value);
+	}
+}
@@ -0,0 +1,111 @@
+package potatoes.server.loadtest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import potatoes.server.chat.entity.Chat;
+import potatoes.server.chat.entity.ChatUser;
+import potatoes.server.chat.repository.ChatRepository;
+import potatoes.server.chat.repository.ChatUserRepository;
+import potatoes.server.travel.entity.Travel;
+import potatoes.server.travel.entity.TravelUser;
+import potatoes.server.travel.repository.TravelRepository;
+import potatoes.server.travel.repository.TravelUserRepository;
+import potatoes.server.user.entity.User;
+import potatoes.server.user.repository.UserRepository;
+
+// 방마다 여행 1개, 채팅방 1개, room-size 명의 참여자를 만든다 - 첫 번째 참여자가 주최자
+public class ChatLoadSeeder {
+
+	private final UserRepository userRepository;
+	private final TravelRepository travelRepository;
+	private final TravelUserRepository travelUserRepository;
+	private final ChatRepository chatRepository;
+	private final ChatUserRepository chatUserRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	public ChatLoadSeeder(UserRepository userRepository, TravelRepository travelRepository,
+		TravelUserRepository travelUserRepository, ChatRepository chatRepository,
+		ChatUserRepository chatUserRepository, TransactionTemplate transactionTemplate) {
+		this.userRepository = userRepository;
+		this.travelRepository = travelRepository;
+		this.travelUserRepository = travelUserRepository;
+		this.chatRepository = chatRepository;
+		this.chatUserRepository = chatUserRepository;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	public record SeededRoom(Long chatId, List<Long> userIds) {
+	}
+
+	public List<SeededRoom> seed(ChatLoadScenario scenario) {
+		List<SeededRoom> rooms = new ArrayList<>(scenario.rooms());
+		for (int room = 0; room < scenario.rooms(); room++) {
+			rooms.add(seedRoom(String.valueOf(room), scenario.roomSize()));
+		}
+		return rooms;
+	}
+
+	// key 는 이메일, 닉네임에 들어가므로 한 DB 안에서 겹치지 않게 준다
+	public SeededRoom seedRoom(String key, int roomSize) {
+		return transactionTemplate.execute(status -> insertRoom(key, roomSize));
+	}
+
+	private SeededRoom insertRoom(String roomIndex, int roomSize) {
+		List<User> members = new ArrayList<>(roomSize);
+		for (int member = 0; member < roomSize; member++) {
+			members.add(User.builder()
+				.email("load-" + roomIndex + "-" + member + "@wego.test")
+				.password("load-test")
+				.name("load" + member)
+				.nickname("load-" + roomIndex + "-" + member)
+				.birthDate(19900101)
+				.contact("010-0000-0000")
+				.build());
+		}
+		userRepository.saveAll(members);
+
+		Instant now = Instant.now();
+		Travel travel = travelRepository.save(Travel.builder()
+			.name("load-travel-" + roomIndex)
+			.description("load test")
+			.image("")
+			.minTravelMateCount(1)
+			.maxTravelMateCount(roomSize)
+			.hashTags("")
+			.isDomestic(true)
+			.travelLocation("서울")
+			.departureLocation("서울")
+			.startAt(now.plus(Duration.ofDays(30)))
+			.endAt(now.plus(Duration.ofDays(33)))
+			.registrationEnd(now.plus(Duration.ofDays(20)))
+			.tripDuration(3)
+			.build());
+
+		Chat chat = Chat.builder()
+			.name(travel.getName())
+			.host(members.get(0))
+			.travel(travel)
+			.currentMemberCount(roomSize)
+			.maxMemberCount(roomSize)
+			.build();
+		chatRepository.save(chat);
+
+		List<TravelUser> travelUsers = new ArrayList<>(roomSize);
+		List<ChatUser> chatUsers = new ArrayList<>(roomSize);
+		for (int member = 0; member < roomSize; member++) {
+			User user = members.get(member);
+			travelUsers.add(member == 0 ? TravelUser.createOrganizer(travel, user) :
+				TravelUser.createAttendee(travel, user));
+			chatUsers.add(ChatUser.builder().chat(chat).user(user).lastReadMessageId(0L).build());
+		}
+		travelUserRepository.saveAll(travelUsers);
+		chatUserRepository.saveAll(chatUsers);
+
+		return new SeededRoom(chat.getId(), members.stream().map(User::getId).toList());
+	}
+}
@@ -0,0 +1,77 @@
+package potatoes.server.loadtest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import potatoes.server.chat.repository.ChatRepository;
+import potatoes.server.chat.repository.ChatUserRepository;
+import potatoes.server.travel.repository.TravelRepository;
+import potatoes.server.travel.repository.TravelUserRepository;
+import potatoes.server.user.repository.UserRepository;
+import potatoes.server.utils.jwt.JwtTokenUtil;
+
+// CONNECT -> SUBSCRIBE /sub/chat/{id} -> SEND /pub/chat/{id} -> SEND /pub/chat/read/{id} 를 반복하는 in-JVM 부하 테스트
+// ./gradlew loadTest -Dloadtest.rooms=100 -Dloadtest.room-size=50 -Dloadtest.send-rate=10 -Dloadtest.reader-ratio=0.3
+// 결과는 build/reports/loadtest/chat-load-*.json
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ChatLoadTest {
+
+	@TestConfiguration
+	static class LoadTestConfig {
+
+		@Bean
+		static QueryCountingDataSource queryCountingDataSource() {
+			return new QueryCountingDataSource();
+		}
+	}
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private QueryCountingDataSource queryCounter;
+
+	@Autowired
+	private JwtTokenUtil jwtTokenUtil;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TravelRepository travelRepository;
+
+	@Autowired
+	private TravelUserRepository travelUserRepository;
+
+	@Autowired
+	private ChatRepository chatRepository;
+
+	@Autowired
+	private ChatUserRepository chatUserRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void chatPipeline() throws Exception {
+		ChatLoadScenario scenario = ChatLoadScenario.fromSystemProperties();
+		List<ChatLoadSeeder.SeededRoom> rooms = new ChatLoadSeeder(userRepository, travelRepository,
+			travelUserRepository, chatRepository, chatUserRepository, transactionTemplate).seed(scenario);
+
+		ChatLoadReport report = new ChatLoadDriver(port, jwtTokenUtil, queryCounter).run(scenario, rooms);
+		LoadTestReports.write("chat-load", report);
+
+		assertThat(report.delivered()).isPositive();
+	}
+}
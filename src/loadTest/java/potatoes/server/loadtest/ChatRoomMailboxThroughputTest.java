@@ -0,0 +1,137 @@
+package potatoes.server.loadtest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import potatoes.server.chat.pipeline.ChatRoomMailboxes;
+
+// 같은 방 작업 직렬화 방식별 처리량 비교 - 호출 스레드에서 방별 lock 을 잡는 LOCK 과 ChatRoomMailboxes 의 MAILBOX
+// 작업은 잠금 없는 방별 카운터 갱신 + DB 왕복을 흉내낸 대기(work-micros), 호출 스레드 수가 방 수보다 많은 경합 상황
+// ./gradlew loadTest --tests '*ChatRoomMailboxThroughputTest' -Dloadtest.mailbox.rooms=16 -Dloadtest.mailbox.callers=64
+// 결과는 build/reports/loadtest/chat-mailbox-*.json
+class ChatRoomMailboxThroughputTest {
+
+	private final int rooms = Integer.getInteger("loadtest.mailbox.rooms", 16);
+	private final int callers = Integer.getInteger("loadtest.mailbox.callers", 64);
+	private final long workNanos = TimeUnit.MICROSECONDS.toNanos(Integer.getInteger("loadtest.mailbox.work-micros", 200));
+	private final int warmupSeconds = Integer.getInteger("loadtest.mailbox.warmup-seconds", 2);
+	private final int durationSeconds = Integer.getInteger("loadtest.mailbox.duration-seconds", 10);
+
+	@Test
+	void 방별_직렬화_방식의_처리량을_비교한다() throws Exception {
+		ReentrantLock[] locks = new ReentrantLock[rooms];
+		for (int room = 0; room < rooms; room++) {
+			locks[room] = new ReentrantLock();
+		}
+		Result lock = measure("LOCK", (room, work) -> {
+			locks[room].lock();
+			try {
+				work.run();
+			} finally {
+				locks[room].unlock();
+			}
+		});
+
+		ChatRoomMailboxes mailboxes = new ChatRoomMailboxes(new SimpleMeterRegistry(), true, 64, Duration.ofSeconds(30));
+		Result mailbox = measure("MAILBOX", (room, work) -> mailboxes.run((long)room, work));
+
+		write(Map.of(
+			"rooms", rooms,
+			"callers", callers,
+			"workMicros", TimeUnit.NANOSECONDS.toMicros(workNanos),
+			"durationSeconds", durationSeconds,
+			"results", List.of(lock, mailbox)));
+
+		assertThat(lock.lostUpdates()).isZero();
+		assertThat(mailbox.lostUpdates()).isZero();
+	}
+
+	private Result measure(String mode, RoomExecutor executor) throws Exception {
+		long[] counters = new long[rooms];
+		AtomicLong completed = new AtomicLong();
+		AtomicBoolean measuring = new AtomicBoolean();
+		AtomicBoolean running = new AtomicBoolean(true);
+		Recorder latency = new Recorder(3);
+		ExecutorService pool = Executors.newFixedThreadPool(callers);
+
+		List<Future<?>> futures = new ArrayList<>();
+		for (int caller = 0; caller < callers; caller++) {
+			futures.add(pool.submit(() -> {
+				while (running.get()) {
+					int room = ThreadLocalRandom.current().nextInt(rooms);
+					long startedAt = System.nanoTime();
+					executor.execute(room, () -> {
+						counters[room]++;
+						LockSupport.parkNanos(workNanos);
+					});
+					completed.incrementAndGet();
+					if (measuring.get()) {
+						latency.recordValue(System.nanoTime() - startedAt);
+					}
+				}
+			}));
+		}
+
+		TimeUnit.SECONDS.sleep(warmupSeconds);
+		long measuredFrom = completed.get();
+		latency.reset();
+		measuring.set(true);
+		TimeUnit.SECONDS.sleep(durationSeconds);
+		long measured = completed.get() - measuredFrom;
+		ChatLoadReport.Latency latencyMillis = ChatLoadReport.Latency.of(latency.getIntervalHistogram());
+		running.set(false);
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+
+		long counted = 0;
+		for (long counter : counters) {
+			counted += counter;
+		}
+		return new Result(mode, (double)measured / durationSeconds, completed.get() - counted, latencyMillis);
+	}
+
+	private void write(Map<String, Object> report) throws Exception {
+		Path directory = Path.of("build", "reports", "loadtest");
+		Files.createDirectories(directory);
+		Path file = directory.resolve("chat-mailbox-" + System.currentTimeMillis() + ".json");
+		new ObjectMapper()
+			.enable(SerializationFeature.INDENT_OUTPUT)
+			.writeValue(file.toFile(), report);
+	}
+
+	private interface RoomExecutor {
+		void execute(int room, Runnable work);
+	}
+
+	private record Result(
+		String mode,
+		double operationsPerSecond,
+		long lostUpdates,
+		ChatLoadReport.Latency latencyMillis
+	) {
+	}
+}
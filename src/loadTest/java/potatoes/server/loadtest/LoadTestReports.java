@@ -0,0 +1,28 @@
+package potatoes.server.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// 벤치마크 결과를 build/reports/loadtest/{name}-{epochMillis}.json 으로 남긴다
+public final class LoadTestReports {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+		.findAndRegisterModules()
+		.enable(SerializationFeature.INDENT_OUTPUT)
+		.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	private LoadTestReports() {
+	}
+
+	public static Path write(String name, Object report) throws IOException {
+		Path directory = Path.of("build", "reports", "loadtest");
+		Files.createDirectories(directory);
+		Path file = directory.resolve(name + "-" + System.currentTimeMillis() + ".json");
+		OBJECT_MAPPER.writeValue(file.toFile(), report);
+		return file;
+	}
+}
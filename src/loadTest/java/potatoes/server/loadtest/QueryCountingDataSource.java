@@ -0,0 +1,53 @@
+package potatoes.server.loadtest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+// JPA, JdbcTemplate 구분 없이 DataSource 에서 만든 Statement 수를 센다 - batch 는 한 번으로 센다
+public class QueryCountingDataSource implements BeanPostProcessor {
+
+	private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "createStatement", "prepareCall");
+
+	private final AtomicLong statements = new AtomicLong();
+
+	public long count() {
+		return statements.get();
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (!(bean instanceof DataSource dataSource)) {
+			return bean;
+		}
+		return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {DataSource.class},
+			(proxy, method, args) -> {
+				Object result = invoke(dataSource, method, args);
+				return result instanceof Connection connection ? countingConnection(connection) : result;
+			});
+	}
+
+	private Connection countingConnection(Connection connection) {
+		return (Connection)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+			(proxy, method, args) -> {
+				if (STATEMENT_METHODS.contains(method.getName())) {
+					statements.incrementAndGet();
+				}
+				return invoke(connection, method, args);
+			});
+	}
+
+	private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
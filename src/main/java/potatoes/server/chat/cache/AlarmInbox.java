@@ -0,0 +1,105 @@
+package potatoes.server.chat.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import potatoes.server.chat.dto.AlarmSubscribe;
+import potatoes.server.chat.dto.MissedAlarm;
+import potatoes.server.utils.constant.AlarmStatus;
+
+// 접속하지 않은 유저의 알림 보관함 - 같은 채팅방의 MESSAGE 알림은 최신 알림 하나와 개수로 합친다
+// 유저당 max-entries 개, ttl 이 지난 알림은 버리고 재접속 시 한 번에 전달
+@Component
+public class AlarmInbox {
+
+	private final int maxEntries;
+	private final long ttlMillis;
+	private final int maxUsers;
+	private final Map<Long, UserInbox> inboxes = new ConcurrentHashMap<>();
+
+	public AlarmInbox(
+		@Value("${chat.alarm-inbox.max-entries:100}") int maxEntries,
+		@Value("${chat.alarm-inbox.ttl:24h}") Duration ttl,
+		@Value("${chat.alarm-inbox.max-users:100000}") int maxUsers
+	) {
+		this.maxEntries = maxEntries;
+		this.ttlMillis = ttl.toMillis();
+		this.maxUsers = maxUsers;
+	}
+
+	public void add(Long userId, AlarmSubscribe alarm) {
+		long now = System.currentTimeMillis();
+		// drain 이 보관함을 꺼내는 것과 겹치지 않도록 map 의 잠금 안에서 추가
+		inboxes.compute(userId, (id, inbox) -> {
+			UserInbox target = inbox == null ? new UserInbox() : inbox;
+			target.add(alarm, now, maxEntries);
+			return target;
+		});
+		if (inboxes.size() > maxUsers) {
+			evict(now);
+		}
+	}
+
+	public List<MissedAlarm> drain(Long userId) {
+		UserInbox inbox = inboxes.remove(userId);
+		if (inbox == null) {
+			return List.of();
+		}
+		return inbox.drain(System.currentTimeMillis() - ttlMillis);
+	}
+
+	// 만료된 보관함을 먼저 지우고, 그래도 넘치면 가장 오래 갱신되지 않은 보관함부터 10% 제거
+	private void evict(long now) {
+		long expiredBefore = now - ttlMillis;
+		inboxes.keySet().forEach(userId -> inboxes.computeIfPresent(userId,
+			(id, inbox) -> inbox.updatedAt < expiredBefore ? null : inbox));
+		int overflow = inboxes.size() - maxUsers;
+		if (overflow <= 0) {
+			return;
+		}
+		inboxes.entrySet().stream()
+			.sorted(Comparator.comparingLong(entry -> entry.getValue().updatedAt))
+			.limit(overflow + Math.max(1, maxUsers / 10))
+			.map(Map.Entry::getKey)
+			.toList()
+			.forEach(inboxes::remove);
+	}
+
+	private static class UserInbox {
+		private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>();
+		private volatile long updatedAt;
+
+		synchronized void add(AlarmSubscribe alarm, long now, int maxEntries) {
+			Object key = alarm.status() == AlarmStatus.MESSAGE ? alarm.chatId() : new Object();
+			Entry previous = entries.remove(key);
+			entries.put(key, new Entry(alarm, previous == null ? 1 : previous.count + 1, now));
+			if (entries.size() > maxEntries) {
+				Iterator<Entry> eldest = entries.values().iterator();
+				eldest.next();
+				eldest.remove();
+			}
+			updatedAt = now;
+		}
+
+		synchronized List<MissedAlarm> drain(long expiredBefore) {
+			List<MissedAlarm> alarms = new ArrayList<>(entries.size());
+			entries.values().stream()
+				.filter(entry -> entry.receivedAt >= expiredBefore)
+				.forEach(entry -> alarms.add(new MissedAlarm(entry.alarm, entry.count)));
+			entries.clear();
+			return alarms;
+		}
+	}
+
+	private record Entry(AlarmSubscribe alarm, int count, long receivedAt) {
+	}
+}
@@ -0,0 +1,179 @@
+package potatoes.server.chat.cache;
+
+import static potatoes.server.utils.error.ErrorCode.*;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import potatoes.server.chat.relay.BrokerRelay;
+import potatoes.server.chat.repository.ChatRepository;
+import potatoes.server.chat.repository.ChatUserRepository;
+import potatoes.server.utils.collection.LongHashSet;
+import potatoes.server.utils.error.exception.WeGoException;
+
+// chatId -> 참여자 userId 집합 - 구독/발송/REST 경로의 참여 여부 확인을 DB 조회 없이 O(1) 로 처리
+// chat.broker.mode=REDIS 에서는 입장/퇴장을 커밋한 노드가 BrokerRelay 로 다른 노드에 알려 해당 방을 다시 적재하게 한다
+// 알림이 유실될 수 있으므로 chat.membership.cluster-ttl 마다 DB 에서 다시 적재한다
+@Component
+public class ChatMembershipIndex {
+
+	private final ChatUserRepository chatUserRepository;
+	private final ChatRepository chatRepository;
+	private final ObjectProvider<BrokerRelay> brokerRelay;
+	private final Map<Long, Members> rooms = new ConcurrentHashMap<>();
+	private final long ttlNanos;
+	private final int maxRooms;
+	private final Counter hits;
+	private final Counter misses;
+
+	public ChatMembershipIndex(
+		ChatUserRepository chatUserRepository,
+		ChatRepository chatRepository,
+		ObjectProvider<BrokerRelay> brokerRelay,
+		MeterRegistry meterRegistry,
+		@Value("${chat.membership.ttl:10m}") Duration ttl,
+		@Value("${chat.membership.max-rooms:10000}") int maxRooms,
+		@Value("${chat.broker.mode:LOCAL}") String brokerMode,
+		@Value("${chat.membership.cluster-ttl:1m}") Duration clusterTtl
+	) {
+		this.chatUserRepository = chatUserRepository;
+		this.chatRepository = chatRepository;
+		this.brokerRelay = brokerRelay;
+		this.ttlNanos = "REDIS".equalsIgnoreCase(brokerMode) ? Math.min(ttl.toNanos(), clusterTtl.toNanos()) :
+			ttl.toNanos();
+		this.maxRooms = maxRooms;
+		this.hits = meterRegistry.counter("chat.membership.index", "result", "hit");
+		this.misses = meterRegistry.counter("chat.membership.index", "result", "miss");
+		Gauge.builder("chat.membership.index.rooms", rooms, Map::size).register(meterRegistry);
+	}
+
+	public boolean isMember(Long chatId, Long userId) {
+		Members members = members(chatId);
+		return members.userIds.contains(userId);
+	}
+
+	public void verifyMember(Long chatId, Long userId) {
+		Members members = members(chatId);
+		if (!members.chatExists) {
+			throw new WeGoException(CHAT_NOT_FOUND);
+		}
+		if (!members.userIds.contains(userId)) {
+			throw new WeGoException(USER_NOT_FOUND);
+		}
+	}
+
+	public int memberCount(Long chatId) {
+		return members(chatId).userIds.size();
+	}
+
+	public long[] memberIds(Long chatId) {
+		return members(chatId).userIds.toArray();
+	}
+
+	// 커밋 전에 반영하면 롤백된 입장이 남거나, 동시에 적재된 이전 목록에 덮어써질 수 있다
+	public void memberJoinedAfterCommit(Long chatId, Long userId) {
+		afterCommit(() -> {
+			memberJoined(chatId, userId);
+			brokerRelay.ifAvailable(relay -> relay.publishMembershipChanged(chatId));
+		});
+	}
+
+	public void memberLeftAfterCommit(Long chatId, Long userId) {
+		afterCommit(() -> {
+			memberLeft(chatId, userId);
+			brokerRelay.ifAvailable(relay -> relay.publishMembershipChanged(chatId));
+		});
+	}
+
+	public void memberJoined(Long chatId, Long userId) {
+		rooms.computeIfPresent(chatId, (id, members) -> members.with(members.userIds.with(userId)));
+	}
+
+	public void memberLeft(Long chatId, Long userId) {
+		rooms.computeIfPresent(chatId, (id, members) -> members.with(members.userIds.without(userId)));
+	}
+
+	public void evict(Long chatId) {
+		rooms.remove(chatId);
+	}
+
+	private Members members(Long chatId) {
+		Members members = rooms.get(chatId);
+		long now = System.nanoTime();
+		if (members != null && now - members.loadedAt < ttlNanos) {
+			hits.increment();
+			members.lastAccessedAt = now;
+			return members;
+		}
+
+		misses.increment();
+		// 적재를 compute 안에서 하므로 적재 중에 커밋된 입장/퇴장은 적재가 끝난 뒤 그 결과 위에 반영된다
+		members = rooms.compute(chatId,
+			(id, current) -> current != null && now - current.loadedAt < ttlNanos ? current : load(id, now));
+		if (rooms.size() > maxRooms) {
+			evictLeastRecentlyUsed();
+		}
+		return members;
+	}
+
+	private void afterCommit(Runnable update) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			update.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				update.run();
+			}
+		});
+	}
+
+	private Members load(Long chatId, long now) {
+		LongHashSet userIds = LongHashSet.of(chatUserRepository.findUserIdsByChatId(chatId));
+		boolean chatExists = userIds.size() > 0 || chatRepository.existsById(chatId);
+		return new Members(userIds, chatExists, now);
+	}
+
+	// 용량 초과 시 가장 오래 사용되지 않은 방부터 10% 제거
+	private void evictLeastRecentlyUsed() {
+		int overflow = rooms.size() - maxRooms + Math.max(1, maxRooms / 10);
+		rooms.entrySet().stream()
+			.sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccessedAt))
+			.limit(overflow)
+			.map(Map.Entry::getKey)
+			.toList()
+			.forEach(rooms::remove);
+	}
+
+	private static class Members {
+		private final LongHashSet userIds;
+		private final boolean chatExists;
+		private final long loadedAt;
+		private volatile long lastAccessedAt;
+
+		Members(LongHashSet userIds, boolean chatExists, long loadedAt) {
+			this.userIds = userIds;
+			this.chatExists = chatExists;
+			this.loadedAt = loadedAt;
+			this.lastAccessedAt = loadedAt;
+		}
+
+		Members with(LongHashSet userIds) {
+			Members members = new Members(userIds, chatExists, loadedAt);
+			members.lastAccessedAt = lastAccessedAt;
+			return members;
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package potatoes.server.chat.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import potatoes.server.chat.model.ChatReadWatermark;
+import potatoes.server.chat.repository.ChatUserRepository;
+
+// 채팅방별 멤버의 마지막 읽은 메시지 id 를 정렬된 배열로 보관 - 메시지의 안읽은 수 = 해당 id 보다 작은 워터마크 개수
+// chat.broker.mode=REDIS 에서는 다른 노드의 읽음/입장/퇴장을 알 수 없으므로 chat.read-watermarks.cluster-ttl 마다 DB 에서 다시 적재
+// chat.read-watermarks.max-rooms 를 넘으면 가장 오래 사용되지 않은 방부터 내린다
+@Component
+public class ChatReadWatermarks {
+
+	public static final long NOT_A_MEMBER = -1L;
+
+	private final ChatUserRepository chatUserRepository;
+	private final Map<Long, RoomWatermarks> rooms = new ConcurrentHashMap<>();
+	private final long ttlNanos;
+	private final int maxRooms;
+
+	public ChatReadWatermarks(
+		ChatUserRepository chatUserRepository,
+		@Value("${chat.broker.mode:LOCAL}") String brokerMode,
+		@Value("${chat.read-watermarks.cluster-ttl:5s}") Duration clusterTtl,
+		@Value("${chat.read-watermarks.max-rooms:10000}") int maxRooms
+	) {
+		this.chatUserRepository = chatUserRepository;
+		this.ttlNanos = "REDIS".equalsIgnoreCase(brokerMode) ? clusterTtl.toNanos() : 0;
+		this.maxRooms = maxRooms;
+	}
+
+	public long countUnread(Long chatId, long messageId) {
+		return room(chatId).countBelow(messageId);
+	}
+
+	// 커밋 후에 워터마크를 옮길 reader 는 이미 읽은 것으로 보고 센다
+	public long countUnreadExcept(Long chatId, long messageId, Long readerId) {
+		RoomWatermarks room = room(chatId);
+		long unread = room.countBelow(messageId);
+		long lastRead = room.lastReadOf(readerId);
+		return lastRead != NOT_A_MEMBER && lastRead < messageId ? Math.max(0, unread - 1) : unread;
+	}
+
+	public long lastReadOf(Long chatId, Long userId) {
+		return room(chatId).lastReadOf(userId);
+	}
+
+	public boolean advance(Long chatId, Long userId, long messageId) {
+		return room(chatId).advance(userId, messageId);
+	}
+
+	// 커밋 전에 반영하면 롤백된 읽음/입장/퇴장이 캐시에 남는다
+	public void advanceAfterCommit(Long chatId, Long userId, long messageId) {
+		afterCommit(() -> advance(chatId, userId, messageId));
+	}
+
+	public void memberJoinedAfterCommit(Long chatId, Long userId, long lastReadMessageId) {
+		afterCommit(() -> memberJoined(chatId, userId, lastReadMessageId));
+	}
+
+	public void memberLeftAfterCommit(Long chatId, Long userId) {
+		afterCommit(() -> memberLeft(chatId, userId));
+	}
+
+	public void memberJoined(Long chatId, Long userId, long lastReadMessageId) {
+		RoomWatermarks room = rooms.get(chatId);
+		if (room != null) {
+			room.add(userId, lastReadMessageId);
+		}
+	}
+
+	public void memberLeft(Long chatId, Long userId) {
+		RoomWatermarks room = rooms.get(chatId);
+		if (room != null) {
+			room.remove(userId);
+		}
+	}
+
+	public void evict(Long chatId) {
+		rooms.remove(chatId);
+	}
+
+	private RoomWatermarks room(Long chatId) {
+		long now = System.nanoTime();
+		RoomWatermarks room = rooms.get(chatId);
+		if (room != null && isFresh(room, now)) {
+			room.lastAccessedAt = now;
+			return room;
+		}
+		room = rooms.compute(chatId, (id, current) -> current != null && isFresh(current, now) ? current :
+			new RoomWatermarks(chatUserRepository.findReadWatermarksByChatId(id), now));
+		if (rooms.size() > maxRooms) {
+			evictLeastRecentlyUsed();
+		}
+		return room;
+	}
+
+	// 용량 초과 시 가장 오래 사용되지 않은 방부터 10% 제거
+	private void evictLeastRecentlyUsed() {
+		int overflow = rooms.size() - maxRooms + Math.max(1, maxRooms / 10);
+		rooms.entrySet().stream()
+			.sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccessedAt))
+			.limit(overflow)
+			.map(Map.Entry::getKey)
+			.toList()
+			.forEach(rooms::remove);
+	}
+
+	private void afterCommit(Runnable update) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			update.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				update.run();
+			}
+		});
+	}
+
+	private boolean isFresh(RoomWatermarks room, long now) {
+		return ttlNanos == 0 || now - room.loadedAt < ttlNanos;
+	}
+
+	private static class RoomWatermarks {
+		private final Map<Long, Long> lastReadByUser = new HashMap<>();
+		private final long loadedAt;
+		private volatile long lastAccessedAt;
+		private volatile long[] sorted;
+
+		RoomWatermarks(List<ChatReadWatermark> watermarks, long loadedAt) {
+			this.loadedAt = loadedAt;
+			this.lastAccessedAt = loadedAt;
+			long[] values = new long[watermarks.size()];
+			for (int i = 0; i < values.length; i++) {
+				ChatReadWatermark watermark = watermarks.get(i);
+				lastReadByUser.put(watermark.userId(), watermark.lastReadMessageId());
+				values[i] = watermark.lastReadMessageId();
+			}
+			Arrays.sort(values);
+			this.sorted = values;
+		}
+
+		long countBelow(long messageId) {
+			long[] values = sorted;
+			int low = 0;
+			int high = values.length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (values[mid] < messageId) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		synchronized long lastReadOf(Long userId) {
+			return lastReadByUser.getOrDefault(userId, NOT_A_MEMBER);
+		}
+
+		synchronized boolean advance(Long userId, long messageId) {
+			Long current = lastReadByUser.get(userId);
+			if (current == null || current >= messageId) {
+				return false;
+			}
+			lastReadByUser.put(userId, messageId);
+			sorted = insert(removeOne(sorted, current), messageId);
+			return true;
+		}
+
+		synchronized void add(Long userId, long lastReadMessageId) {
+			if (lastReadByUser.containsKey(userId)) {
+				return;
+			}
+			lastReadByUser.put(userId, lastReadMessageId);
+			sorted = insert(sorted, lastReadMessageId);
+		}
+
+		synchronized void remove(Long userId) {
+			Long current = lastReadByUser.remove(userId);
+			if (current != null) {
+				sorted = removeOne(sorted, current);
+			}
+		}
+
+		private static long[] removeOne(long[] values, long value) {
+			int index = Arrays.binarySearch(values, value);
+			if (index < 0) {
+				return values;
+			}
+			long[] result = new long[values.length - 1];
+			System.arraycopy(values, 0, result, 0, index);
+			System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+			return result;
+		}
+
+		private static long[] insert(long[] values, long value) {
+			int index = Arrays.binarySearch(values, value);
+			if (index < 0) {
+				index = -index - 1;
+			}
+			long[] result = new long[values.length + 1];
+			System.arraycopy(values, 0, result, 0, index);
+			result[index] = value;
+			System.arraycopy(values, index, result, index + 1, values.length - index);
+			return result;
+		}
+	}
+}
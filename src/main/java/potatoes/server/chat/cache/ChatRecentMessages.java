@@ -0,0 +1,341 @@
+package potatoes.server.chat.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import potatoes.server.chat.dto.MessageSubscribe;
+import potatoes.server.user.model.UserProfileChangedEvent;
+
+// 채팅방별 최근 메시지 ring buffer - 채팅방 입장 시 첫 페이지를 DB 조회 없이 응답
+// 방마다 자기 버퍼만 잠그고, 전체 메시지 추정 크기가 max-memory 를 넘으면 오래 쓰지 않은 방부터 제거
+// unreadCount 는 보관하지 않고 조회 시점의 읽음 워터마크로 다시 계산한다
+// chat.broker.mode=REDIS 에서는 다른 노드에서 보낸 메시지가 버퍼에 들어오지 않으므로 사용하지 않고 항상 DB 에서 읽는다
+@Component
+public class ChatRecentMessages {
+
+	private final boolean enabled;
+	private final int roomCapacity;
+	private final long maxBytes;
+	private final Map<Long, Tail> rooms = new ConcurrentHashMap<>();
+	private final AtomicLong totalBytes = new AtomicLong();
+	private final ReentrantLock evicting = new ReentrantLock();
+
+	public ChatRecentMessages(
+		@Value("${chat.hot-tail.enabled:true}") boolean enabled,
+		@Value("${chat.broker.mode:LOCAL}") String brokerMode,
+		@Value("${chat.hot-tail.room-capacity:100}") int roomCapacity,
+		@Value("${chat.hot-tail.max-memory:64MB}") DataSize maxMemory
+	) {
+		this.enabled = enabled && !"REDIS".equalsIgnoreCase(brokerMode);
+		this.roomCapacity = roomCapacity;
+		this.maxBytes = maxMemory.toBytes();
+	}
+
+	// beforeId 보다 작은 id 의 메시지를 최신순으로 size 개 - 버퍼로 채울 수 없으면 null
+	public List<MessageSubscribe> find(Long chatId, long beforeId, int size) {
+		Tail tail = rooms.get(chatId);
+		if (tail == null) {
+			return null;
+		}
+		synchronized (tail) {
+			return tail.ready ? tail.touch().page(beforeId, size) : null;
+		}
+	}
+
+	// lastSeq 이후 메시지를 seq 순서로 최대 limit 개 - 버퍼로 빠짐없이 이어줄 수 없거나 limit 을 넘으면 null
+	public List<MessageSubscribe> findAfterSeq(Long chatId, long lastSeq, int limit) {
+		Tail tail = rooms.get(chatId);
+		if (tail == null) {
+			return null;
+		}
+		synchronized (tail) {
+			return tail.ready ? tail.touch().afterSeq(lastSeq, limit) : null;
+		}
+	}
+
+	// 버퍼에 있는 메시지면 true - 없다고 해서 다른 방의 메시지라는 뜻은 아니다
+	public boolean contains(Long chatId, long messageId) {
+		Tail tail = rooms.get(chatId);
+		if (tail == null) {
+			return false;
+		}
+		synchronized (tail) {
+			return tail.contains(messageId);
+		}
+	}
+
+	// 버퍼가 없는 방이면 최근 메시지로 채운 뒤 첫 페이지를 반환 - 이미 적재 중이면 null
+	public List<MessageSubscribe> load(Long chatId, IntFunction<List<MessageSubscribe>> latestMessages, int size) {
+		if (!enabled) {
+			return null;
+		}
+		// 조회 중 커밋된 메시지도 append 로 받을 수 있도록 먼저 빈 버퍼를 등록
+		Tail tail = new Tail(roomCapacity);
+		if (rooms.putIfAbsent(chatId, tail) != null) {
+			return null;
+		}
+
+		List<MessageSubscribe> loaded;
+		try {
+			loaded = latestMessages.apply(roomCapacity);
+		} catch (RuntimeException e) {
+			remove(chatId, tail);
+			throw e;
+		}
+
+		List<MessageSubscribe> page;
+		synchronized (tail) {
+			if (tail.removed) {
+				return null;
+			}
+			long delta = 0;
+			for (MessageSubscribe message : loaded) {
+				delta += tail.add(message);
+			}
+			tail.coversFromStart = loaded.size() < roomCapacity;
+			tail.ready = true;
+			totalBytes.addAndGet(delta);
+			page = tail.touch().page(Long.MAX_VALUE, size);
+		}
+		evictOverMemory();
+		return page;
+	}
+
+	public void appendAfterCommit(Long chatId, MessageSubscribe message) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			append(chatId, message);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				append(chatId, message);
+			}
+		});
+	}
+
+	// 버퍼가 없는 방은 다음 입장 때 DB 에서 채우므로 무시
+	public void append(Long chatId, MessageSubscribe message) {
+		Tail tail = rooms.get(chatId);
+		if (tail == null) {
+			return;
+		}
+		synchronized (tail) {
+			if (tail.removed) {
+				return;
+			}
+			totalBytes.addAndGet(tail.touch().add(message));
+		}
+		evictOverMemory();
+	}
+
+	public void evict(Long chatId) {
+		Tail tail = rooms.get(chatId);
+		if (tail != null) {
+			remove(chatId, tail);
+		}
+	}
+
+	// 버퍼에는 보낸 사람 id 가 없으므로 변경 전 닉네임/이미지로 보낸 메시지가 있는 방을 비우고 다음 입장 때 다시 채운다
+	// 같은 닉네임/이미지를 쓰는 다른 사용자의 방이 함께 비워질 수는 있지만 오래된 프로필이 남지는 않는다
+	@TransactionalEventListener
+	public void evictChangedProfile(UserProfileChangedEvent event) {
+		rooms.forEach((chatId, tail) -> {
+			boolean stale;
+			synchronized (tail) {
+				stale = tail.hasSender(event.previousNickname(), event.previousProfileImage());
+			}
+			if (stale) {
+				remove(chatId, tail);
+			}
+		});
+	}
+
+	private void remove(Long chatId, Tail tail) {
+		if (!rooms.remove(chatId, tail)) {
+			return;
+		}
+		synchronized (tail) {
+			tail.removed = true;
+			totalBytes.addAndGet(-tail.bytes);
+		}
+	}
+
+	// 한 스레드만 정리하고 다른 스레드는 기다리지 않는다 - 가장 오래 쓰지 않은 방을 찾는 데 방 수만큼 훑는다
+	private void evictOverMemory() {
+		if (totalBytes.get() <= maxBytes || !evicting.tryLock()) {
+			return;
+		}
+		try {
+			while (totalBytes.get() > maxBytes) {
+				Map.Entry<Long, Tail> eldest = null;
+				for (Map.Entry<Long, Tail> entry : rooms.entrySet()) {
+					if (eldest == null || entry.getValue().lastAccessedAt < eldest.getValue().lastAccessedAt) {
+						eldest = entry;
+					}
+				}
+				if (eldest == null) {
+					return;
+				}
+				remove(eldest.getKey(), eldest.getValue());
+			}
+		} finally {
+			evicting.unlock();
+		}
+	}
+
+	// id 오름차순 고정 크기 ring - 가득 차면 가장 오래된 메시지를 덮어쓴다
+	private static class Tail {
+		private final MessageSubscribe[] slots;
+		private int head;
+		private int size;
+		private long bytes;
+		private boolean ready;
+		private boolean coversFromStart;
+		private boolean removed;
+		private volatile long lastAccessedAt = System.nanoTime();
+
+		Tail(int capacity) {
+			this.slots = new MessageSubscribe[capacity];
+		}
+
+		Tail touch() {
+			lastAccessedAt = System.nanoTime();
+			return this;
+		}
+
+		boolean hasSender(String nickname, String profileImage) {
+			for (int i = 0; i < size; i++) {
+				MessageSubscribe message = get(i);
+				if (Objects.equals(message.sender(), nickname)
+					&& Objects.equals(message.senderProfileImage(), profileImage)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		// 추가로 늘어난 추정 바이트 수를 반환
+		long add(MessageSubscribe message) {
+			long id = message.chatMessageId();
+			int position = size;
+			while (position > 0 && get(position - 1).chatMessageId() > id) {
+				position--;
+			}
+			if (position > 0 && get(position - 1).chatMessageId() == id) {
+				return 0;
+			}
+
+			long delta = estimateBytes(message);
+			if (size == slots.length) {
+				if (position == 0) {
+					// 버퍼의 가장 오래된 메시지보다 이전 메시지는 보관하지 않는다
+					coversFromStart = false;
+					return 0;
+				}
+				delta -= estimateBytes(get(0));
+				head = (head + 1) % slots.length;
+				size--;
+				position--;
+				coversFromStart = false;
+			}
+
+			for (int i = size; i > position; i--) {
+				set(i, get(i - 1));
+			}
+			set(position, message);
+			size++;
+			bytes += delta;
+			return delta;
+		}
+
+		boolean contains(long messageId) {
+			for (int i = size - 1; i >= 0; i--) {
+				long id = get(i).chatMessageId();
+				if (id <= messageId) {
+					return id == messageId;
+				}
+			}
+			return false;
+		}
+
+		List<MessageSubscribe> page(long beforeId, int limit) {
+			List<MessageSubscribe> page = new ArrayList<>(limit);
+			for (int i = size - 1; i >= 0 && page.size() < limit; i--) {
+				MessageSubscribe message = get(i);
+				if (message.chatMessageId() < beforeId) {
+					page.add(message);
+				}
+			}
+			// 버퍼 이전에 메시지가 더 있을 수 있으면 DB 에서 읽도록 null
+			if (page.size() < limit && !coversFromStart) {
+				return null;
+			}
+			return page;
+		}
+
+		List<MessageSubscribe> afterSeq(long lastSeq, int limit) {
+			// 방 전체를 담고 있지 않다면 가장 오래된 메시지가 lastSeq 바로 다음 이전이어야 빠짐이 없다
+			// 롤백으로 비어 있는 seq 인지 버퍼만으로는 알 수 없으므로 그때는 DB 에서 읽는다
+			if (!coversFromStart && (size == 0 || seqOf(get(0)) > lastSeq + 1)) {
+				return null;
+			}
+			List<MessageSubscribe> missed = new ArrayList<>();
+			for (int i = 0; i < size; i++) {
+				MessageSubscribe message = get(i);
+				if (seqOf(message) > lastSeq) {
+					missed.add(message);
+				}
+			}
+			if (missed.size() > limit) {
+				return null;
+			}
+			missed.sort(Comparator.comparingLong(Tail::seqOf));
+			return missed;
+		}
+
+		private static long seqOf(MessageSubscribe message) {
+			return message.seq() == null ? 0 : message.seq();
+		}
+
+		private MessageSubscribe get(int index) {
+			return slots[(head + index) % slots.length];
+		}
+
+		private void set(int index, MessageSubscribe message) {
+			slots[(head + index) % slots.length] = message;
+		}
+
+		private static long estimateBytes(MessageSubscribe message) {
+			long bytes = 96;
+			bytes += 2L * length(message.content());
+			bytes += 2L * length(message.sender());
+			bytes += 2L * length(message.senderProfileImage());
+			bytes += 2L * length(message.createdAt());
+			if (message.images() != null) {
+				for (String image : message.images()) {
+					bytes += 16 + 2L * length(image);
+				}
+			}
+			return bytes;
+		}
+
+		private static int length(String value) {
+			return value == null ? 0 : value.length();
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package potatoes.server.chat.cache;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import potatoes.server.chat.repository.ChatMessageArchiveRepository;
+import potatoes.server.chat.repository.ChatMessageRepository;
+
+// 채팅방별 단조 증가 시퀀스 - 처음 사용하는 방만 DB 의 MAX(seq) 로 시작값을 읽고 이후는 메모리에서 lock-free 로 발급
+// chat.sequence.store=REDIS (chat.broker.mode=REDIS 의 기본값) 이면 여러 노드가 겹치지 않도록 Redis INCR chat:{chatId}:seq 로 발급
+// 발급 후 롤백된 메시지의 seq 는 다시 쓰지 않으므로 seq 에는 공백이 생길 수 있다
+// 클라이언트는 seq 가 건너뛰면 lastSeq 로 재구독하고, 서버는 lastSeq 이후 실제로 저장된 메시지만 보내므로 공백은 그대로 넘어간다
+// 메모리의 시퀀스는 chat.sequence.max-rooms 를 넘으면 idle-timeout 동안 쓰이지 않은 방부터 내린다
+// 발급 후 아직 커밋되지 않은 seq 가 있는 방을 내리면 DB 에서 다시 읽은 시작값이 겹치므로 최근에 쓴 방은 내리지 않는다
+@Component
+public class ChatSequences {
+
+	private static final RedisScript<Long> INCREMENT_IF_PRESENT = new DefaultRedisScript<>(
+		"if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('INCR', KEYS[1]) end return -1", Long.class);
+	// 키가 없으면(첫 발급, Redis 재시작) DB 의 MAX(seq) 로 채운 뒤 발급 - 동시에 채워도 먼저 들어간 값만 남는다
+	private static final RedisScript<Long> SEED_AND_INCREMENT = new DefaultRedisScript<>(
+		"redis.call('SET', KEYS[1], ARGV[1], 'NX') return redis.call('INCR', KEYS[1])", Long.class);
+
+	private final ChatMessageRepository chatMessageRepository;
+	private final ChatMessageArchiveRepository chatMessageArchiveRepository;
+	private final RedisTemplate<String, String> redisTemplate;
+	private final boolean clustered;
+	private final int maxRooms;
+	private final long idleNanos;
+	private final Map<Long, Sequence> sequences = new ConcurrentHashMap<>();
+
+	public ChatSequences(
+		ChatMessageRepository chatMessageRepository,
+		ChatMessageArchiveRepository chatMessageArchiveRepository,
+		RedisTemplate<String, String> redisTemplate,
+		@Value("${chat.sequence.store:${chat.broker.mode:LOCAL}}") String store,
+		@Value("${chat.sequence.max-rooms:10000}") int maxRooms,
+		@Value("${chat.sequence.idle-timeout:10m}") Duration idleTimeout
+	) {
+		this.chatMessageRepository = chatMessageRepository;
+		this.chatMessageArchiveRepository = chatMessageArchiveRepository;
+		this.redisTemplate = redisTemplate;
+		this.clustered = "REDIS".equalsIgnoreCase(store);
+		this.maxRooms = maxRooms;
+		this.idleNanos = idleTimeout.toNanos();
+	}
+
+	public long next(Long chatId) {
+		if (clustered) {
+			return nextFromRedis(chatId);
+		}
+		while (true) {
+			Sequence sequence = sequences.get(chatId);
+			if (sequence == null) {
+				sequence = sequences.computeIfAbsent(chatId, id -> new Sequence(maxSeq(id)));
+				if (sequences.size() > maxRooms) {
+					evictIdle();
+				}
+			}
+			long seq = sequence.next();
+			if (seq != Sequence.RETIRED) {
+				return seq;
+			}
+			// 내려간 시퀀스 - 맵에서 빠진 뒤 DB 에서 다시 시작
+			sequences.remove(chatId, sequence);
+		}
+	}
+
+	private long nextFromRedis(Long chatId) {
+		List<String> key = List.of("chat:" + chatId + ":seq");
+		Long seq = redisTemplate.execute(INCREMENT_IF_PRESENT, key);
+		if (seq == null || seq < 0) {
+			seq = redisTemplate.execute(SEED_AND_INCREMENT, key, String.valueOf(maxSeq(chatId)));
+		}
+		return seq;
+	}
+
+	// 메시지가 모두 보관 테이블로 옮겨진 방도 이어서 발급
+	private long maxSeq(Long chatId) {
+		return Math.max(chatMessageRepository.findMaxSeqByChatId(chatId),
+			chatMessageArchiveRepository.findMaxSeqByChatId(chatId));
+	}
+
+	// 보관/삭제된 방 - 최근에 쓰인 방이면 다음 정리 때 내린다
+	public void evict(Long chatId) {
+		Sequence sequence = sequences.get(chatId);
+		if (sequence != null && sequence.retireIfIdle(System.nanoTime() - idleNanos)) {
+			sequences.remove(chatId, sequence);
+		}
+	}
+
+	// 용량 초과 시 idle-timeout 동안 쓰이지 않은 방을 오래된 순으로 10% 제거
+	private void evictIdle() {
+		long idleBefore = System.nanoTime() - idleNanos;
+		int overflow = sequences.size() - maxRooms + Math.max(1, maxRooms / 10);
+		sequences.entrySet().stream()
+			.filter(entry -> entry.getValue().lastUsedAt - idleBefore < 0)
+			.sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsedAt))
+			.limit(overflow)
+			.toList()
+			.forEach(entry -> {
+				if (entry.getValue().retireIfIdle(idleBefore)) {
+					sequences.remove(entry.getKey(), entry.getValue());
+				}
+			});
+	}
+
+	private static class Sequence {
+		private static final long RETIRED = -1L;
+
+		private final AtomicLong value;
+		private volatile long lastUsedAt = System.nanoTime();
+
+		Sequence(long start) {
+			this.value = new AtomicLong(start);
+		}
+
+		long next() {
+			lastUsedAt = System.nanoTime();
+			long current;
+			do {
+				current = value.get();
+				if (current == RETIRED) {
+					return RETIRED;
+				}
+			} while (!value.compareAndSet(current, current + 1));
+			return current + 1;
+		}
+
+		// 발급과 경합하면 발급이 이기고 내리지 않는다
+		boolean retireIfIdle(long idleBefore) {
+			long current = value.get();
+			return lastUsedAt - idleBefore < 0 && value.compareAndSet(current, RETIRED);
+		}
+	}
+}
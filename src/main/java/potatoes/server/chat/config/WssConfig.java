@@ -1,10 +1,17 @@
 package potatoes.server.chat.config;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.messaging.simp.stomp.StompCommand;
@@ -12,14 +19,24 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.relay.BrokerRelay;
+import potatoes.server.chat.stomp.AlarmInboxReplayInterceptor;
 import potatoes.server.chat.stomp.ChatEventHandler;
+import potatoes.server.chat.stomp.ChatResumeInterceptor;
+import potatoes.server.chat.stomp.ChatSubscriptionRegistry;
+import potatoes.server.chat.stomp.CompactFrameCodec;
 import potatoes.server.chat.stomp.CustomHandshakeInterceptor;
+import potatoes.server.chat.stomp.InboundRateLimiter;
+import potatoes.server.chat.stomp.SlowConsumerGuard;
+import potatoes.server.utils.constant.ChannelExecutionMode;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -28,11 +45,62 @@ import potatoes.server.chat.stomp.CustomHandshakeInterceptor;
 public class WssConfig implements WebSocketMessageBrokerConfigurer {
 
 	private final ChatEventHandler chatEventHandler;
+	private final ObjectProvider<BrokerRelay> brokerRelay;
+	private final AlarmInboxReplayInterceptor alarmInboxReplayInterceptor;
+	private final ChatResumeInterceptor chatResumeInterceptor;
+	private final SlowConsumerGuard slowConsumerGuard;
+	private final CompactFrameCodec compactFrameCodec;
+	private final InboundRateLimiter inboundRateLimiter;
+	private final Environment environment;
+
+	// SimpleBrokerRegistration 은 구독 registry 를 바꿀 수 없으므로 생성된 브로커에 직접 설정
+	@Bean
+	static BeanPostProcessor chatSubscriptionRegistryPostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof SimpleBrokerMessageHandler broker) {
+					broker.setSubscriptionRegistry(new ChatSubscriptionRegistry());
+				}
+				return bean;
+			}
+		};
+	}
 
 	@Override
 	public void configureMessageBroker(MessageBrokerRegistry registry) {
 		registry.enableSimpleBroker("/sub");
 		registry.setApplicationDestinationPrefixes("/pub");
+		// chat.broker.mode=REDIS - 여러 노드가 같은 /sub 토픽을 공유하도록 brokerChannel 에 relay 연결
+		brokerRelay.ifAvailable(relay -> registry.configureBrokerChannel().interceptors(relay));
+		// 세션별 대기 프레임은 preserve-order 로 채널 앞에 쌓이기 전에 센다
+		registry.configureBrokerChannel().interceptors(slowConsumerGuard.brokerInterceptor());
+
+		ThreadPoolTaskExecutor brokerExecutor = channelExecutor("broker");
+		if (brokerExecutor != null) {
+			registry.configureBrokerChannel().taskExecutor(brokerExecutor);
+		}
+		// 같은 세션으로 나가는 메시지는 발행 순서대로 전달
+		registry.setPreservePublishOrder(preserveOrder());
+	}
+
+	@Override
+	public void configureClientOutboundChannel(ChannelRegistration registration) {
+		ThreadPoolTaskExecutor outboundExecutor = channelExecutor("outbound");
+		if (outboundExecutor != null) {
+			registration.taskExecutor(outboundExecutor);
+		}
+		registration.interceptors(slowConsumerGuard, compactFrameCodec);
+	}
+
+	// 세션별 전송 시간/버퍼 한도 - 넘으면 스프링이 해당 세션을 종료
+	@Override
+	public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+		registration.setSendTimeLimit(environment.getProperty("chat.ws.send-time-limit-ms", Integer.class, 10_000));
+		registration.setSendBufferSizeLimit(
+			environment.getProperty("chat.ws.send-buffer-size-limit", Integer.class, 512 * 1024));
+		registration.setMessageSizeLimit(environment.getProperty("chat.ws.message-size-limit", Integer.class, 64 * 1024));
+		registration.addDecoratorFactory(slowConsumerGuard::decorate);
 	}
 
 	@Override
@@ -40,15 +108,28 @@ public class WssConfig implements WebSocketMessageBrokerConfigurer {
 		registry.addEndpoint("/ws")
 			.addInterceptors(new CustomHandshakeInterceptor())
 			.setAllowedOrigins("*");
+		// 같은 세션에서 들어온 메시지는 수신 순서대로 처리
+		registry.setPreserveReceiveOrder(preserveOrder());
 	}
 
 	@Override
 	public void configureClientInboundChannel(ChannelRegistration registration) {
+		ThreadPoolTaskExecutor inboundExecutor = channelExecutor("inbound");
+		if (inboundExecutor != null) {
+			registration.taskExecutor(inboundExecutor);
+		}
 		registration.interceptors(new ChannelInterceptor() {
 			@Override
 			public Message<?> preSend(Message<?> message, MessageChannel channel) {
 				StompHeaderAccessor headerAccessor = MessageHeaderAccessor.getAccessor(
 					message, StompHeaderAccessor.class);
+				// 한도 초과 프레임은 보낸 세션에 알리고 null 로 버린다 - 예외를 던지면 ERROR 프레임과 함께 세션이 닫힌다
+				if (StompCommand.SEND.equals(headerAccessor.getCommand())
+					&& !inboundRateLimiter.tryAcquire(headerAccessor)) {
+					inboundRateLimiter.notifyRejected(headerAccessor);
+					return null;
+				}
+
 				try {
 					if (StompCommand.CONNECT.equals(headerAccessor.getCommand())) {
 						chatEventHandler.handleConnect(headerAccessor);
@@ -76,6 +157,45 @@ public class WssConfig implements WebSocketMessageBrokerConfigurer {
 					throw new MessageDeliveryException(message, e);
 				}
 			}
-		});
+		}, compactFrameCodec, alarmInboxReplayInterceptor, chatResumeInterceptor,
+			slowConsumerGuard.subscriptionTracker());
+	}
+
+	private boolean preserveOrder() {
+		return environment.getProperty("chat.channel.preserve-order", Boolean.class, true);
+	}
+
+	// chat.channel.{inbound|outbound|broker}.mode
+	// DEFAULT - 스프링 기본 풀, VIRTUAL - 작업마다 가상 스레드, BOUNDED - 고정 크기 플랫폼 스레드 풀 + 제한된 큐
+	// 큐가 가득 차면 호출한 스레드가 직접 실행해 큐가 무한히 늘어나는 대신 역압을 건다
+	private ThreadPoolTaskExecutor channelExecutor(String channel) {
+		String prefix = "chat.channel." + channel + ".";
+		ChannelExecutionMode mode = environment.getProperty(prefix + "mode", ChannelExecutionMode.class,
+			ChannelExecutionMode.DEFAULT);
+		if (mode == ChannelExecutionMode.DEFAULT) {
+			return null;
+		}
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("stomp-" + channel + "-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		if (mode == ChannelExecutionMode.VIRTUAL) {
+			// 유휴 스레드를 바로 정리하므로 사실상 작업당 가상 스레드 하나, max-concurrency 로 동시 실행 수만 제한
+			int maxConcurrency = environment.getProperty(prefix + "max-concurrency", Integer.class, 10_000);
+			executor.setThreadFactory(Thread.ofVirtual().name("stomp-" + channel + "-", 0).factory());
+			executor.setCorePoolSize(maxConcurrency);
+			executor.setMaxPoolSize(maxConcurrency);
+			executor.setKeepAliveSeconds(1);
+			executor.setAllowCoreThreadTimeOut(true);
+			executor.setQueueCapacity(environment.getProperty(prefix + "queue-capacity", Integer.class, 100_000));
+			return executor;
+		}
+
+		int processors = Runtime.getRuntime().availableProcessors();
+		executor.setCorePoolSize(environment.getProperty(prefix + "core-pool-size", Integer.class, processors * 2));
+		executor.setMaxPoolSize(environment.getProperty(prefix + "max-pool-size", Integer.class, processors * 8));
+		executor.setQueueCapacity(environment.getProperty(prefix + "queue-capacity", Integer.class, 10_000));
+		executor.setKeepAliveSeconds(60);
+		return executor;
 	}
 }
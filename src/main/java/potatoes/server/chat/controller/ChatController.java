@@ -5,6 +5,7 @@ import static org.springframework.http.MediaType.*;
 import java.security.Principal;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -22,14 +23,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import potatoes.server.chat.dto.ChatOverviewResponse;
+import potatoes.server.chat.dto.ChatSearchResponse;
 import potatoes.server.chat.dto.ChatSummaryResponse;
 import potatoes.server.chat.dto.MarkAsReadPublish;
 import potatoes.server.chat.dto.MessagePublish;
 import potatoes.server.chat.dto.RecentChatResponse;
+import potatoes.server.chat.dto.TypingPublish;
+import potatoes.server.chat.pipeline.ChatRoomMailboxes;
+import potatoes.server.chat.pipeline.TypingIndicatorAggregator;
 import potatoes.server.chat.service.ChatService;
+import potatoes.server.chat.service.WriteBehindChatService;
 import potatoes.server.chat.stomp.StompUserPrincipal;
 import potatoes.server.utils.CommonResponse;
 import potatoes.server.utils.annotation.Authorization;
+import potatoes.server.utils.constant.ChatSendMode;
 import potatoes.server.utils.constant.ChatSortType;
 
 @Tag(name = "채팅", description = "채팅 관련 API")
@@ -39,17 +46,35 @@ import potatoes.server.utils.constant.ChatSortType;
 public class ChatController {
 
 	private final ChatService chatService;
+	private final WriteBehindChatService writeBehindChatService;
+	private final TypingIndicatorAggregator typingIndicatorAggregator;
+	private final ChatRoomMailboxes chatRoomMailboxes;
+
+	@Value("${chat.send.mode:SYNC}")
+	private ChatSendMode sendMode;
 
 	@MessageMapping("/chat/{chatId}")
 	public void sendMessage(@DestinationVariable Long chatId, MessagePublish message, Principal principal) {
 		StompUserPrincipal stompUserPrincipal = (StompUserPrincipal)principal;
-		chatService.send(chatId, message, stompUserPrincipal);
+		if (sendMode == ChatSendMode.WRITE_BEHIND) {
+			chatRoomMailboxes.run(chatId, () -> writeBehindChatService.send(chatId, message, stompUserPrincipal));
+			return;
+		}
+		chatRoomMailboxes.run(chatId, () -> chatService.send(chatId, message, stompUserPrincipal));
+	}
+
+	// 입력중 표시는 저장하지 않고 TypingIndicatorAggregator 가 모아서 /sub/chat/{chatId}/typing 으로 전달
+	@MessageMapping("/chat/{chatId}/typing")
+	public void typing(@DestinationVariable Long chatId, TypingPublish typingPublish, Principal principal) {
+		StompUserPrincipal stompUserPrincipal = (StompUserPrincipal)principal;
+		typingIndicatorAggregator.submit(chatId, stompUserPrincipal.getUserId(), typingPublish.typing());
 	}
 
 	@MessageMapping("/chat/read/{chatId}")
 	public void markAsRead(@DestinationVariable Long chatId, MarkAsReadPublish markAsReadPublish, Principal principal) {
 		StompUserPrincipal stompUserPrincipal = (StompUserPrincipal)principal;
-		chatService.markAsRead(chatId, markAsReadPublish.chatMessageId(), stompUserPrincipal);
+		chatRoomMailboxes.run(chatId,
+			() -> chatService.markAsRead(chatId, markAsReadPublish.chatMessageId(), stompUserPrincipal));
 	}
 
 	@Operation(summary = "채팅 기록 조회")
@@ -64,13 +89,26 @@ public class ChatController {
 			CommonResponse.from(chatService.getRecentChatMessages(userId, chatId, size, latestChatId)));
 	}
 
+	@Operation(summary = "채팅 메시지 검색", description = "cursor 보다 오래된 메시지 중 검색어를 포함하는 메시지를 최신순으로 조회합니다.")
+	@GetMapping("/chat/{chatId}/search")
+	public ResponseEntity<CommonResponse<ChatSearchResponse>> searchChatMessages(
+		@Authorization @Parameter(hidden = true) Long userId,
+		@PathVariable("chatId") Long chatId,
+		@RequestParam("query") String query,
+		@RequestParam(value = "size", defaultValue = "20") int size,
+		@RequestParam(value = "cursor", defaultValue = "0") Long cursor
+	) {
+		return ResponseEntity.ok(
+			CommonResponse.from(chatService.searchMessages(userId, chatId, query, size, cursor)));
+	}
+
 	@Operation(summary = "채팅방 나가기")
 	@DeleteMapping("/chat/{chatId}")
 	public ResponseEntity<CommonResponse<?>> leaveChat(
 		@Authorization @Parameter(hidden = false) Long userId,
 		@PathVariable("chatId") Long chatId
 	) {
-		chatService.leaveChat(userId, chatId);
+		chatRoomMailboxes.run(chatId, () -> chatService.leaveChat(userId, chatId));
 		return ResponseEntity.ok(CommonResponse.create());
 	}
 
@@ -89,7 +127,7 @@ public class ChatController {
 		@Authorization @Parameter(hidden = true) Long userId,
 		@PathVariable("chatId") Long chatId
 	) {
-		chatService.joinChat(userId, chatId);
+		chatRoomMailboxes.run(chatId, () -> chatService.joinChat(userId, chatId));
 		return ResponseEntity.ok(CommonResponse.create());
 	}
 
@@ -0,0 +1,174 @@
+package potatoes.server.chat.domain.command;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.entity.ChatImage;
+import potatoes.server.infra.s3.S3UtilsProvider;
+import potatoes.server.utils.id.TimeOrderedIdGenerator;
+
+// 업로드 후 orphan-grace 가 지나도록 메시지에 연결되지 않은 chat_image row 와 S3 객체를 chunk 단위로 삭제
+// row 를 먼저 지우고(그 사이 연결된 이미지는 남김) 실제로 지워진 row 의 객체만 삭제한다
+// 시작 시 image_url_hash 가 비어 있는 기존 row 도 chunk 단위로 채운다
+@Slf4j
+@Component
+public class ChatImageSweeper {
+
+	private static final String SELECT_UNHASHED =
+		"SELECT id, image_url FROM chat_image WHERE image_url_hash IS NULL ORDER BY id LIMIT ?";
+	private static final String UPDATE_HASH = "UPDATE chat_image SET image_url_hash = ? WHERE id = ?";
+	private static final String SELECT_ORPHANS = """
+		SELECT id, image_url FROM chat_image
+		WHERE chat_message_id IS NULL
+		AND id > ?
+		AND id < ?
+		ORDER BY id
+		LIMIT ?""";
+	private static final String DELETE_ORPHANS =
+		"DELETE FROM chat_image WHERE id IN (%s) AND chat_message_id IS NULL";
+	private static final String SELECT_REMAINING = "SELECT id FROM chat_image WHERE id IN (%s)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final S3UtilsProvider s3;
+	private final boolean enabled;
+	private final Duration interval;
+	private final Duration orphanGrace;
+	private final int chunkSize;
+	private final ScheduledExecutorService scheduler;
+	private final Counter deleted;
+	private final Counter reclaimedBytes;
+
+	public ChatImageSweeper(
+		JdbcTemplate jdbcTemplate,
+		S3UtilsProvider s3,
+		MeterRegistry meterRegistry,
+		@Value("${chat.image.sweeper.enabled:false}") boolean enabled,
+		@Value("${chat.image.sweeper.interval:1h}") Duration interval,
+		@Value("${chat.image.sweeper.orphan-grace:24h}") Duration orphanGrace,
+		@Value("${chat.image.sweeper.chunk-size:500}") int chunkSize
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.s3 = s3;
+		this.enabled = enabled;
+		this.interval = interval;
+		this.orphanGrace = orphanGrace;
+		this.chunkSize = chunkSize;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "chat-image-sweeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.deleted = meterRegistry.counter("chat.image.orphan.deleted");
+		this.reclaimedBytes = Counter.builder("chat.image.orphan.reclaimed")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+	}
+
+	@PostConstruct
+	void start() {
+		scheduler.execute(this::backfillHashesSafely);
+		if (enabled) {
+			scheduler.scheduleWithFixedDelay(this::sweepSafely, interval.toMillis(), interval.toMillis(),
+				TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@PreDestroy
+	void stop() {
+		scheduler.shutdownNow();
+	}
+
+	private void backfillHashesSafely() {
+		try {
+			long backfilled = 0;
+			List<Object[]> hashes;
+			do {
+				hashes = jdbcTemplate.query(SELECT_UNHASHED,
+					(rs, rowNum) -> new Object[] {ChatImage.hashOf(rs.getString("image_url")), rs.getLong("id")},
+					chunkSize);
+				if (!hashes.isEmpty()) {
+					jdbcTemplate.batchUpdate(UPDATE_HASH, hashes);
+				}
+				backfilled += hashes.size();
+			} while (hashes.size() == chunkSize);
+			if (backfilled > 0) {
+				log.info("chat_image.image_url_hash 채우기 완료: {}건", backfilled);
+			}
+		} catch (RuntimeException e) {
+			log.error("chat_image.image_url_hash 채우기 실패: {}", e.getMessage(), e);
+		}
+	}
+
+	private void sweepSafely() {
+		try {
+			sweep();
+		} catch (RuntimeException e) {
+			log.error("연결되지 않은 채팅 이미지 정리 실패: {}", e.getMessage(), e);
+		}
+	}
+
+	public long sweep() {
+		// TSID 는 업로드 시각을 담고 있어 별도 생성일 컬럼 없이 유예 기간을 판단
+		long uploadedBeforeId = TimeOrderedIdGenerator.minIdAt(Instant.now().minus(orphanGrace));
+		long swept = 0;
+		long afterId = 0;
+		while (!Thread.currentThread().isInterrupted()) {
+			List<Map<String, Object>> orphans = jdbcTemplate.queryForList(SELECT_ORPHANS, afterId,
+				uploadedBeforeId, chunkSize);
+			if (orphans.isEmpty()) {
+				break;
+			}
+			swept += delete(orphans);
+			afterId = ((Number)orphans.get(orphans.size() - 1).get("id")).longValue();
+			if (orphans.size() < chunkSize) {
+				break;
+			}
+		}
+		log.info("연결되지 않은 채팅 이미지 정리 완료: {}건", swept);
+		return swept;
+	}
+
+	private int delete(List<Map<String, Object>> orphans) {
+		List<Object> ids = new ArrayList<>(orphans.size());
+		orphans.forEach(orphan -> ids.add(orphan.get("id")));
+		String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+		Object[] args = ids.toArray();
+
+		jdbcTemplate.update(DELETE_ORPHANS.formatted(placeholders), args);
+		Set<Long> remaining = new HashSet<>(
+			jdbcTemplate.queryForList(SELECT_REMAINING.formatted(placeholders), Long.class, args));
+
+		int count = 0;
+		for (Map<String, Object> orphan : orphans) {
+			if (remaining.contains(((Number)orphan.get("id")).longValue())) {
+				continue;
+			}
+			count++;
+			try {
+				reclaimedBytes.increment(s3.deleteFileByUrl((String)orphan.get("image_url")));
+			} catch (RuntimeException e) {
+				log.warn("채팅 이미지 객체 삭제 실패: {}, {}", orphan.get("image_url"), e.getMessage());
+			}
+		}
+		deleted.increment(count);
+		return count;
+	}
+}
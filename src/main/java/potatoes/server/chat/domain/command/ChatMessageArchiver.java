@@ -0,0 +1,224 @@
+package potatoes.server.chat.domain.command;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.cache.ChatMembershipIndex;
+import potatoes.server.chat.cache.ChatReadWatermarks;
+import potatoes.server.chat.cache.ChatSequences;
+import potatoes.server.chat.entity.ChatMessageArchive;
+import potatoes.server.chat.search.ChatSearchIndex;
+
+// retention 보다 오래됐거나 종료 후 ended-travel-grace 가 지난 여행의 메시지를 chat_message_archive 로 이동
+// 테이블 잠금을 피하기 위해 chunk-size 개씩 짧은 트랜잭션으로 옮기고 chunk 사이에 잠시 쉰다
+// 이동하는 메시지의 chat_message_user row 와 chat_image row 는 지우고 이미지 URL 은 보관 row 에 함께 담는다
+// 종료된 여행의 채팅방은 더 쓰이지 않으므로 참여자/읽음 위치/seq 캐시에서 내린다
+@Slf4j
+@Component
+public class ChatMessageArchiver {
+
+	private static final String SELECT_ARCHIVABLE = """
+		SELECT cm.id FROM chat_message cm
+		JOIN chat c ON c.id = cm.chat_id
+		JOIN travel t ON t.id = c.travel_id
+		WHERE cm.id > ?
+		AND (cm.created_at < ? OR t.end_at < ?)
+		ORDER BY cm.id
+		LIMIT ?""";
+	private static final String SELECT_MESSAGES =
+		"SELECT id, chat_id, seq, sender_id, message, created_at FROM chat_message WHERE id IN (%s) ORDER BY id";
+	private static final String SELECT_IMAGES =
+		"SELECT chat_message_id, image_url FROM chat_image WHERE chat_message_id IN (%s) ORDER BY id";
+	private static final String INSERT_ARCHIVE = """
+		INSERT INTO chat_message_archive (id, chat_id, seq, sender_id, message, image_urls, created_at, archived_at)
+		VALUES (?, ?, ?, ?, ?, ?, ?, ?)""";
+	private static final String DELETE_MESSAGE_USERS = "DELETE FROM chat_message_user WHERE chat_message_id IN (%s)";
+	private static final String DELETE_IMAGES = "DELETE FROM chat_image WHERE chat_message_id IN (%s)";
+	private static final String DELETE_MESSAGES = "DELETE FROM chat_message WHERE id IN (%s)";
+	private static final String SELECT_ENDED_CHATS =
+		"SELECT c.id FROM chat c JOIN travel t ON t.id = c.travel_id WHERE t.end_at < ? AND c.id IN (%s)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ChatSearchIndex chatSearchIndex;
+	private final ChatMembershipIndex membershipIndex;
+	private final ChatReadWatermarks readWatermarks;
+	private final ChatSequences chatSequences;
+	private final boolean enabled;
+	private final Duration interval;
+	private final Duration retention;
+	private final Duration endedTravelGrace;
+	private final int chunkSize;
+	private final long chunkPauseMillis;
+	private final ScheduledExecutorService scheduler;
+
+	public ChatMessageArchiver(
+		JdbcTemplate jdbcTemplate,
+		TransactionTemplate transactionTemplate,
+		ChatSearchIndex chatSearchIndex,
+		ChatMembershipIndex membershipIndex,
+		ChatReadWatermarks readWatermarks,
+		ChatSequences chatSequences,
+		@Value("${chat.archive.enabled:false}") boolean enabled,
+		@Value("${chat.archive.interval:1h}") Duration interval,
+		@Value("${chat.archive.retention:180d}") Duration retention,
+		@Value("${chat.archive.ended-travel-grace:30d}") Duration endedTravelGrace,
+		@Value("${chat.archive.chunk-size:1000}") int chunkSize,
+		@Value("${chat.archive.chunk-pause-ms:50}") long chunkPauseMillis
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.chatSearchIndex = chatSearchIndex;
+		this.membershipIndex = membershipIndex;
+		this.readWatermarks = readWatermarks;
+		this.chatSequences = chatSequences;
+		this.enabled = enabled;
+		this.interval = interval;
+		this.retention = retention;
+		this.endedTravelGrace = endedTravelGrace;
+		this.chunkSize = chunkSize;
+		this.chunkPauseMillis = chunkPauseMillis;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "chat-message-archiver");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PostConstruct
+	void start() {
+		if (enabled) {
+			scheduler.scheduleWithFixedDelay(this::archiveSafely, interval.toMillis(), interval.toMillis(),
+				TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@PreDestroy
+	void stop() {
+		scheduler.shutdownNow();
+	}
+
+	private void archiveSafely() {
+		try {
+			archive();
+		} catch (RuntimeException e) {
+			log.error("채팅 메시지 보관 실패: {}", e.getMessage(), e);
+		}
+	}
+
+	public long archive() {
+		Instant now = Instant.now();
+		Timestamp createdBefore = Timestamp.from(now.minus(retention));
+		Timestamp travelEndedBefore = Timestamp.from(now.minus(endedTravelGrace));
+
+		long archived = 0;
+		long afterId = 0;
+		Set<Long> archivedChatIds = new HashSet<>();
+		while (!Thread.currentThread().isInterrupted()) {
+			List<Long> ids = jdbcTemplate.queryForList(SELECT_ARCHIVABLE, Long.class,
+				afterId, createdBefore, travelEndedBefore, chunkSize);
+			if (ids.isEmpty()) {
+				break;
+			}
+
+			Set<Long> chatIds = transactionTemplate.execute(status -> move(ids, now));
+			if (chatIds != null) {
+				chatIds.forEach(chatSearchIndex::evict);
+				archivedChatIds.addAll(chatIds);
+			}
+			archived += ids.size();
+			afterId = ids.get(ids.size() - 1);
+			if (ids.size() < chunkSize) {
+				break;
+			}
+			pause();
+		}
+		evictEndedChats(archivedChatIds, travelEndedBefore);
+		log.info("채팅 메시지 보관 완료: {}건", archived);
+		return archived;
+	}
+
+	private void evictEndedChats(Set<Long> chatIds, Timestamp travelEndedBefore) {
+		if (chatIds.isEmpty()) {
+			return;
+		}
+		String placeholders = String.join(", ", Collections.nCopies(chatIds.size(), "?"));
+		List<Object> args = new ArrayList<>(chatIds.size() + 1);
+		args.add(travelEndedBefore);
+		args.addAll(chatIds);
+		jdbcTemplate.queryForList(SELECT_ENDED_CHATS.formatted(placeholders), Long.class, args.toArray())
+			.forEach(chatId -> {
+				membershipIndex.evict(chatId);
+				readWatermarks.evict(chatId);
+				chatSequences.evict(chatId);
+			});
+	}
+
+	// 옮긴 메시지가 속한 채팅방 id 를 반환
+	private Set<Long> move(List<Long> ids, Instant archivedAt) {
+		String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+		Object[] args = ids.toArray();
+
+		Map<Long, List<String>> imagesByMessage = new LinkedHashMap<>();
+		jdbcTemplate.query(SELECT_IMAGES.formatted(placeholders), rs -> {
+			imagesByMessage.computeIfAbsent(rs.getLong("chat_message_id"), id -> new ArrayList<>())
+				.add(rs.getString("image_url"));
+		}, args);
+
+		Set<Long> chatIds = new HashSet<>();
+		Timestamp archivedTimestamp = Timestamp.from(archivedAt);
+		List<Object[]> rows = new ArrayList<>(ids.size());
+		jdbcTemplate.query(SELECT_MESSAGES.formatted(placeholders), rs -> {
+			long id = rs.getLong("id");
+			long chatId = rs.getLong("chat_id");
+			List<String> images = imagesByMessage.get(id);
+			chatIds.add(chatId);
+			rows.add(new Object[] {
+				id,
+				chatId,
+				rs.getObject("seq"),
+				rs.getObject("sender_id"),
+				rs.getString("message"),
+				images == null ? null : String.join(ChatMessageArchive.IMAGE_URL_DELIMITER, images),
+				rs.getTimestamp("created_at"),
+				archivedTimestamp
+			});
+		}, args);
+
+		jdbcTemplate.batchUpdate(INSERT_ARCHIVE, rows);
+		jdbcTemplate.update(DELETE_MESSAGE_USERS.formatted(placeholders), args);
+		jdbcTemplate.update(DELETE_IMAGES.formatted(placeholders), args);
+		jdbcTemplate.update(DELETE_MESSAGES.formatted(placeholders), args);
+		return chatIds;
+	}
+
+	private void pause() {
+		if (chunkPauseMillis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(chunkPauseMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
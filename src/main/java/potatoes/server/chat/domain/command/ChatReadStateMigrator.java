@@ -0,0 +1,57 @@
+package potatoes.server.chat.domain.command;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.repository.ChatMessageUserRepository;
+import potatoes.server.chat.repository.ChatUserRepository;
+
+// chat_message_user(메시지별 수신자 row) 기반 읽음 상태를 chat_user.last_read_message_id 로 이전
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ChatReadStateMigrator {
+
+	private final ChatUserRepository chatUserRepository;
+	private final ChatMessageUserRepository chatMessageUserRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${chat.read-state.migrate-legacy:false}")
+	private boolean migrateLegacy;
+
+	@Value("${chat.read-state.purge-legacy:false}")
+	private boolean purgeLegacy;
+
+	@Value("${chat.read-state.purge-chunk-size:10000}")
+	private int purgeChunkSize;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void migrate() {
+		if (migrateLegacy) {
+			Integer migrated = transactionTemplate.execute(status -> chatUserRepository.migrateLegacyReadState());
+			log.info("chat_message_user 읽음 상태 이전 완료: {} chat_user", migrated);
+		}
+
+		if (purgeLegacy) {
+			purgeLegacyRows();
+		}
+	}
+
+	// 테이블 잠금을 피하기 위해 id 범위 단위로 나누어 삭제
+	private void purgeLegacyRows() {
+		long maxId = chatMessageUserRepository.findMaxId();
+		long deleted = 0;
+		for (long fromId = 0; fromId < maxId; fromId += purgeChunkSize) {
+			long from = fromId;
+			Integer count = transactionTemplate.execute(
+				status -> chatMessageUserRepository.deleteByIdRange(from, from + purgeChunkSize));
+			deleted += count == null ? 0 : count;
+		}
+		log.info("chat_message_user 삭제 완료: {} rows", deleted);
+	}
+}
@@ -0,0 +1,13 @@
+package potatoes.server.chat.dto;
+
+import potatoes.server.utils.error.ErrorCode;
+
+public record ChatFrameRejected(
+	String destination,
+	String code,
+	String message
+) {
+	public static ChatFrameRejected of(String destination, ErrorCode errorCode) {
+		return new ChatFrameRejected(destination, errorCode.getCode(), errorCode.getMessage());
+	}
+}
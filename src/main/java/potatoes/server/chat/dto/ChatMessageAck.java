@@ -0,0 +1,8 @@
+package potatoes.server.chat.dto;
+
+public record ChatMessageAck(
+	Long chatId,
+	Long chatMessageId,
+	boolean persisted
+) {
+}
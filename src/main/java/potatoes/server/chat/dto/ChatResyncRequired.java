@@ -0,0 +1,8 @@
+package potatoes.server.chat.dto;
+
+public record ChatResyncRequired(
+	Long chatId,
+	long lastSeq,
+	int maxMessages
+) {
+}
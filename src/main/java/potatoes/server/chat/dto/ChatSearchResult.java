@@ -0,0 +1,15 @@
+package potatoes.server.chat.dto;
+
+import static potatoes.server.utils.time.DateTimeUtils.*;
+
+import potatoes.server.chat.model.ChatMessageText;
+
+public record ChatSearchResult(
+	Long chatMessageId,
+	String snippet,
+	String createdAt
+) {
+	public static ChatSearchResult of(ChatMessageText message, String snippet) {
+		return new ChatSearchResult(message.chatMessageId(), snippet, getYearMonthDayTime(message.createdAt()));
+	}
+}
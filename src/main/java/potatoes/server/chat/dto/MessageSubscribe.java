@@ -3,11 +3,15 @@ package potatoes.server.chat.dto;
 import java.util.List;
 
 import potatoes.server.chat.entity.ChatMessage;
+import potatoes.server.chat.model.ChatHistoryMessage;
+import potatoes.server.chat.pipeline.PendingChatMessage;
 import potatoes.server.user.entity.User;
+import potatoes.server.user.model.UserProfile;
 import potatoes.server.utils.time.DateTimeUtils;
 
 public record MessageSubscribe(
 	Long chatMessageId,
+	Long seq,
 	List<String> images,
 	String content,
 	String sender,
@@ -18,6 +22,7 @@ public record MessageSubscribe(
 	public static MessageSubscribe of(ChatMessage chatMessage, List<String> images, User user, int unreadCount) {
 		return new MessageSubscribe(
 			chatMessage.getId(),
+			chatMessage.getSeq(),
 			images,
 			chatMessage.getMessage(),
 			user.getNickname(),
@@ -26,4 +31,34 @@ public record MessageSubscribe(
 			unreadCount
 		);
 	}
+
+	public static MessageSubscribe of(PendingChatMessage message, UserProfile sender, int unreadCount) {
+		return new MessageSubscribe(
+			message.id(),
+			message.seq(),
+			message.imageUrls(),
+			message.message(),
+			sender.nickname(),
+			sender.profileImage(),
+			DateTimeUtils.getYearMonthDayTime(message.createdAt()),
+			unreadCount
+		);
+	}
+
+	public static MessageSubscribe of(ChatHistoryMessage message, List<String> images, int unreadCount) {
+		return new MessageSubscribe(
+			message.chatMessageId(),
+			message.seq(),
+			images,
+			message.message(),
+			message.senderNickname(),
+			message.senderProfileImage(),
+			DateTimeUtils.getYearMonthDayTime(message.createdAt()),
+			unreadCount
+		);
+	}
+
+	public MessageSubscribe withUnreadCount(int unreadCount) {
+		return new MessageSubscribe(chatMessageId, seq, images, content, sender, senderProfileImage, createdAt, unreadCount);
+	}
 }
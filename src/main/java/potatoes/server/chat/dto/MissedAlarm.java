@@ -0,0 +1,7 @@
+package potatoes.server.chat.dto;
+
+public record MissedAlarm(
+	AlarmSubscribe alarm,
+	int count
+) {
+}
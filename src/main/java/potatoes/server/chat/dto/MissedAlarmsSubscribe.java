@@ -0,0 +1,8 @@
+package potatoes.server.chat.dto;
+
+import java.util.List;
+
+public record MissedAlarmsSubscribe(
+	List<MissedAlarm> missedAlarms
+) {
+}
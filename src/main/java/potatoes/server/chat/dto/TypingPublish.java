@@ -0,0 +1,6 @@
+package potatoes.server.chat.dto;
+
+public record TypingPublish(
+	boolean typing
+) {
+}
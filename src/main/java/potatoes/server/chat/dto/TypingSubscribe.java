@@ -0,0 +1,9 @@
+package potatoes.server.chat.dto;
+
+import java.util.List;
+
+public record TypingSubscribe(
+	Long chatId,
+	List<Long> typingUserIds
+) {
+}
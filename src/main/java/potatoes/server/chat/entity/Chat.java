@@ -62,6 +62,7 @@ public class Chat {
 			.build();
 	}
 
+	// read-modify-write 이므로 같은 방의 입장/퇴장은 ChatRoomMailboxes 에서 직렬화해서 호출
 	public void newMemberJoined() {
 		currentMemberCount++;
 	}
@@ -1,24 +1,28 @@
 package potatoes.server.chat.entity;
 
-import static jakarta.persistence.GenerationType.*;
 import static lombok.AccessLevel.*;
 
+import java.nio.charset.StandardCharsets;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import potatoes.server.utils.id.TimeOrderedId;
 
 @Getter
 @NoArgsConstructor(access = PROTECTED)
 @Entity
+@Table(indexes = @Index(name = "idx_chat_image_image_url_hash", columnList = "image_url_hash"))
 public class ChatImage {
 
 	@Id
-	@GeneratedValue(strategy = IDENTITY)
+	@TimeOrderedId
 	private Long id;
 
 	@ManyToOne
@@ -28,8 +32,23 @@ public class ChatImage {
 	@Column(nullable = false)
 	private String imageUrl;
 
+	// image_url 은 길어서 인덱스 대신 해시로 찾고 조회한 URL 을 다시 비교
+	@Column(name = "image_url_hash")
+	private Long imageUrlHash;
+
 	public ChatImage(String imageUrl) {
 		this.imageUrl = imageUrl;
+		this.imageUrlHash = hashOf(imageUrl);
+	}
+
+	// 64bit FNV-1a
+	public static long hashOf(String imageUrl) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : imageUrl.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		return hash;
 	}
 
 	public void messageSent(ChatMessage chatMessage) {
@@ -1,7 +1,6 @@
 package potatoes.server.chat.entity;
 
 import static jakarta.persistence.FetchType.*;
-import static jakarta.persistence.GenerationType.*;
 import static lombok.AccessLevel.*;
 
 import java.util.ArrayList;
@@ -9,24 +8,30 @@ import java.util.List;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import potatoes.server.config.BaseTimeEntity;
 import potatoes.server.user.entity.User;
+import potatoes.server.utils.id.TimeOrderedId;
 
 @Getter
 @NoArgsConstructor(access = PROTECTED)
 @Entity
+@Table(indexes = {
+	@Index(name = "idx_chat_message_chat_id_id", columnList = "chat_id, id"),
+	@Index(name = "idx_chat_message_chat_id_seq", columnList = "chat_id, seq")
+})
 public class ChatMessage extends BaseTimeEntity {
 
 	@Id
-	@GeneratedValue(strategy = IDENTITY)
+	@TimeOrderedId
 	private Long id;
 
 	@ManyToOne(fetch = LAZY)
@@ -43,11 +48,16 @@ public class ChatMessage extends BaseTimeEntity {
 	@Column(nullable = false)
 	private String message;
 
+	// 채팅방 내 순번 - 도입 이전 메시지는 null
+	@Column(name = "seq")
+	private Long seq;
+
 	@Builder
-	public ChatMessage(Chat chat, User sender, String message) {
+	public ChatMessage(Chat chat, User sender, String message, Long seq) {
 		this.chat = chat;
 		this.sender = sender;
 		this.message = message;
+		this.seq = seq;
 	}
 
 	public void addChatImage(ChatImage chatImage) {
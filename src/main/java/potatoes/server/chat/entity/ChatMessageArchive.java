@@ -0,0 +1,48 @@
+package potatoes.server.chat.entity;
+
+import static lombok.AccessLevel.*;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 보관 기간이 지났거나 종료된 여행의 채팅 메시지 - ChatMessageArchiver 가 chat_message 에서 옮겨 담는다
+// 연관관계 없이 id 만 보관하고 이미지 URL 은 줄바꿈으로 이어서 한 컬럼에 담는다
+@Getter
+@NoArgsConstructor(access = PROTECTED)
+@Entity
+@Table(indexes = @Index(name = "idx_chat_message_archive_chat_id_id", columnList = "chat_id, id"))
+public class ChatMessageArchive {
+
+	public static final String IMAGE_URL_DELIMITER = "\n";
+
+	@Id
+	private Long id;
+
+	@Column(name = "chat_id", nullable = false)
+	private Long chatId;
+
+	@Column(name = "seq")
+	private Long seq;
+
+	@Column(name = "sender_id")
+	private Long senderId;
+
+	@Column(nullable = false)
+	private String message;
+
+	@Column(name = "image_urls", length = 4000)
+	private String imageUrls;
+
+	@Column(name = "created_at")
+	private Instant createdAt;
+
+	@Column(name = "archived_at", nullable = false)
+	private Instant archivedAt;
+}
@@ -1,11 +1,9 @@
 package potatoes.server.chat.entity;
 
 import static jakarta.persistence.FetchType.*;
-import static jakarta.persistence.GenerationType.*;
 import static lombok.AccessLevel.*;
 
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -13,6 +11,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import potatoes.server.user.entity.User;
+import potatoes.server.utils.id.TimeOrderedId;
 
 @Getter
 @NoArgsConstructor(access = PROTECTED)
@@ -20,7 +19,7 @@ import potatoes.server.user.entity.User;
 public class ChatMessageUser {
 
 	@Id
-	@GeneratedValue(strategy = IDENTITY)
+	@TimeOrderedId
 	private Long id;
 
 	@ManyToOne(fetch = LAZY)
@@ -4,6 +4,7 @@ import static jakarta.persistence.FetchType.*;
 import static jakarta.persistence.GenerationType.*;
 import static lombok.AccessLevel.*;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
@@ -31,9 +32,13 @@ public class ChatUser {
 	@JoinColumn(name = "user_id")
 	private User user;
 
+	@Column(name = "last_read_message_id", nullable = false, columnDefinition = "bigint default 0")
+	private long lastReadMessageId;
+
 	@Builder
-	public ChatUser(Chat chat, User user) {
+	public ChatUser(Chat chat, User user, long lastReadMessageId) {
 		this.chat = chat;
 		this.user = user;
+		this.lastReadMessageId = lastReadMessageId;
 	}
 }
@@ -0,0 +1,24 @@
+package potatoes.server.chat.model;
+
+import static potatoes.server.chat.entity.ChatMessageArchive.*;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ChatArchivedMessage(
+	Long chatMessageId,
+	Long seq,
+	String message,
+	String senderNickname,
+	String senderProfileImage,
+	String imageUrls,
+	Instant createdAt
+) {
+	public ChatHistoryMessage toHistoryMessage() {
+		return new ChatHistoryMessage(chatMessageId, seq, message, senderNickname, senderProfileImage, createdAt);
+	}
+
+	public List<String> images() {
+		return imageUrls == null || imageUrls.isEmpty() ? List.of() : List.of(imageUrls.split(IMAGE_URL_DELIMITER));
+	}
+}
@@ -0,0 +1,13 @@
+package potatoes.server.chat.model;
+
+import java.time.Instant;
+
+public record ChatHistoryMessage(
+	Long chatMessageId,
+	Long seq,
+	String message,
+	String senderNickname,
+	String senderProfileImage,
+	Instant createdAt
+) {
+}
@@ -0,0 +1,9 @@
+package potatoes.server.chat.model;
+
+import java.time.Instant;
+
+public record ChatLatestMessage(
+	Long chatId,
+	Instant createdAt
+) {
+}
@@ -0,0 +1,7 @@
+package potatoes.server.chat.model;
+
+public record ChatMessageCount(
+	Long chatId,
+	long count
+) {
+}
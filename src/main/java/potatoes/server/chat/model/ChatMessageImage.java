@@ -0,0 +1,7 @@
+package potatoes.server.chat.model;
+
+public record ChatMessageImage(
+	Long chatMessageId,
+	String imageUrl
+) {
+}
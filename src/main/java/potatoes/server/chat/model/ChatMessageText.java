@@ -0,0 +1,10 @@
+package potatoes.server.chat.model;
+
+import java.time.Instant;
+
+public record ChatMessageText(
+	Long chatMessageId,
+	String message,
+	Instant createdAt
+) {
+}
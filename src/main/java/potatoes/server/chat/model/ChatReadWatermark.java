@@ -0,0 +1,7 @@
+package potatoes.server.chat.model;
+
+public record ChatReadWatermark(
+	Long userId,
+	long lastReadMessageId
+) {
+}
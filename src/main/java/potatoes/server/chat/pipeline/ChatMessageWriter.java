@@ -0,0 +1,291 @@
+package potatoes.server.chat.pipeline;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.dto.ChatMessageAck;
+import potatoes.server.chat.entity.ChatImage;
+import potatoes.server.utils.constant.ChatSendMode;
+
+// 브로드캐스트가 끝난 메시지를 버퍼에 쌓아두고 전용 스레드가 multi-row INSERT 로 모아서 기록
+@Slf4j
+@Component
+public class ChatMessageWriter {
+
+	private static final String INSERT_MESSAGES =
+		"INSERT INTO chat_message (id, chat_id, seq, sender_id, message, created_at, updated_at) VALUES ";
+	private static final String MESSAGE_VALUES = "(?, ?, ?, ?, ?, ?, ?)";
+	private static final String LINK_IMAGE = "UPDATE chat_image SET chat_message_id = ? "
+		+ "WHERE image_url_hash = ? AND image_url = ? AND chat_message_id IS NULL";
+	private static final String ADVANCE_LAST_READ =
+		"UPDATE chat_user SET last_read_message_id = ? WHERE chat_id = ? AND user_id = ? AND last_read_message_id < ?";
+	// 종료 신호 - writer 스레드는 이 앞의 메시지까지 모두 기록하고 끝난다
+	private static final PendingChatMessage SHUTDOWN =
+		new PendingChatMessage(-1L, null, -1L, null, null, null, List.of(), Instant.EPOCH);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final SimpMessagingTemplate messagingTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final BlockingQueue<PendingChatMessage> buffer;
+	// 아직 기록되지 않은 메시지 id -> chatId, 기록 전에 도착한 읽음 처리 확인용
+	private final Map<Long, Long> unflushed = new ConcurrentHashMap<>();
+	private final int flushSize;
+	private final long flushIntervalMillis;
+	private final int maxRetries;
+	private final boolean enabled;
+	private final Thread writerThread;
+	private volatile boolean running = true;
+
+	public ChatMessageWriter(
+		JdbcTemplate jdbcTemplate,
+		TransactionTemplate transactionTemplate,
+		SimpMessagingTemplate messagingTemplate,
+		ApplicationEventPublisher eventPublisher,
+		@Value("${chat.write-behind.buffer-capacity:65536}") int bufferCapacity,
+		@Value("${chat.write-behind.flush-size:500}") int flushSize,
+		@Value("${chat.write-behind.flush-interval-ms:20}") long flushIntervalMillis,
+		@Value("${chat.write-behind.max-retries:3}") int maxRetries,
+		@Value("${chat.send.mode:SYNC}") ChatSendMode sendMode
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.messagingTemplate = messagingTemplate;
+		this.eventPublisher = eventPublisher;
+		this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+		this.flushSize = flushSize;
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.maxRetries = maxRetries;
+		this.enabled = sendMode == ChatSendMode.WRITE_BEHIND;
+		this.writerThread = new Thread(this::drainLoop, "chat-message-writer");
+		this.writerThread.setDaemon(true);
+	}
+
+	// chat.send.mode=SYNC 에서는 쓰이지 않으므로 writer 스레드를 띄우지 않는다
+	@PostConstruct
+	void start() {
+		if (enabled) {
+			writerThread.start();
+		}
+	}
+
+	// 인터럽트는 재시도 대기 중인 기록까지 끊으므로 쓰지 않고, 버퍼 끝에 종료 신호를 넣어 남은 메시지를 기록하게 한다
+	@PreDestroy
+	void stop() throws InterruptedException {
+		running = false;
+		if (!enabled) {
+			return;
+		}
+		if (!buffer.offer(SHUTDOWN, 10, TimeUnit.SECONDS)) {
+			log.warn("채팅 메시지 writer 종료 신호 전달 실패: 남은 {}건", buffer.size());
+		}
+		writerThread.join(TimeUnit.SECONDS.toMillis(10));
+	}
+
+	public void write(PendingChatMessage message) {
+		// 종료가 시작된 뒤에는 writer 스레드가 끝났을 수 있으므로 직접 기록
+		if (!enabled || !running) {
+			flush(List.of(message));
+			return;
+		}
+		unflushed.put(message.id(), message.chatId());
+		if (!buffer.offer(message)) {
+			// 버퍼가 가득 차면 호출한 스레드에서 직접 기록해 유실 대신 역압을 건다
+			log.warn("채팅 메시지 버퍼 포화, 동기 기록으로 전환: chatId={}", message.chatId());
+			flush(List.of(message));
+		}
+	}
+
+	public int pendingCount() {
+		return buffer.size();
+	}
+
+	public boolean isPending(Long chatId, long messageId) {
+		return chatId.equals(unflushed.get(messageId));
+	}
+
+	private void drainLoop() {
+		List<PendingChatMessage> batch = new ArrayList<>(flushSize);
+		boolean stopping = false;
+		while (!stopping) {
+			try {
+				stopping = collect(batch);
+			} catch (InterruptedException e) {
+				// 종료는 SHUTDOWN 으로만 알리므로 모은 메시지를 기록하고 계속 돈다
+			}
+			if (!batch.isEmpty()) {
+				flush(batch);
+				batch.clear();
+			}
+		}
+
+		// 종료 신호와 경합해 그 뒤에 들어간 메시지
+		while (buffer.drainTo(batch, flushSize) > 0) {
+			flush(batch);
+			batch.clear();
+		}
+	}
+
+	// SHUTDOWN 을 만나면 true - 그 앞까지 모은 메시지는 batch 에 남긴다
+	private boolean collect(List<PendingChatMessage> batch) throws InterruptedException {
+		PendingChatMessage first = buffer.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+		if (first == null) {
+			return false;
+		}
+		if (first == SHUTDOWN) {
+			return true;
+		}
+		batch.add(first);
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+		while (batch.size() < flushSize) {
+			if (buffer.drainTo(batch, flushSize - batch.size()) > 0) {
+				if (batch.removeIf(message -> message == SHUTDOWN)) {
+					return true;
+				}
+				continue;
+			}
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return false;
+			}
+			PendingChatMessage next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				return false;
+			}
+			if (next == SHUTDOWN) {
+				return true;
+			}
+			batch.add(next);
+		}
+		return false;
+	}
+
+	private void flush(List<PendingChatMessage> batch) {
+		if (writeWithRetry(batch)) {
+			persisted(List.copyOf(batch));
+			return;
+		}
+
+		// 배치 전체가 실패하면 원인 메시지를 격리하기 위해 한 건씩 다시 기록
+		for (PendingChatMessage message : batch) {
+			if (writeWithRetry(List.of(message))) {
+				persisted(List.of(message));
+			} else {
+				unflushed.remove(message.id());
+				acknowledge(message, false);
+			}
+		}
+	}
+
+	// 대기 중 인터럽트가 와도 기록은 끝까지 시도하고 인터럽트 상태만 되돌려 놓는다
+	private boolean writeWithRetry(List<PendingChatMessage> batch) {
+		boolean interrupted = false;
+		try {
+			for (int attempt = 1; attempt <= maxRetries; attempt++) {
+				try {
+					transactionTemplate.executeWithoutResult(status -> insert(batch));
+					return true;
+				} catch (DataAccessException e) {
+					log.warn("채팅 메시지 기록 실패 ({}/{}): {}건, {}", attempt, maxRetries, batch.size(), e.getMessage());
+					interrupted |= backoff(attempt * 50L);
+				}
+			}
+			log.error("채팅 메시지 기록 최종 실패: {}건", batch.size());
+			return false;
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	// 인터럽트되면 남은 시간만큼 마저 기다리고 true
+	private boolean backoff(long millis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+		boolean interrupted = false;
+		long remaining;
+		while ((remaining = deadline - System.nanoTime()) > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(remaining);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		return interrupted;
+	}
+
+	private void insert(List<PendingChatMessage> batch) {
+		StringBuilder sql = new StringBuilder(INSERT_MESSAGES);
+		List<Object> args = new ArrayList<>(batch.size() * 7);
+		List<Object[]> imageLinks = new ArrayList<>();
+		List<Object[]> lastReads = new ArrayList<>(batch.size());
+		for (int i = 0; i < batch.size(); i++) {
+			PendingChatMessage message = batch.get(i);
+			Timestamp createdAt = Timestamp.from(message.createdAt());
+			sql.append(i == 0 ? MESSAGE_VALUES : ", " + MESSAGE_VALUES);
+			args.add(message.id());
+			args.add(message.chatId());
+			args.add(message.seq());
+			args.add(message.senderId());
+			args.add(message.message());
+			args.add(createdAt);
+			args.add(createdAt);
+
+			message.imageUrls().forEach(imageUrl -> imageLinks.add(
+				new Object[] {message.id(), ChatImage.hashOf(imageUrl), imageUrl}));
+			lastReads.add(new Object[] {message.id(), message.chatId(), message.senderId(), message.id()});
+		}
+
+		jdbcTemplate.update(sql.toString(), args.toArray());
+		if (!imageLinks.isEmpty()) {
+			jdbcTemplate.batchUpdate(LINK_IMAGE, imageLinks);
+		}
+		jdbcTemplate.batchUpdate(ADVANCE_LAST_READ, lastReads);
+	}
+
+	private void persisted(List<PendingChatMessage> messages) {
+		messages.forEach(message -> {
+			unflushed.remove(message.id());
+			acknowledge(message, true);
+		});
+		try {
+			eventPublisher.publishEvent(new ChatMessagesPersistedEvent(messages));
+		} catch (RuntimeException e) {
+			// 후속 처리 실패로 writer 스레드가 멈추지 않도록 기록만 남긴다
+			log.error("채팅 메시지 기록 후속 처리 실패: {}건, {}", messages.size(), e.getMessage(), e);
+		}
+	}
+
+	// 보낸 세션에만 기록 결과를 전달 - 클라이언트는 /user/sub/chat/ack 구독
+	private void acknowledge(PendingChatMessage message, boolean persisted) {
+		if (message.sessionId() == null) {
+			return;
+		}
+		SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		headerAccessor.setSessionId(message.sessionId());
+		headerAccessor.setLeaveMutable(true);
+		messagingTemplate.convertAndSendToUser(message.sessionId(), "/sub/chat/ack",
+			new ChatMessageAck(message.chatId(), message.id(), persisted), headerAccessor.getMessageHeaders());
+	}
+}
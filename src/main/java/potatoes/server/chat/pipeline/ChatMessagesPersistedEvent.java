@@ -0,0 +1,8 @@
+package potatoes.server.chat.pipeline;
+
+import java.util.List;
+
+public record ChatMessagesPersistedEvent(
+	List<PendingChatMessage> messages
+) {
+}
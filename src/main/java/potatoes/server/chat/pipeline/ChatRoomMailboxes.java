@@ -0,0 +1,229 @@
+package potatoes.server.chat.pipeline;
+
+import static potatoes.server.utils.error.ErrorCode.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import potatoes.server.utils.error.exception.WeGoException;
+
+// 채팅방별 단일 실행 mailbox - 같은 방의 변경 작업(send/join/leave/read)은 도착 순서대로 하나씩, 다른 방끼리는 가상 스레드에서 병렬 실행
+// 호출한 스레드는 작업이 끝날 때까지 기다리고 결과와 예외를 그대로 돌려받는다, 트랜잭션도 mailbox 스레드에서 열리고 닫힌다
+// chat.mailbox.timeout 안에 시작하지 못한 작업은 실행하지 않고 CHAT_MAILBOX_TIMEOUT, 이미 시작한 작업은 끝까지 기다린다
+// chat.mailbox.enabled=false 면 호출한 스레드에서 바로 실행, chat.broker.mode=REDIS 에서는 노드 안에서만 직렬화된다
+// 방별 캐시(ChatSequences, ChatReadWatermarks, ChatRecentMessages)는 mailbox 밖에서도 쓰이므로 각자 방 단위로 동기화한다
+@Component
+public class ChatRoomMailboxes {
+
+	// 작업 안에서 같은 방 작업을 다시 요청하면 자기 자신을 기다리지 않도록 바로 실행
+	// 다른 방 작업은 두 방이 서로를 기다리다 시간 초과로 끝날 수 있으므로 거부
+	private static final ThreadLocal<Long> CURRENT_ROOM = new ThreadLocal<>();
+	private static final int CLOSED = -1;
+
+	// 비어 있는 mailbox 는 pending 을 0 -> CLOSED 로 CAS 한 쪽만 맵에서 지운다, 닫힌 mailbox 를 만난 호출은 새로 만든다
+	private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+	private final ExecutorService executor;
+	private final boolean enabled;
+	private final int throughput;
+	private final long timeoutNanos;
+	private final Timer queueWait;
+	private final Counter timeouts;
+
+	public ChatRoomMailboxes(
+		MeterRegistry meterRegistry,
+		@Value("${chat.mailbox.enabled:true}") boolean enabled,
+		@Value("${chat.mailbox.throughput:64}") int throughput,
+		@Value("${chat.mailbox.timeout:10s}") Duration timeout
+	) {
+		this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("chat-room-", 0).factory());
+		this.enabled = enabled;
+		this.throughput = Math.max(1, throughput);
+		this.timeoutNanos = timeout.toNanos();
+		this.queueWait = meterRegistry.timer("chat.mailbox.queue-wait");
+		this.timeouts = meterRegistry.counter("chat.mailbox.timeouts");
+		Gauge.builder("chat.mailbox.rooms", mailboxes, Map::size).register(meterRegistry);
+		Gauge.builder("chat.mailbox.pending", mailboxes,
+			rooms -> rooms.values().stream().mapToInt(mailbox -> mailbox.tasks.size()).sum()).register(meterRegistry);
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	public void run(Long chatId, Runnable task) {
+		call(chatId, () -> {
+			task.run();
+			return null;
+		});
+	}
+
+	public <T> T call(Long chatId, Supplier<T> task) {
+		Long currentRoom = CURRENT_ROOM.get();
+		if (!enabled || chatId.equals(currentRoom)) {
+			return task.get();
+		}
+		if (currentRoom != null) {
+			throw new IllegalStateException(
+				"채팅방 작업 안에서 다른 채팅방 작업을 요청할 수 없습니다: current=" + currentRoom + ", requested=" + chatId);
+		}
+
+		Envelope<T> envelope = new Envelope<>(task);
+		while (true) {
+			Mailbox mailbox = mailboxes.computeIfAbsent(chatId, Mailbox::new);
+			if (mailbox.enqueue(envelope)) {
+				return envelope.await();
+			}
+			mailboxes.remove(chatId, mailbox);
+		}
+	}
+
+	int rooms() {
+		return mailboxes.size();
+	}
+
+	private class Mailbox implements Runnable {
+		private final Long chatId;
+		private final Queue<Envelope<?>> tasks = new ConcurrentLinkedQueue<>();
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		// 넣었지만 아직 꺼내지 않은 작업 수, CLOSED 면 맵에서 빠지는 중이라 더 받지 않는다
+		private final AtomicInteger pending = new AtomicInteger();
+
+		Mailbox(Long chatId) {
+			this.chatId = chatId;
+		}
+
+		boolean enqueue(Envelope<?> envelope) {
+			int count;
+			do {
+				count = pending.get();
+				if (count == CLOSED) {
+					return false;
+				}
+			} while (!pending.compareAndSet(count, count + 1));
+			tasks.add(envelope);
+			schedule();
+			return true;
+		}
+
+		private void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				executor.execute(this);
+			}
+		}
+
+		// 한 번에 throughput 개까지만 처리하고 남은 작업은 새 가상 스레드로 넘겨 다른 방이 밀리지 않게 한다
+		@Override
+		public void run() {
+			CURRENT_ROOM.set(chatId);
+			try {
+				for (int i = 0; i < throughput; i++) {
+					Envelope<?> envelope = tasks.poll();
+					if (envelope == null) {
+						break;
+					}
+					pending.decrementAndGet();
+					envelope.execute();
+				}
+			} finally {
+				CURRENT_ROOM.remove();
+				scheduled.set(false);
+				// scheduled 를 내리기 직전에 들어온 작업을 놓치지 않도록 다시 확인
+				if (!tasks.isEmpty()) {
+					schedule();
+				} else {
+					retireIfIdle();
+				}
+			}
+		}
+
+		// 다른 실행이 이어받지 않았고 넣는 중인 작업도 없을 때만 닫는다 - 닫은 뒤에는 scheduled 를 내리지 않는다
+		private void retireIfIdle() {
+			if (!scheduled.compareAndSet(false, true)) {
+				return;
+			}
+			if (pending.compareAndSet(0, CLOSED)) {
+				mailboxes.remove(chatId, this);
+				return;
+			}
+			scheduled.set(false);
+			if (!tasks.isEmpty()) {
+				schedule();
+			}
+		}
+	}
+
+	private class Envelope<T> {
+		private final Supplier<T> task;
+		private final CompletableFuture<T> result = new CompletableFuture<>();
+		// mailbox 스레드의 실행과 호출한 스레드의 시간 초과 중 먼저 가져간 쪽이 이긴다
+		private final AtomicBoolean claimed = new AtomicBoolean();
+		private final long enqueuedAt = System.nanoTime();
+
+		Envelope(Supplier<T> task) {
+			this.task = task;
+		}
+
+		void execute() {
+			if (!claimed.compareAndSet(false, true)) {
+				return;
+			}
+			queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+			try {
+				result.complete(task.get());
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		}
+
+		T await() {
+			try {
+				try {
+					return result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+				} catch (TimeoutException e) {
+					if (claimed.compareAndSet(false, true)) {
+						timeouts.increment();
+						throw new WeGoException(CHAT_MAILBOX_TIMEOUT);
+					}
+					return result.get();
+				}
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				if (e.getCause() instanceof Error error) {
+					throw error;
+				}
+				throw new IllegalStateException(e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				if (claimed.compareAndSet(false, true)) {
+					throw new WeGoException(CHAT_MAILBOX_TIMEOUT);
+				}
+				// 이미 실행중인 작업은 취소할 수 없으므로 끝날 때까지 기다린다
+				return result.join();
+			}
+		}
+	}
+}
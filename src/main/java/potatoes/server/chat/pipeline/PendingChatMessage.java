@@ -0,0 +1,16 @@
+package potatoes.server.chat.pipeline;
+
+import java.time.Instant;
+import java.util.List;
+
+public record PendingChatMessage(
+	long id,
+	Long chatId,
+	long seq,
+	Long senderId,
+	String sessionId,
+	String message,
+	List<String> imageUrls,
+	Instant createdAt
+) {
+}
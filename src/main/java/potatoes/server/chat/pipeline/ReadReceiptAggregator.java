@@ -0,0 +1,249 @@
+package potatoes.server.chat.pipeline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.cache.ChatReadWatermarks;
+import potatoes.server.chat.dto.MarkAsReadBatchSubscribe;
+import potatoes.server.chat.dto.MarkAsReadSubscribe;
+import potatoes.server.chat.repository.ChatMessageRepository;
+import potatoes.server.chat.stomp.ChatPresenceRegistry;
+
+// 채팅방별 읽음 이벤트를 window 동안 모아 한 번의 batch UPDATE 와 한 번의 읽음 프레임으로 처리
+// chat.read-receipt.window-ms=0 이면 모으지 않고 요청마다 바로 처리
+// 기록에 실패한 방은 다음 window 에 다시 모아 chat.read-receipt.max-retries 번까지 재시도
+@Slf4j
+@Component
+public class ReadReceiptAggregator {
+
+	private static final String ADVANCE_LAST_READ =
+		"UPDATE chat_user SET last_read_message_id = ? WHERE chat_id = ? AND user_id = ? AND last_read_message_id < ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final SimpMessagingTemplate messagingTemplate;
+	private final ChatMessageRepository chatMessageRepository;
+	private final ChatReadWatermarks readWatermarks;
+	private final ChatPresenceRegistry presenceRegistry;
+	private final long windowMillis;
+	private final int maxRetries;
+	private final int frameBatchSize;
+	private final Map<Long, RoomReceipts> pending = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService scheduler;
+	private final Counter received;
+	private final DistributionSummary coalesced;
+
+	public ReadReceiptAggregator(
+		JdbcTemplate jdbcTemplate,
+		TransactionTemplate transactionTemplate,
+		SimpMessagingTemplate messagingTemplate,
+		ChatMessageRepository chatMessageRepository,
+		ChatReadWatermarks readWatermarks,
+		ChatPresenceRegistry presenceRegistry,
+		MeterRegistry meterRegistry,
+		@Value("${chat.read-receipt.window-ms:100}") long windowMillis,
+		@Value("${chat.read-receipt.max-retries:3}") int maxRetries,
+		@Value("${chat.read-receipt.batch-size:1000}") int frameBatchSize
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.messagingTemplate = messagingTemplate;
+		this.chatMessageRepository = chatMessageRepository;
+		this.readWatermarks = readWatermarks;
+		this.presenceRegistry = presenceRegistry;
+		this.windowMillis = windowMillis;
+		this.maxRetries = maxRetries;
+		this.frameBatchSize = frameBatchSize;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "chat-read-receipt");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.received = meterRegistry.counter("chat.read-receipt.received");
+		// 프레임 하나가 대신한 읽음 이벤트 수 - 평균값이 coalescing 비율
+		this.coalesced = DistributionSummary.builder("chat.read-receipt.coalesced")
+			.baseUnit("receipts")
+			.register(meterRegistry);
+	}
+
+	@PostConstruct
+	void start() {
+		if (windowMillis > 0) {
+			scheduler.scheduleWithFixedDelay(this::flushSafely, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		scheduler.shutdown();
+		scheduler.awaitTermination(5, TimeUnit.SECONDS);
+		flushSafely();
+	}
+
+	public void submit(Long chatId, Long userId, long chatMessageId) {
+		received.increment();
+		if (windowMillis <= 0) {
+			RoomReceipts receipts = new RoomReceipts();
+			receipts.add(userId, chatMessageId);
+			apply(Map.of(chatId, receipts));
+			return;
+		}
+		enqueue(chatId, receipts -> receipts.add(userId, chatMessageId));
+	}
+
+	// flush 가 가져간 버퍼에는 더 이상 추가하지 않고 새 버퍼에 담는다
+	private void enqueue(Long chatId, Predicate<RoomReceipts> add) {
+		while (!add.test(pending.computeIfAbsent(chatId, id -> new RoomReceipts()))) {
+			Thread.onSpinWait();
+		}
+	}
+
+	private void flushSafely() {
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			log.error("읽음 처리 flush 실패: {}", e.getMessage(), e);
+		}
+	}
+
+	private void flush() {
+		if (pending.isEmpty()) {
+			return;
+		}
+		Map<Long, RoomReceipts> batch = new HashMap<>();
+		for (Long chatId : pending.keySet()) {
+			RoomReceipts receipts = pending.remove(chatId);
+			if (receipts != null) {
+				receipts.close();
+				batch.put(chatId, receipts);
+			}
+		}
+		apply(batch);
+	}
+
+	private void apply(Map<Long, RoomReceipts> batch) {
+		if (write(batch)) {
+			batch.forEach(this::broadcast);
+			return;
+		}
+
+		// 배치 전체가 실패하면 원인 방을 격리하기 위해 방별로 다시 기록
+		batch.forEach((chatId, receipts) -> {
+			if (write(Map.of(chatId, receipts))) {
+				broadcast(chatId, receipts);
+			} else {
+				retryLater(chatId, receipts);
+			}
+		});
+	}
+
+	private boolean write(Map<Long, RoomReceipts> batch) {
+		List<Object[]> updates = new ArrayList<>();
+		batch.forEach((chatId, receipts) -> receipts.lastReadByUser.forEach((userId, messageId) ->
+			updates.add(new Object[] {messageId, chatId, userId, messageId})));
+
+		try {
+			transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(ADVANCE_LAST_READ, updates));
+			return true;
+		} catch (DataAccessException e) {
+			log.warn("읽음 위치 기록 실패: {}건, {}", updates.size(), e.getMessage());
+			return false;
+		}
+	}
+
+	private void retryLater(Long chatId, RoomReceipts receipts) {
+		if (++receipts.attempts >= maxRetries) {
+			log.error("읽음 위치 기록 최종 실패: chatId={}, {}명", chatId, receipts.lastReadByUser.size());
+			return;
+		}
+		if (windowMillis <= 0) {
+			apply(Map.of(chatId, receipts));
+			return;
+		}
+		enqueue(chatId, current -> current.merge(receipts));
+	}
+
+	// 워터마크가 움직인 구간 전체의 안읽은 수가 바뀌므로 요청된 id 뿐 아니라 구간의 모든 메시지를 싣는다
+	private void broadcast(Long chatId, RoomReceipts receipts) {
+		long from = Long.MAX_VALUE;
+		long to = 0;
+		for (Map.Entry<Long, Long> lastRead : receipts.lastReadByUser.entrySet()) {
+			long previous = readWatermarks.lastReadOf(chatId, lastRead.getKey());
+			if (readWatermarks.advance(chatId, lastRead.getKey(), lastRead.getValue())) {
+				from = Math.min(from, previous);
+				to = Math.max(to, lastRead.getValue());
+			}
+		}
+		if (from >= to || !presenceRegistry.mayHaveOnlineMembers(chatId)) {
+			return;
+		}
+
+		// write-behind 버퍼에 있어 아직 조회되지 않는 메시지도 요청된 id 는 빠지지 않게 합친다
+		TreeSet<Long> messageIds = new TreeSet<>(chatMessageRepository.findIdsInRange(chatId, from, to));
+		messageIds.addAll(receipts.messageIds.subSet(from, false, to, true));
+		List<MarkAsReadSubscribe> frame = messageIds.stream()
+			.map(messageId -> new MarkAsReadSubscribe(messageId, readWatermarks.countUnread(chatId, messageId)))
+			.toList();
+		for (int index = 0; index < frame.size(); index += frameBatchSize) {
+			messagingTemplate.convertAndSend("/sub/chat/read/" + chatId, new MarkAsReadBatchSubscribe(chatId,
+				frame.subList(index, Math.min(index + frameBatchSize, frame.size()))));
+		}
+		coalesced.record(receipts.received);
+	}
+
+	// 유저별로는 가장 큰 메시지 id 만 남긴다
+	private static class RoomReceipts {
+		private final Map<Long, Long> lastReadByUser = new HashMap<>();
+		private final TreeSet<Long> messageIds = new TreeSet<>();
+		private int received;
+		private int attempts;
+		private boolean closed;
+
+		synchronized boolean add(Long userId, long chatMessageId) {
+			if (closed) {
+				return false;
+			}
+			lastReadByUser.merge(userId, chatMessageId, Math::max);
+			messageIds.add(chatMessageId);
+			received++;
+			return true;
+		}
+
+		// 기록에 실패한 버퍼를 다음 window 의 버퍼에 합친다 - 재시도 횟수는 이어간다
+		synchronized boolean merge(RoomReceipts failed) {
+			if (closed) {
+				return false;
+			}
+			failed.lastReadByUser.forEach((userId, messageId) -> lastReadByUser.merge(userId, messageId, Math::max));
+			messageIds.addAll(failed.messageIds);
+			received += failed.received;
+			attempts = Math.max(attempts, failed.attempts);
+			return true;
+		}
+
+		synchronized void close() {
+			closed = true;
+		}
+	}
+}
@@ -0,0 +1,249 @@
+package potatoes.server.chat.pipeline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.cache.ChatMembershipIndex;
+import potatoes.server.chat.dto.TypingSubscribe;
+import potatoes.server.chat.relay.BrokerRelay;
+import potatoes.server.chat.stomp.ChatPresenceRegistry;
+
+// 입력중 표시 - 저장하지 않고 메모리에서 채팅방별 입력중인 userId 를 모아 interval 마다 바뀐 방만 한 번씩 브로드캐스트
+// 입력 종료를 보내지 못한 클라이언트는 chat.typing.ttl-ms 가 지나면 목록에서 빠진다
+// chat.broker.mode=REDIS 에서는 각 노드가 자기 노드의 입력중 목록을 BrokerRelay 로 알리고, 받은 노드는 노드별 목록을 합쳐 자기 구독자에게 보낸다
+// 입력중 프레임 자체는 relay 하지 않는다 - 노드마다 일부만 담긴 프레임이 번갈아 도착해 표시가 깜빡인다
+// 노드별 목록은 ttl 안에 다시 오지 않으면 버리므로 입력중인 사용자가 있는 동안은 ttl 의 절반마다 다시 알린다
+@Slf4j
+@Component
+public class TypingIndicatorAggregator {
+
+	private final SimpMessagingTemplate messagingTemplate;
+	private final ChatMembershipIndex membershipIndex;
+	private final ChatPresenceRegistry presenceRegistry;
+	private final ObjectProvider<BrokerRelay> brokerRelay;
+	private final long ttlNanos;
+	private final long intervalMillis;
+	private final Map<Long, RoomTyping> rooms = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService scheduler;
+	private final Counter received;
+	private final Counter broadcasts;
+	private final DistributionSummary coalesced;
+
+	public TypingIndicatorAggregator(
+		SimpMessagingTemplate messagingTemplate,
+		ChatMembershipIndex membershipIndex,
+		ChatPresenceRegistry presenceRegistry,
+		ObjectProvider<BrokerRelay> brokerRelay,
+		MeterRegistry meterRegistry,
+		@Value("${chat.typing.interval-ms:300}") long intervalMillis,
+		@Value("${chat.typing.ttl-ms:5000}") long ttlMillis
+	) {
+		this.messagingTemplate = messagingTemplate;
+		this.membershipIndex = membershipIndex;
+		this.presenceRegistry = presenceRegistry;
+		this.brokerRelay = brokerRelay;
+		this.intervalMillis = Math.max(1, intervalMillis);
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "chat-typing");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.received = meterRegistry.counter("chat.typing.received");
+		this.broadcasts = meterRegistry.counter("chat.typing.broadcasts");
+		// 프레임 하나가 대신한 입력중 이벤트 수 - 평균값이 coalescing 비율
+		this.coalesced = DistributionSummary.builder("chat.typing.coalesced")
+			.baseUnit("events")
+			.register(meterRegistry);
+		Gauge.builder("chat.typing.rooms", rooms, Map::size).register(meterRegistry);
+	}
+
+	@PostConstruct
+	void start() {
+		scheduler.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	void stop() {
+		scheduler.shutdownNow();
+	}
+
+	public void submit(Long chatId, Long userId, boolean typing) {
+		membershipIndex.verifyMember(chatId, userId);
+		received.increment();
+		if (typing) {
+			long expiresAt = System.nanoTime() + ttlNanos;
+			rooms.compute(chatId, (id, room) -> {
+				RoomTyping typingRoom = room == null ? new RoomTyping() : room;
+				typingRoom.start(userId, expiresAt);
+				return typingRoom;
+			});
+			return;
+		}
+		// 입력중이 아닌 사용자의 종료 요청은 방을 새로 만들지 않는다
+		rooms.computeIfPresent(chatId, (id, room) -> {
+			room.stop(userId);
+			return room;
+		});
+	}
+
+	// 다른 노드의 입력중 목록 - 빈 목록이면 그 노드에서 입력중인 사용자가 없다
+	public void remoteTyping(String nodeId, Long chatId, List<Long> userIds) {
+		long expiresAt = System.nanoTime() + ttlNanos;
+		if (userIds.isEmpty()) {
+			rooms.computeIfPresent(chatId, (id, room) -> {
+				room.remote(nodeId, userIds, expiresAt);
+				return room;
+			});
+			return;
+		}
+		rooms.compute(chatId, (id, room) -> {
+			RoomTyping typingRoom = room == null ? new RoomTyping() : room;
+			typingRoom.remote(nodeId, userIds, expiresAt);
+			return typingRoom;
+		});
+	}
+
+	private void flushSafely() {
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			log.error("입력중 표시 flush 실패: {}", e.getMessage(), e);
+		}
+	}
+
+	private void flush() {
+		long now = System.nanoTime();
+		BrokerRelay relay = brokerRelay.getIfAvailable();
+		Map<Long, TypingSubscribe> frames = new HashMap<>();
+		Map<Long, List<Long>> published = new HashMap<>();
+		Map<Long, Integer> events = new HashMap<>();
+		for (Long chatId : rooms.keySet()) {
+			// submit 과 같은 compute 안에서 확인하므로 비어 있는 방을 지우는 사이에 들어온 요청을 잃지 않는다
+			rooms.computeIfPresent(chatId, (id, room) -> {
+				room.expire(now);
+				if (relay != null) {
+					List<Long> localUserIds = room.drainLocal(now, ttlNanos / 2);
+					if (localUserIds != null) {
+						published.put(chatId, localUserIds);
+					}
+				}
+				List<Long> typingUserIds = room.drainChanges();
+				if (typingUserIds != null) {
+					frames.put(chatId, new TypingSubscribe(chatId, typingUserIds));
+					events.put(chatId, room.takeReceived());
+				}
+				return room.isEmpty() ? null : room;
+			});
+		}
+
+		published.forEach((chatId, userIds) -> relay.publishTyping(chatId, userIds));
+		frames.forEach((chatId, frame) -> {
+			if (!presenceRegistry.mayHaveOnlineMembers(chatId)) {
+				return;
+			}
+			messagingTemplate.convertAndSend("/sub/chat/" + chatId + "/typing", frame);
+			broadcasts.increment();
+			coalesced.record(events.get(chatId));
+		});
+	}
+
+	// 방 안의 userId -> 만료 시각과 다른 노드의 목록 - rooms 의 compute 안에서만 접근
+	// changed 는 합친 목록이, localChanged 는 이 노드의 목록이 바뀐 경우에 세운다
+	private static class RoomTyping {
+		private final Map<Long, Long> expiresAtByUser = new HashMap<>();
+		private final Map<String, RemoteTyping> remoteByNode = new HashMap<>();
+		private boolean changed;
+		private boolean localChanged;
+		private long publishedAt;
+		private int received;
+
+		void start(Long userId, long expiresAt) {
+			if (expiresAtByUser.put(userId, expiresAt) == null) {
+				changed = true;
+				localChanged = true;
+			}
+			received++;
+		}
+
+		void stop(Long userId) {
+			if (expiresAtByUser.remove(userId) != null) {
+				changed = true;
+				localChanged = true;
+			}
+			received++;
+		}
+
+		void remote(String nodeId, List<Long> userIds, long expiresAt) {
+			RemoteTyping previous = userIds.isEmpty() ? remoteByNode.remove(nodeId) :
+				remoteByNode.put(nodeId, new RemoteTyping(List.copyOf(userIds), expiresAt));
+			if (previous == null ? !userIds.isEmpty() : !previous.userIds().equals(userIds)) {
+				changed = true;
+			}
+		}
+
+		void expire(long now) {
+			if (expiresAtByUser.values().removeIf(expiresAt -> expiresAt - now <= 0)) {
+				changed = true;
+				localChanged = true;
+			}
+			if (remoteByNode.values().removeIf(remote -> remote.expiresAt() - now <= 0)) {
+				changed = true;
+			}
+		}
+
+		// 다른 노드에 알릴 이 노드의 목록 - 바뀌었거나 입력중인 사용자가 있고 republish 가 지났으면 돌려준다
+		List<Long> drainLocal(long now, long republishNanos) {
+			boolean republish = !expiresAtByUser.isEmpty() && now - publishedAt >= republishNanos;
+			if (!localChanged && !republish) {
+				return null;
+			}
+			localChanged = false;
+			publishedAt = now;
+			return new ArrayList<>(expiresAtByUser.keySet());
+		}
+
+		// 합친 목록이 바뀌었으면 현재 입력중인 userId 를, 그대로면 null 을 돌려준다
+		List<Long> drainChanges() {
+			if (!changed) {
+				return null;
+			}
+			changed = false;
+			LinkedHashSet<Long> userIds = new LinkedHashSet<>(expiresAtByUser.keySet());
+			remoteByNode.values().forEach(remote -> userIds.addAll(remote.userIds()));
+			return new ArrayList<>(userIds);
+		}
+
+		int takeReceived() {
+			int count = received;
+			received = 0;
+			return count;
+		}
+
+		boolean isEmpty() {
+			return expiresAtByUser.isEmpty() && remoteByNode.isEmpty() && !changed && !localChanged;
+		}
+	}
+
+	private record RemoteTyping(List<Long> userIds, long expiresAt) {
+	}
+}
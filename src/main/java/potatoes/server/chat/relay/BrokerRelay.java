@@ -0,0 +1,143 @@
+package potatoes.server.chat.relay;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.cache.ChatMembershipIndex;
+import potatoes.server.chat.pipeline.TypingIndicatorAggregator;
+import potatoes.server.chat.stomp.ChatSubscriptionRegistry;
+
+// brokerChannel 인터셉터 - 로컬 브로커로 가는 프레임을 다른 노드에도 전달하고, 받은 프레임은 로컬 구독자에게만 전달
+// /relay/ 로 시작하는 envelope 은 구독자에게 보내지 않는 노드 간 제어 메시지
+@Slf4j
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "REDIS")
+@Component
+public class BrokerRelay implements ChannelInterceptor {
+
+	static final String RELAYED_FROM = "wegoRelayedFrom";
+	private static final List<String> RELAY_PREFIXES = List.of("/sub/chat/", "/sub/alarm/");
+	private static final String MEMBERSHIP_CHANGED = "/relay/membership/";
+	private static final String TYPING = "/relay/typing/";
+
+	private final RelayTransport transport;
+	private final SimpMessagingTemplate messagingTemplate;
+	private final ChatMembershipIndex membershipIndex;
+	private final TypingIndicatorAggregator typingIndicator;
+	private final String nodeId = UUID.randomUUID().toString();
+
+	public BrokerRelay(RelayTransport transport, @Lazy SimpMessagingTemplate messagingTemplate,
+		ChatMembershipIndex membershipIndex, TypingIndicatorAggregator typingIndicator) {
+		this.transport = transport;
+		this.messagingTemplate = messagingTemplate;
+		this.membershipIndex = membershipIndex;
+		this.typingIndicator = typingIndicator;
+	}
+
+	@PostConstruct
+	void subscribe() {
+		transport.subscribe(this::deliver);
+	}
+
+	@Override
+	public Message<?> preSend(Message<?> message, MessageChannel channel) {
+		MessageHeaders headers = message.getHeaders();
+		String destination = SimpMessageHeaderAccessor.getDestination(headers);
+		if (!isRelayable(headers, destination)) {
+			return message;
+		}
+
+		if (message.getPayload() instanceof byte[] payload) {
+			Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+			try {
+				transport.publish(new RelayEnvelope(nodeId, destination,
+					contentType == null ? null : contentType.toString(), payload).encode());
+			} catch (RuntimeException e) {
+				// 다른 노드 전달이 실패해도 로컬 구독자 전달은 계속한다
+				log.error("브로커 relay 발행 실패: destination={}, {}", destination, e.getMessage());
+			}
+		}
+		return message;
+	}
+
+	// 다른 노드가 이 방의 참여자 목록을 다시 적재하도록 알린다
+	public void publishMembershipChanged(Long chatId) {
+		try {
+			transport.publish(new RelayEnvelope(nodeId, MEMBERSHIP_CHANGED + chatId, null, new byte[0]).encode());
+		} catch (RuntimeException e) {
+			// 알림이 실패해도 chat.membership.cluster-ttl 이 지나면 다시 적재된다
+			log.error("참여자 변경 relay 발행 실패: chatId={}, {}", chatId, e.getMessage());
+		}
+	}
+
+	// 이 노드의 입력중 목록 - 받은 노드가 노드별로 합쳐서 자기 구독자에게 보낸다
+	public void publishTyping(Long chatId, List<Long> userIds) {
+		byte[] payload = userIds.stream().map(String::valueOf).collect(Collectors.joining(","))
+			.getBytes(StandardCharsets.UTF_8);
+		try {
+			transport.publish(new RelayEnvelope(nodeId, TYPING + chatId, null, payload).encode());
+		} catch (RuntimeException e) {
+			// 알림이 실패해도 입력중인 동안은 다시 발행되고, 아니면 chat.typing.ttl-ms 가 지나 빠진다
+			log.error("입력중 relay 발행 실패: chatId={}, {}", chatId, e.getMessage());
+		}
+	}
+
+	// 직렬화된 payload 를 그대로 로컬 브로커에 넣어 구독자 수와 관계없이 변환 없이 전달
+	void deliver(byte[] encoded) {
+		RelayEnvelope envelope = RelayEnvelope.decode(encoded);
+		if (nodeId.equals(envelope.nodeId())) {
+			return;
+		}
+		if (envelope.destination().startsWith(MEMBERSHIP_CHANGED)) {
+			membershipIndex.evict(Long.valueOf(envelope.destination().substring(MEMBERSHIP_CHANGED.length())));
+			return;
+		}
+		if (envelope.destination().startsWith(TYPING)) {
+			String userIds = new String(envelope.payload(), StandardCharsets.UTF_8);
+			typingIndicator.remoteTyping(envelope.nodeId(),
+				Long.valueOf(envelope.destination().substring(TYPING.length())),
+				userIds.isEmpty() ? List.of() : Arrays.stream(userIds.split(",")).map(Long::valueOf).toList());
+			return;
+		}
+
+		SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		headerAccessor.setDestination(envelope.destination());
+		if (envelope.contentType() != null) {
+			headerAccessor.setContentType(MimeType.valueOf(envelope.contentType()));
+		}
+		headerAccessor.setHeader(RELAYED_FROM, envelope.nodeId());
+		headerAccessor.setLeaveMutable(true);
+		messagingTemplate.send(envelope.destination(),
+			MessageBuilder.createMessage(envelope.payload(), headerAccessor.getMessageHeaders()));
+	}
+
+	// 다른 노드에서 온 프레임, 세션 지정(/user, 이어받기) 프레임은 다시 전달하지 않는다
+	// 입력중 프레임은 노드마다 합친 목록을 따로 만들므로 전달하지 않는다
+	private boolean isRelayable(MessageHeaders headers, String destination) {
+		if (destination == null || SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) {
+			return false;
+		}
+		if (headers.containsKey(RELAYED_FROM) || headers.containsKey(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION)
+			|| headers.containsKey(ChatSubscriptionRegistry.TARGET_SUBSCRIPTION)) {
+			return false;
+		}
+		return RELAY_PREFIXES.stream().anyMatch(destination::startsWith) && !destination.endsWith("/typing");
+	}
+}
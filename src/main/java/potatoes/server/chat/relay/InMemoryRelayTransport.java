@@ -0,0 +1,52 @@
+package potatoes.server.chat.relay;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+// chat.broker.relay-transport=MEMORY - 같은 JVM 안의 여러 애플리케이션 컨텍스트(노드)를 Redis 없이 연결
+// 채널 이름이 같은 노드끼리 프레임을 주고받고, 발행한 스레드에서 구독자에게 바로 전달한다
+@ConditionalOnExpression("'${chat.broker.mode:LOCAL}' == 'REDIS' and '${chat.broker.relay-transport:REDIS}' == 'MEMORY'")
+@Component
+public class InMemoryRelayTransport implements RelayTransport {
+
+	private static final Map<String, List<Consumer<byte[]>>> CHANNELS = new ConcurrentHashMap<>();
+
+	private final String channel;
+	private final List<Consumer<byte[]>> listeners = new CopyOnWriteArrayList<>();
+
+	public InMemoryRelayTransport(@Value("${chat.broker.redis-channel:wego:stomp}") String channel) {
+		this.channel = channel;
+	}
+
+	// 종료된 노드에는 더 이상 전달하지 않는다
+	@PreDestroy
+	void stop() {
+		List<Consumer<byte[]>> subscribers = CHANNELS.get(channel);
+		if (subscribers != null) {
+			subscribers.removeAll(listeners);
+		}
+	}
+
+	@Override
+	public void publish(byte[] envelope) {
+		List<Consumer<byte[]>> subscribers = CHANNELS.get(channel);
+		if (subscribers != null) {
+			subscribers.forEach(listener -> listener.accept(envelope));
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<byte[]> listener) {
+		listeners.add(listener);
+		CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>()).add(listener);
+	}
+}
@@ -0,0 +1,60 @@
+package potatoes.server.chat.relay;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@ConditionalOnExpression("'${chat.broker.mode:LOCAL}' == 'REDIS' and '${chat.broker.relay-transport:REDIS}' == 'REDIS'")
+@Component
+public class RedisRelayTransport implements RelayTransport {
+
+	private final RedisTemplate<String, String> redisTemplate;
+	private final RedisMessageListenerContainer listenerContainer;
+	private final String channel;
+	private final byte[] channelBytes;
+
+	public RedisRelayTransport(
+		RedisTemplate<String, String> redisTemplate,
+		RedisConnectionFactory redisConnectionFactory,
+		@Value("${chat.broker.redis-channel:wego:stomp}") String channel
+	) {
+		this.redisTemplate = redisTemplate;
+		this.channel = channel;
+		this.channelBytes = channel.getBytes(StandardCharsets.UTF_8);
+		this.listenerContainer = new RedisMessageListenerContainer();
+		this.listenerContainer.setConnectionFactory(redisConnectionFactory);
+	}
+
+	@PostConstruct
+	void start() {
+		listenerContainer.afterPropertiesSet();
+		listenerContainer.start();
+	}
+
+	@PreDestroy
+	void stop() throws Exception {
+		listenerContainer.destroy();
+	}
+
+	@Override
+	public void publish(byte[] envelope) {
+		redisTemplate.execute((RedisCallback<Long>)connection -> connection.publish(channelBytes, envelope));
+	}
+
+	@Override
+	public void subscribe(Consumer<byte[]> listener) {
+		listenerContainer.addMessageListener((message, pattern) -> listener.accept(message.getBody()),
+			new ChannelTopic(channel));
+	}
+}
@@ -0,0 +1,51 @@
+package potatoes.server.chat.relay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// [version][nodeId][destination][contentType][payload] - payload 는 브로커에 들어온 직렬화 결과를 그대로 싣는다
+public record RelayEnvelope(
+	String nodeId,
+	String destination,
+	String contentType,
+	byte[] payload
+) {
+
+	private static final byte VERSION = 1;
+
+	public byte[] encode() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length + 64);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(VERSION);
+			out.writeUTF(nodeId);
+			out.writeUTF(destination);
+			out.writeUTF(contentType == null ? "" : contentType);
+			out.writeInt(payload.length);
+			out.write(payload);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	public static RelayEnvelope decode(byte[] envelope) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(envelope))) {
+			byte version = in.readByte();
+			if (version != VERSION) {
+				throw new IllegalArgumentException("지원하지 않는 relay envelope 버전: " + version);
+			}
+			String nodeId = in.readUTF();
+			String destination = in.readUTF();
+			String contentType = in.readUTF();
+			byte[] payload = new byte[in.readInt()];
+			in.readFully(payload);
+			return new RelayEnvelope(nodeId, destination, contentType.isEmpty() ? null : contentType, payload);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package potatoes.server.chat.relay;
+
+import java.util.function.Consumer;
+
+// 노드 간 브로커 프레임 전달 통로 - chat.broker.relay-transport=REDIS(기본) 는 Redis pub/sub, MEMORY 는 같은 JVM 안의 노드끼리 전달
+public interface RelayTransport {
+
+	void publish(byte[] envelope);
+
+	void subscribe(Consumer<byte[]> listener);
+}
@@ -1,21 +1,32 @@
 package potatoes.server.chat.repository;
 
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import potatoes.server.chat.entity.ChatImage;
+import potatoes.server.chat.entity.ChatMessage;
+import potatoes.server.chat.model.ChatMessageImage;
 
 public interface ChatImageRepository extends JpaRepository<ChatImage, Long> {
 
 	@Query("""
 		SELECT ci FROM ChatImage ci
-		WHERE ci.imageUrl = :imageUrl
+		WHERE ci.imageUrlHash IN :imageUrlHashes
+		AND ci.chatMessage IS NULL
 		""")
-	Optional<ChatImage> findByImageUrl(@Param("imageUrl") String imageUrl);
+	List<ChatImage> findUnlinkedByImageUrlHashIn(@Param("imageUrlHashes") List<Long> imageUrlHashes);
+
+	@Modifying(flushAutomatically = true)
+	@Query("""
+		UPDATE ChatImage ci SET ci.chatMessage = :chatMessage
+		WHERE ci.id IN :ids
+		AND ci.chatMessage IS NULL
+		""")
+	int linkToMessage(@Param("chatMessage") ChatMessage chatMessage, @Param("ids") List<Long> ids);
 
 	@Query("""
 		SELECT ci FROM ChatImage ci
@@ -26,9 +37,11 @@ public interface ChatImageRepository extends JpaRepository<ChatImage, Long> {
 	List<ChatImage> findAllByChat(@Param("chatId") Long chatId);
 
 	@Query("""
-		SELECT ci FROM ChatImage ci
-		WHERE ci.chatMessage.id = :chatMessageId
+		SELECT new potatoes.server.chat.model.ChatMessageImage(ci.chatMessage.id, ci.imageUrl)
+		FROM ChatImage ci
+		WHERE ci.chatMessage.id IN :chatMessageIds
+		ORDER BY ci.id
 		""")
-	List<ChatImage> findAllByChatMessageId(@Param("chatMessageId") Long chatMessageId);
+	List<ChatMessageImage> findAllByChatMessageIdIn(@Param("chatMessageIds") List<Long> chatMessageIds);
 
 }
@@ -0,0 +1,50 @@
+package potatoes.server.chat.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import potatoes.server.chat.entity.ChatMessageArchive;
+import potatoes.server.chat.model.ChatArchivedMessage;
+import potatoes.server.chat.model.ChatLatestMessage;
+
+public interface ChatMessageArchiveRepository extends JpaRepository<ChatMessageArchive, Long> {
+
+	@Query("""
+		SELECT new potatoes.server.chat.model.ChatArchivedMessage(
+			a.id,
+			a.seq,
+			a.message,
+			s.nickname,
+			s.profileImage,
+			a.imageUrls,
+			a.createdAt
+		)
+		FROM ChatMessageArchive a
+		LEFT JOIN User s ON s.id = a.senderId
+		WHERE a.chatId = :chatId
+		AND a.id < :messageId
+		ORDER BY a.id DESC""")
+	List<ChatArchivedMessage> findHistory(
+		@Param("chatId") Long chatId,
+		@Param("messageId") Long messageId,
+		Pageable pageable
+	);
+
+	@Query("""
+		SELECT new potatoes.server.chat.model.ChatLatestMessage(a.chatId, a.createdAt)
+		FROM ChatMessageArchive a
+		WHERE a.id IN (
+			SELECT MAX(latest.id) FROM ChatMessageArchive latest
+			WHERE latest.chatId IN :chatIds
+			GROUP BY latest.chatId
+		)
+		""")
+	List<ChatLatestMessage> findLatestMessagesByChatIds(@Param("chatIds") List<Long> chatIds);
+
+	@Query("SELECT COALESCE(MAX(a.seq), 0) FROM ChatMessageArchive a WHERE a.chatId = :chatId")
+	long findMaxSeqByChatId(@Param("chatId") Long chatId);
+}
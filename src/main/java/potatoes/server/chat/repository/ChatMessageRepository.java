@@ -9,14 +9,50 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import potatoes.server.chat.entity.ChatMessage;
+import potatoes.server.chat.model.ChatHistoryMessage;
+import potatoes.server.chat.model.ChatLatestMessage;
+import potatoes.server.chat.model.ChatMessageCount;
+import potatoes.server.chat.model.ChatMessageText;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
-	@Query("SELECT cm FROM ChatMessage cm WHERE cm.chat.id = :chatId ORDER BY cm.createdAt DESC LIMIT 1")
-	Optional<ChatMessage> findLatestMessageByChatId(@Param("chatId") Long chatId);
+	@Query("SELECT MAX(cm.id) FROM ChatMessage cm WHERE cm.chat.id = :chatId")
+	Optional<Long> findLatestMessageIdByChatId(@Param("chatId") Long chatId);
 
-	@Query("SELECT COUNT(cm) FROM ChatMessage cm")
-	long countAll();
+	@Query("""
+		SELECT new potatoes.server.chat.model.ChatMessageCount(cm.chat.id, COUNT(cm))
+		FROM ChatMessage cm, ChatUser cu
+		WHERE cu.user.id = :userId
+		AND cm.chat = cu.chat
+		AND cm.id > cu.lastReadMessageId
+		GROUP BY cm.chat.id
+		""")
+	List<ChatMessageCount> countUnreadGroupByChat(@Param("userId") Long userId);
+
+	@Query("""
+		SELECT new potatoes.server.chat.model.ChatLatestMessage(cm.chat.id, cm.createdAt)
+		FROM ChatMessage cm
+		WHERE cm.id IN (
+			SELECT MAX(latest.id) FROM ChatMessage latest
+			WHERE latest.chat.id IN :chatIds
+			GROUP BY latest.chat.id
+		)
+		""")
+	List<ChatLatestMessage> findLatestMessagesByChatIds(@Param("chatIds") List<Long> chatIds);
+
+	boolean existsByIdAndChatId(Long id, Long chatId);
+
+	@Query("""
+		SELECT cm.id FROM ChatMessage cm
+		WHERE cm.chat.id = :chatId
+		AND cm.id > :fromId
+		AND cm.id <= :toId
+		ORDER BY cm.id""")
+	List<Long> findIdsInRange(
+		@Param("chatId") Long chatId,
+		@Param("fromId") long fromId,
+		@Param("toId") long toId
+	);
 
 	@Query("""
 		SELECT cm FROM ChatMessage cm
@@ -30,7 +66,67 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
 		Pageable pageable
 	);
 
-	List<ChatMessage> findDistinctByChatIdAndIdLessThanOrderByIdDesc(Long chatId, Long messageId, Pageable pageable);
+	@Query("""
+		SELECT new potatoes.server.chat.model.ChatHistoryMessage(
+			cm.id,
+			cm.seq,
+			cm.message,
+			s.nickname,
+			s.profileImage,
+			cm.createdAt
+		)
+		FROM ChatMessage cm
+		LEFT JOIN cm.sender s
+		WHERE cm.chat.id = :chatId
+		AND cm.id < :messageId
+		ORDER BY cm.id DESC""")
+	List<ChatHistoryMessage> findHistory(
+		@Param("chatId") Long chatId,
+		@Param("messageId") Long messageId,
+		Pageable pageable
+	);
+
+	@Query("""
+		SELECT new potatoes.server.chat.model.ChatHistoryMessage(
+			cm.id,
+			cm.seq,
+			cm.message,
+			s.nickname,
+			s.profileImage,
+			cm.createdAt
+		)
+		FROM ChatMessage cm
+		LEFT JOIN cm.sender s
+		WHERE cm.chat.id = :chatId
+		AND cm.seq > :seq
+		ORDER BY cm.seq""")
+	List<ChatHistoryMessage> findHistoryAfterSeq(
+		@Param("chatId") Long chatId,
+		@Param("seq") long seq,
+		Pageable pageable
+	);
+
+	@Query("""
+		SELECT new potatoes.server.chat.model.ChatMessageText(cm.id, cm.message, cm.createdAt)
+		FROM ChatMessage cm
+		WHERE cm.chat.id = :chatId
+		AND cm.id > :afterId
+		ORDER BY cm.id""")
+	List<ChatMessageText> findTextsAfter(
+		@Param("chatId") Long chatId,
+		@Param("afterId") long afterId,
+		Pageable pageable
+	);
+
+	@Query("""
+		SELECT new potatoes.server.chat.model.ChatMessageText(cm.id, cm.message, cm.createdAt)
+		FROM ChatMessage cm
+		WHERE cm.chat.id = :chatId
+		AND cm.id IN :ids""")
+	List<ChatMessageText> findTextsByIdIn(@Param("chatId") Long chatId, @Param("ids") List<Long> ids);
+
+	@Query("SELECT COALESCE(MAX(cm.seq), 0) FROM ChatMessage cm WHERE cm.chat.id = :chatId")
+	long findMaxSeqByChatId(@Param("chatId") Long chatId);
 
 	@Query("""
 		    SELECT DISTINCT cm
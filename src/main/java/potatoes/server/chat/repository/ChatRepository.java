@@ -1,5 +1,6 @@
 package potatoes.server.chat.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -32,4 +33,14 @@ public interface ChatRepository extends JpaRepository<Chat, Long> {
 		WHERE c.travel.id = :travelId
 		""")
 	Optional<Chat> findByIdFetchJoinTravel(@Param("travelId") Long travelId);
+
+	// 유저가 참여한 여행의 채팅방 + 이미 참여중인 채팅방
+	@Query("""
+		SELECT c FROM Chat c
+		JOIN FETCH c.travel
+		JOIN FETCH c.host
+		WHERE c.travel.id IN (SELECT tu.travel.id FROM TravelUser tu WHERE tu.user.id = :userId)
+		OR c.id IN (SELECT cu.chat.id FROM ChatUser cu WHERE cu.user.id = :userId)
+		""")
+	List<Chat> findAllAccessibleByUserId(@Param("userId") Long userId);
 }
@@ -4,10 +4,12 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import potatoes.server.chat.entity.ChatUser;
+import potatoes.server.chat.model.ChatReadWatermark;
 
 public interface ChatUserRepository extends JpaRepository<ChatUser, Long> {
 
@@ -29,5 +31,45 @@ public interface ChatUserRepository extends JpaRepository<ChatUser, Long> {
 
 	boolean existsByUserIdAndChatId(Long userId, Long chatId);
 
+	@Query("SELECT c.chat.id FROM ChatUser c WHERE c.user.id = :userId")
+	List<Long> findChatIdsByUserId(@Param("userId") Long userId);
+
+	@Query("SELECT c.user.id FROM ChatUser c WHERE c.chat.id = :chatId")
+	List<Long> findUserIdsByChatId(@Param("chatId") Long chatId);
+
 	Optional<ChatUser> findByChatIdAndUserId(Long chatId, Long userId);
+
+	@Query("""
+		SELECT new potatoes.server.chat.model.ChatReadWatermark(c.user.id, c.lastReadMessageId)
+		FROM ChatUser c
+		WHERE c.chat.id = :chatId
+		""")
+	List<ChatReadWatermark> findReadWatermarksByChatId(@Param("chatId") Long chatId);
+
+	@Modifying
+	@Query("""
+		UPDATE ChatUser c SET c.lastReadMessageId = :messageId
+		WHERE c.chat.id = :chatId
+		AND c.user.id = :userId
+		AND c.lastReadMessageId < :messageId
+		""")
+	int updateLastReadMessageId(
+		@Param("chatId") Long chatId,
+		@Param("userId") Long userId,
+		@Param("messageId") long messageId
+	);
+
+	// 기존 chat_message_user 데이터로부터 읽음 위치 계산 - 가장 오래된 안읽은 메시지 직전, 없다면 마지막으로 받은 메시지
+	@Modifying
+	@Query(nativeQuery = true, value = """
+		UPDATE chat_user cu
+		SET last_read_message_id = COALESCE(
+			(SELECT MIN(cmu.chat_message_id) - 1 FROM chat_message_user cmu
+			 WHERE cmu.chat_id = cu.chat_id AND cmu.user_id = cu.user_id AND cmu.has_read = false),
+			(SELECT MAX(cmu.chat_message_id) FROM chat_message_user cmu
+			 WHERE cmu.chat_id = cu.chat_id AND cmu.user_id = cu.user_id),
+			0)
+		WHERE cu.last_read_message_id = 0
+		""")
+	int migrateLegacyReadState();
 }
@@ -0,0 +1,68 @@
+package potatoes.server.chat.search;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// 영문/숫자는 소문자 단어 단위, 한글 등 띄어쓰기로 나뉘지 않는 문자는 2글자(bigram) 단위로 색인
+// "서울여행" -> 서울, 울여, 여행 이라서 "여행" 처럼 단어 중간부터 검색해도 찾을 수 있다
+public final class ChatMessageTokenizer {
+
+	private ChatMessageTokenizer() {
+	}
+
+	public static String normalize(String text) {
+		return text == null ? "" : text.toLowerCase(Locale.ROOT);
+	}
+
+	public static Set<String> tokenize(String text) {
+		Set<String> tokens = new LinkedHashSet<>();
+		String normalized = normalize(text);
+		int start = 0;
+		while (start < normalized.length()) {
+			int codePoint = normalized.codePointAt(start);
+			if (!Character.isLetterOrDigit(codePoint)) {
+				start += Character.charCount(codePoint);
+				continue;
+			}
+
+			boolean bigram = isBigramScript(codePoint);
+			int end = start;
+			while (end < normalized.length()) {
+				int next = normalized.codePointAt(end);
+				if (!Character.isLetterOrDigit(next) || isBigramScript(next) != bigram) {
+					break;
+				}
+				end += Character.charCount(next);
+			}
+
+			String run = normalized.substring(start, end);
+			if (bigram) {
+				addBigrams(tokens, run);
+			} else {
+				tokens.add(run);
+			}
+			start = end;
+		}
+		return tokens;
+	}
+
+	private static void addBigrams(Set<String> tokens, String run) {
+		int[] codePoints = run.codePoints().toArray();
+		if (codePoints.length == 1) {
+			tokens.add(run);
+			return;
+		}
+		for (int i = 0; i + 1 < codePoints.length; i++) {
+			tokens.add(new String(codePoints, i, 2));
+		}
+	}
+
+	private static boolean isBigramScript(int codePoint) {
+		Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+		return script == Character.UnicodeScript.HANGUL
+			|| script == Character.UnicodeScript.HAN
+			|| script == Character.UnicodeScript.HIRAGANA
+			|| script == Character.UnicodeScript.KATAKANA;
+	}
+}
@@ -0,0 +1,302 @@
+package potatoes.server.chat.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import potatoes.server.chat.model.ChatMessageText;
+import potatoes.server.utils.collection.LongArrayList;
+
+// 채팅방별 역색인 (token -> 메시지 id) - 처음 검색할 때 DB 에서 만들고 이후에는 전송된 메시지를 이어서 색인
+// 새 메시지는 가변 segment 에 쌓고 segment-size 개가 되면 정렬된 불변 segment 로 얼린다
+// 불변 segment 가 max-segments 를 넘으면 하나로 합쳐 중복 id 를 정리한다
+// 전체 posting 수가 max-postings 를 넘으면 오래 검색하지 않은 방부터 색인을 버리고 다음 검색 때 다시 만든다
+@Component
+public class ChatSearchIndex {
+
+	private final int segmentSize;
+	private final int maxSegments;
+	private final long maxPostings;
+	private final int loadPageSize;
+	private final Map<Long, RoomIndex> rooms = new LinkedHashMap<>(16, 0.75f, true);
+	private long totalPostings;
+
+	public ChatSearchIndex(
+		MeterRegistry meterRegistry,
+		@Value("${chat.search.segment-size:1024}") int segmentSize,
+		@Value("${chat.search.max-segments:8}") int maxSegments,
+		@Value("${chat.search.max-postings:5000000}") long maxPostings,
+		@Value("${chat.search.load-page-size:1000}") int loadPageSize
+	) {
+		this.segmentSize = segmentSize;
+		this.maxSegments = maxSegments;
+		this.maxPostings = maxPostings;
+		this.loadPageSize = loadPageSize;
+		Gauge.builder("chat.search.postings", this, ChatSearchIndex::postings).register(meterRegistry);
+		Gauge.builder("chat.search.rooms", this, ChatSearchIndex::roomCount).register(meterRegistry);
+	}
+
+	@FunctionalInterface
+	public interface MessageLoader {
+		// afterId 보다 큰 id 의 메시지를 id 오름차순으로 최대 size 개
+		List<ChatMessageText> load(long afterId, int size);
+	}
+
+	// 모든 token 을 포함하는 메시지 중 beforeId 보다 작은 id 를 최신순으로 최대 limit 개
+	public long[] search(Long chatId, Set<String> tokens, long beforeId, int limit, MessageLoader loader) {
+		RoomIndex room;
+		synchronized (this) {
+			room = rooms.computeIfAbsent(chatId, id -> new RoomIndex());
+		}
+		build(chatId, room, loader);
+		synchronized (room) {
+			return room.search(tokens, beforeId, limit);
+		}
+	}
+
+	public void indexAfterCommit(Long chatId, long chatMessageId, String message) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			index(chatId, chatMessageId, message);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				index(chatId, chatMessageId, message);
+			}
+		});
+	}
+
+	// 색인이 없는 방은 다음 검색 때 DB 에서 만들므로 무시
+	public void index(Long chatId, long chatMessageId, String message) {
+		RoomIndex room;
+		synchronized (this) {
+			room = rooms.get(chatId);
+		}
+		if (room != null) {
+			add(chatId, room, chatMessageId, message);
+		}
+	}
+
+	public synchronized void evict(Long chatId) {
+		RoomIndex room = rooms.remove(chatId);
+		if (room != null) {
+			totalPostings -= room.evict();
+		}
+	}
+
+	// 색인을 만드는 동안 커밋된 메시지도 index 로 받을 수 있도록 방을 먼저 등록한 뒤 DB 를 읽는다
+	private void build(Long chatId, RoomIndex room, MessageLoader loader) {
+		room.buildLock.lock();
+		try {
+			if (room.built) {
+				return;
+			}
+			long afterId = 0;
+			List<ChatMessageText> page;
+			do {
+				page = loader.load(afterId, loadPageSize);
+				for (ChatMessageText message : page) {
+					add(chatId, room, message.chatMessageId(), message.message());
+					afterId = message.chatMessageId();
+				}
+			} while (page.size() == loadPageSize && !room.evicted);
+			room.built = true;
+		} catch (RuntimeException e) {
+			synchronized (this) {
+				if (rooms.get(chatId) == room) {
+					rooms.remove(chatId);
+					totalPostings -= room.evict();
+				}
+			}
+			throw e;
+		} finally {
+			room.buildLock.unlock();
+		}
+	}
+
+	private void add(Long chatId, RoomIndex room, long chatMessageId, String message) {
+		Set<String> tokens = ChatMessageTokenizer.tokenize(message);
+		if (tokens.isEmpty()) {
+			return;
+		}
+		long delta;
+		synchronized (room) {
+			delta = room.add(chatMessageId, tokens);
+		}
+		synchronized (this) {
+			if (rooms.get(chatId) != room) {
+				return;
+			}
+			totalPostings += delta;
+			evictOverBudget(room);
+		}
+	}
+
+	private void evictOverBudget(RoomIndex current) {
+		Iterator<RoomIndex> eldest = rooms.values().iterator();
+		while (totalPostings > maxPostings && eldest.hasNext()) {
+			RoomIndex room = eldest.next();
+			if (room == current) {
+				continue;
+			}
+			totalPostings -= room.evict();
+			eldest.remove();
+		}
+	}
+
+	private synchronized long postings() {
+		return totalPostings;
+	}
+
+	private synchronized int roomCount() {
+		return rooms.size();
+	}
+
+	private class RoomIndex {
+		private final ReentrantLock buildLock = new ReentrantLock();
+		private final List<Segment> segments = new ArrayList<>();
+		private Map<String, LongArrayList> active = new HashMap<>();
+		private int activeMessages;
+		private long activePostings;
+		private long frozenPostings;
+		private long postings;
+		private volatile boolean built;
+		private volatile boolean evicted;
+
+		// 늘어난 posting 수를 반환 - segment 를 합치며 중복이 정리되면 음수일 수 있다
+		long add(long chatMessageId, Set<String> tokens) {
+			if (evicted) {
+				return 0;
+			}
+			long before = postings;
+			tokens.forEach(token -> active.computeIfAbsent(token, key -> new LongArrayList()).add(chatMessageId));
+			activePostings += tokens.size();
+			if (++activeMessages >= segmentSize) {
+				Segment frozen = Segment.of(active);
+				segments.add(frozen);
+				frozenPostings += frozen.size();
+				active = new HashMap<>();
+				activeMessages = 0;
+				activePostings = 0;
+				if (segments.size() > maxSegments) {
+					compact();
+				}
+			}
+			postings = frozenPostings + activePostings;
+			return postings - before;
+		}
+
+		long[] search(Set<String> tokens, long beforeId, int limit) {
+			LongArrayList matches = new LongArrayList();
+			for (Segment segment : segments) {
+				collect(tokens.stream().map(segment::postings).toList(), matches);
+			}
+			collect(tokens.stream().map(token -> sorted(active.get(token))).toList(), matches);
+
+			long[] ids = matches.toArray();
+			Arrays.sort(ids);
+			LongArrayList page = new LongArrayList(limit);
+			for (int i = ids.length - 1; i >= 0 && page.size() < limit; i--) {
+				if (ids[i] < beforeId && (i == ids.length - 1 || ids[i] != ids[i + 1])) {
+					page.add(ids[i]);
+				}
+			}
+			return page.toArray();
+		}
+
+		long evict() {
+			evicted = true;
+			synchronized (this) {
+				return postings;
+			}
+		}
+
+		private void compact() {
+			Map<String, LongArrayList> merged = new HashMap<>();
+			for (Segment segment : segments) {
+				for (int i = 0; i < segment.tokens.length; i++) {
+					LongArrayList ids = merged.computeIfAbsent(segment.tokens[i], key -> new LongArrayList());
+					for (long id : segment.postings[i]) {
+						ids.add(id);
+					}
+				}
+			}
+			Segment compacted = Segment.of(merged);
+			segments.clear();
+			segments.add(compacted);
+			frozenPostings = compacted.size();
+		}
+	}
+
+	// 모든 token 의 posting 에 있는 id - 가장 짧은 posting 을 기준으로 나머지에서 이분 탐색
+	private static void collect(List<long[]> postings, LongArrayList matches) {
+		if (postings.isEmpty() || postings.stream().anyMatch(ids -> ids.length == 0)) {
+			return;
+		}
+		List<long[]> ordered = postings.stream().sorted(Comparator.comparingInt(ids -> ids.length)).toList();
+		for (long id : ordered.get(0)) {
+			boolean all = true;
+			for (int i = 1; i < ordered.size() && all; i++) {
+				all = Arrays.binarySearch(ordered.get(i), id) >= 0;
+			}
+			if (all) {
+				matches.add(id);
+			}
+		}
+	}
+
+	private static long[] sorted(LongArrayList ids) {
+		if (ids == null) {
+			return new long[0];
+		}
+		long[] values = ids.toArray();
+		Arrays.sort(values);
+		return values;
+	}
+
+	// 정렬된 token 배열과 token 별 오름차순 중복 없는 id 배열
+	private static class Segment {
+		private final String[] tokens;
+		private final long[][] postings;
+
+		private Segment(String[] tokens, long[][] postings) {
+			this.tokens = tokens;
+			this.postings = postings;
+		}
+
+		static Segment of(Map<String, LongArrayList> source) {
+			TreeMap<String, LongArrayList> ordered = new TreeMap<>(source);
+			String[] tokens = ordered.keySet().toArray(String[]::new);
+			long[][] postings = new long[tokens.length][];
+			for (int i = 0; i < tokens.length; i++) {
+				postings[i] = Arrays.stream(sorted(ordered.get(tokens[i]))).distinct().toArray();
+			}
+			return new Segment(tokens, postings);
+		}
+
+		long[] postings(String token) {
+			int index = Arrays.binarySearch(tokens, token);
+			return index < 0 ? new long[0] : postings[index];
+		}
+
+		long size() {
+			return Arrays.stream(postings).mapToLong(ids -> ids.length).sum();
+		}
+	}
+}
@@ -1,19 +1,22 @@
 package potatoes.server.chat.service;
 
 import static java.util.Comparator.*;
+import static java.util.stream.Collectors.*;
 import static potatoes.server.utils.constant.AlarmStatus.*;
 import static potatoes.server.utils.error.ErrorCode.*;
 import static potatoes.server.utils.time.DateTimeUtils.*;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,10 +24,17 @@ import org.springframework.web.multipart.MultipartFile;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.cache.ChatMembershipIndex;
+import potatoes.server.chat.cache.ChatReadWatermarks;
+import potatoes.server.chat.cache.ChatRecentMessages;
+import potatoes.server.chat.cache.ChatSequences;
 import potatoes.server.chat.dto.AlarmSubscribe;
 import potatoes.server.chat.dto.ChatAlbumResponse;
 import potatoes.server.chat.dto.ChatOverviewResponse;
+import potatoes.server.chat.dto.ChatSearchResponse;
+import potatoes.server.chat.dto.ChatSearchResult;
 import potatoes.server.chat.dto.ChatSummaryResponse;
+import potatoes.server.chat.dto.MarkAsReadBatchSubscribe;
 import potatoes.server.chat.dto.MarkAsReadSubscribe;
 import potatoes.server.chat.dto.MessagePublish;
 import potatoes.server.chat.dto.MessageSubscribe;
@@ -33,20 +43,32 @@ import potatoes.server.chat.dto.RecentChatResponse;
 import potatoes.server.chat.entity.Chat;
 import potatoes.server.chat.entity.ChatImage;
 import potatoes.server.chat.entity.ChatMessage;
-import potatoes.server.chat.entity.ChatMessageUser;
 import potatoes.server.chat.entity.ChatUser;
+import potatoes.server.chat.model.ChatHistoryMessage;
+import potatoes.server.chat.model.ChatLatestMessage;
+import potatoes.server.chat.model.ChatMessageCount;
+import potatoes.server.chat.model.ChatMessageImage;
+import potatoes.server.chat.model.ChatMessageText;
+import potatoes.server.chat.pipeline.ChatMessageWriter;
+import potatoes.server.chat.pipeline.ReadReceiptAggregator;
 import potatoes.server.chat.repository.ChatImageRepository;
+import potatoes.server.chat.repository.ChatMessageArchiveRepository;
 import potatoes.server.chat.repository.ChatMessageRepository;
-import potatoes.server.chat.repository.ChatMessageUserRepository;
 import potatoes.server.chat.repository.ChatRepository;
 import potatoes.server.chat.repository.ChatUserRepository;
+import potatoes.server.chat.search.ChatMessageTokenizer;
+import potatoes.server.chat.search.ChatSearchIndex;
+import potatoes.server.chat.stomp.AlarmDispatcher;
 import potatoes.server.chat.stomp.StompUserPrincipal;
 import potatoes.server.infra.s3.S3UtilsProvider;
+import potatoes.server.travel.cache.TravelRosterCache;
 import potatoes.server.travel.entity.TravelUser;
 import potatoes.server.travel.repository.TravelUserRepository;
 import potatoes.server.user.entity.User;
+import potatoes.server.user.repository.UserRepository;
 import potatoes.server.utils.constant.ChatSortType;
 import potatoes.server.utils.error.exception.WeGoException;
+import potatoes.server.utils.id.TimeOrderedIdGenerator;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -58,10 +80,23 @@ public class ChatService {
 	private final ChatRepository chatRepository;
 	private final ChatUserRepository chatUserRepository;
 	private final ChatMessageRepository chatMessageRepository;
-	private final ChatMessageUserRepository chatMessageUserRepository;
+	private final ChatMessageArchiveRepository chatMessageArchiveRepository;
 	private final TravelUserRepository travelUserRepository;
+	private final UserRepository userRepository;
 	private final ChatImageRepository chatImageRepository;
 	private final S3UtilsProvider s3;
+	private final ChatReadWatermarks readWatermarks;
+	private final ChatMembershipIndex membershipIndex;
+	private final ChatRecentMessages recentMessages;
+	private final ChatSequences chatSequences;
+	private final TravelRosterCache travelRosterCache;
+	private final AlarmDispatcher alarmDispatcher;
+	private final ReadReceiptAggregator readReceiptAggregator;
+	private final ChatMessageWriter chatMessageWriter;
+	private final ChatSearchIndex chatSearchIndex;
+
+	@Value("${chat.read-receipt.batch-size:1000}")
+	private int readReceiptBatchSize;
 
 	@Transactional
 	public void send(Long chatId, MessagePublish message, StompUserPrincipal principal) {
@@ -69,85 +104,82 @@ public class ChatService {
 			() -> new WeGoException(CHAT_NOT_FOUND)
 		);
 
-		List<ChatUser> chatUserList = chatUserRepository.findAllChatUserByChatID(chatId);
-		User sender = null;
-		for (ChatUser chatUser : chatUserList) {
-			if (chatUser.getUser().getId().equals(principal.getUserId())) {
-				sender = chatUser.getUser();
-				break;
-			}
-		}
-		if (sender == null) {
-			throw new WeGoException(USER_NOT_FOUND);
-		}
+		membershipIndex.verifyMember(chatId, principal.getUserId());
+		User sender = userRepository.findById(principal.getUserId()).orElseThrow(
+			() -> new WeGoException(USER_NOT_FOUND)
+		);
 
 		ChatMessage chatMessage = ChatMessage.builder()
 			.chat(chat)
 			.sender(sender)
 			.message(message.message())
+			.seq(chatSequences.next(chatId))
 			.build();
 		chatMessageRepository.save(chatMessage);
 
-		List<String> chatImages = new ArrayList<>();
-		for (String imageUrl : message.images()) {
-			Optional<ChatImage> optionalChatImage = chatImageRepository.findByImageUrl(imageUrl);
-			if (optionalChatImage.isPresent()) {
-				ChatImage chatImage = optionalChatImage.get();
-				chatImage.messageSent(chatMessage);
-				chatImages.add(chatImage.getImageUrl());
-			}
-		}
+		List<String> chatImages = linkImages(chatMessage,
+			message.images() == null ? List.of() : List.of(message.images()));
 
-		List<ChatMessageUser> chatMessageUserList = chatUserList.stream()
-			.map(chatUser -> {
-				ChatMessageUser chatMessageUser = ChatMessageUser.builder()
-					.user(chatUser.getUser())
-					.chat(chat)
-					.chatMessage(chatMessage)
-					.build();
-				if (chatUser.getUser().getId().equals(principal.getUserId())) {
-					chatMessageUser.markAsRead();
-				}
-				return chatMessageUser;
-			})
-			.toList();
-		chatMessageUserRepository.saveAll(chatMessageUserList);
+		// 보낸 사람은 자신의 메시지까지 읽은 것으로 처리
+		chatUserRepository.updateLastReadMessageId(chatId, sender.getId(), chatMessage.getId());
+		readWatermarks.advanceAfterCommit(chatId, sender.getId(), chatMessage.getId());
+		long unreadCount = readWatermarks.countUnreadExcept(chatId, chatMessage.getId(), sender.getId());
 
 		long userIsHost = travelUserRepository.countTravelWhereUserIsHost(sender.getId());
 		AlarmSubscribe alarmSubscribe = new AlarmSubscribe(
 			chat.getId(),
-			chatUserList.size(),
+			membershipIndex.memberCount(chatId),
 			getYearMonthDay(chatMessage.getCreatedAt()),
 			MESSAGE,
 			ParticipantsInfoResponse.of(sender, userIsHost));
 
-		travelUserRepository.findAllByTravel(chat.getTravel())
-			.forEach(travelUser -> messagingTemplate.convertAndSend("/sub/alarm/" + travelUser.getUser().getId(),
-				alarmSubscribe));
+		alarmDispatcher.send(travelRosterCache.userIds(chat.getTravel().getId()), alarmSubscribe);
 
-		messagingTemplate.convertAndSend(
-			"/sub/chat/" + chatId,
-			MessageSubscribe.of(chatMessage, chatImages, sender, chat.getCurrentMemberCount())
-		);
+		MessageSubscribe messageSubscribe = MessageSubscribe.of(chatMessage, chatImages, sender, (int)unreadCount);
+		messagingTemplate.convertAndSend("/sub/chat/" + chatId, messageSubscribe);
+		recentMessages.appendAfterCommit(chatId, messageSubscribe);
+		chatSearchIndex.indexAfterCommit(chatId, chatMessage.getId(), chatMessage.getMessage());
 	}
 
-	@Transactional
-	public void markAsRead(Long chatId, Long chatMessageId, StompUserPrincipal principal) {
-		ChatMessageUser chatMessageUser = chatMessageUserRepository.findByChatMessageAndUser(
-			chatMessageId, principal.getUserId()
-		).orElseThrow(() -> new WeGoException(CHAT_NOT_FOUND));
+	// URL 해시로 한 번에 찾고 UPDATE 한 번으로 메시지에 연결 - 연결된 URL 을 보낸 순서대로 반환
+	private List<String> linkImages(ChatMessage chatMessage, List<String> imageUrls) {
+		if (imageUrls.isEmpty()) {
+			return List.of();
+		}
 
-		chatMessageUser.markAsRead();
+		Map<String, Long> unlinked = chatImageRepository.findUnlinkedByImageUrlHashIn(
+				imageUrls.stream().map(ChatImage::hashOf).distinct().toList()).stream()
+			.filter(chatImage -> imageUrls.contains(chatImage.getImageUrl()))
+			.collect(toMap(ChatImage::getImageUrl, ChatImage::getId, (first, second) -> first));
+		if (unlinked.isEmpty()) {
+			return List.of();
+		}
 
-		long totalMembers = chatMessageUser.getChat().getCurrentMemberCount();
-		long readCount = chatMessageUserRepository.countByChatMessageAndHasReadIsTrue(
-			chatMessageUser.getChatMessage()
-		) + 1;
+		chatImageRepository.linkToMessage(chatMessage, List.copyOf(unlinked.values()));
+		return imageUrls.stream().filter(unlinked::containsKey).distinct().toList();
+	}
 
-		long unreadCount = totalMembers - readCount;
+	// 기록과 브로드캐스트는 ReadReceiptAggregator 가 채팅방 단위로 모아서 처리
+	public void markAsRead(Long chatId, Long chatMessageId, StompUserPrincipal principal) {
+		Long userId = principal.getUserId();
+		if (!membershipIndex.isMember(chatId, userId)) {
+			throw new WeGoException(CHAT_NOT_FOUND);
+		}
+		// 아직 발급되지 않은 id 로 읽음 위치를 앞당기지 못하도록 미래 시각의 id 는 거부
+		if (TimeOrderedIdGenerator.timestampOf(chatMessageId).isAfter(Instant.now().plusSeconds(1))) {
+			throw new WeGoException(CHAT_NOT_FOUND);
+		}
+		// 이미 읽은 위치 이하면 바뀌는 것이 없으므로 확인 없이 넘긴다
+		if (chatMessageId <= readWatermarks.lastReadOf(chatId, userId)) {
+			return;
+		}
+		// 다른 채팅방의 메시지 id 로 읽음 위치를 옮기지 못하도록 - 최근 메시지 버퍼, 기록 대기 메시지, DB 순서로 확인
+		if (!recentMessages.contains(chatId, chatMessageId) && !chatMessageWriter.isPending(chatId, chatMessageId)
+			&& !chatMessageRepository.existsByIdAndChatId(chatMessageId, chatId)) {
+			throw new WeGoException(CHAT_NOT_FOUND);
+		}
 
-		messagingTemplate.convertAndSend("/sub/chat/read/" + chatId,
-			new MarkAsReadSubscribe(chatMessageId, unreadCount));
+		readReceiptAggregator.submit(chatId, userId, chatMessageId);
 	}
 
 	@Transactional
@@ -161,18 +193,23 @@ public class ChatService {
 				() -> new WeGoException(UNABLE_TO_JOIN_CHAT)
 			);
 
-		if (chatUserRepository.existsByUserIdAndChatId(chatId, userId)) {
+		if (membershipIndex.isMember(chatId, userId)) {
 			throw new WeGoException(ALREADY_JOINED_CHAT);
 		}
 
+		// 입장 이전의 메시지는 읽은 것으로 간주
+		long lastReadMessageId = chatMessageRepository.findLatestMessageIdByChatId(chatId).orElse(0L);
 		ChatUser chatUser = ChatUser.builder()
 			.user(joinedUser.getUser())
 			.chat(chat)
+			.lastReadMessageId(lastReadMessageId)
 			.build();
 		chat.newMemberJoined();
 		chatUserRepository.save(chatUser);
+		readWatermarks.memberJoinedAfterCommit(chatId, userId, lastReadMessageId);
+		membershipIndex.memberJoinedAfterCommit(chatId, userId);
 
-		long userIsHost = travelUserRepository.countTravelWhereUserIsHost(chatUser.getId());
+		long userIsHost = travelUserRepository.countTravelWhereUserIsHost(userId);
 		AlarmSubscribe alarmSubscribe = new AlarmSubscribe(
 			chat.getId(),
 			chat.getCurrentMemberCount(),
@@ -181,84 +218,62 @@ public class ChatService {
 			ParticipantsInfoResponse.of(joinedUser.getUser(), userIsHost)
 		);
 
-		travelUserRepository.findAllByTravel(chat.getTravel())
-			.forEach(travelUser -> messagingTemplate.convertAndSend("/sub/alarm/" + travelUser.getUser().getId(),
-				alarmSubscribe));
+		alarmDispatcher.send(travelRosterCache.userIds(chat.getTravel().getId()), alarmSubscribe);
 	}
 
+	// 채팅방 수와 관계없이 채팅방, 참여 여부, 안읽은 수, 마지막 메시지 시간을 각각 한 번씩 조회
 	public List<ChatSummaryResponse> getChatSummaryList(Long userId, ChatSortType sortType) {
-		// 참여중인 채팅방 카운트
-		List<ChatSummaryResponse> joinedChats = chatUserRepository.findAllByUserId(userId).stream()
-			.map(chatUser -> {
-				long unreadMessages = chatMessageUserRepository.countByUserIdAndChatIdAndHasReadIsFalse(userId,
-					chatUser.getChat().getId());
-				ChatMessage chatMessage = chatMessageRepository.findLatestMessageByChatId(chatUser.getChat().getId())
-					.orElseGet(() -> new ChatMessage(chatUser.getChat(), null, ""));
-				return ChatSummaryResponse.of(
-					chatUser.getChat(),
-					true,
-					unreadMessages,
-					chatMessage.getCreatedAt() == null ? getYearMonthDayTime(Instant.now()) :
-						getYearMonthDayTime(chatMessage.getCreatedAt()));
-			}).toList();
-
-		// 참여할 수 있는 채팅방 메시지 카운트
-		List<ChatSummaryResponse> availableChats = travelUserRepository.findAllByUserId(userId).stream()
-			.map(travelUser -> {
-				Chat chat = chatRepository.findByTravel(travelUser.getTravel())
-					.orElseThrow(() -> new WeGoException(CHAT_NOT_FOUND));
-
-				if (chatUserRepository.existsByUserIdAndChatId(
-					travelUser.getUser().getId(),
-					chat.getId())) {
-					return null;
-				}
+		List<Chat> chats = chatRepository.findAllAccessibleByUserId(userId);
+		if (chats.isEmpty()) {
+			return new ArrayList<>();
+		}
 
-				ChatMessage chatMessage = chatMessageRepository.findLatestMessageByChatId(chat.getId())
-					.orElseGet(() -> new ChatMessage(chat, null, ""));
+		Set<Long> joinedChatIds = new HashSet<>(chatUserRepository.findChatIdsByUserId(userId));
+		Map<Long, Long> unreadCounts = chatMessageRepository.countUnreadGroupByChat(userId).stream()
+			.collect(toMap(ChatMessageCount::chatId, ChatMessageCount::count));
+		Map<Long, Instant> lastMessageTimes = chatMessageRepository.findLatestMessagesByChatIds(
+				chats.stream().map(Chat::getId).toList()).stream()
+			.collect(toMap(ChatLatestMessage::chatId, ChatLatestMessage::createdAt, (a, b) -> a, HashMap::new));
+		// 메시지가 모두 보관된 채팅방은 보관 테이블의 마지막 메시지 시간
+		List<Long> archivedChatIds = chats.stream()
+			.map(Chat::getId)
+			.filter(chatId -> !lastMessageTimes.containsKey(chatId))
+			.toList();
+		if (!archivedChatIds.isEmpty()) {
+			chatMessageArchiveRepository.findLatestMessagesByChatIds(archivedChatIds)
+				.forEach(latest -> lastMessageTimes.put(latest.chatId(), latest.createdAt()));
+		}
 
-				return ChatSummaryResponse.of(
+		Instant now = Instant.now();
+		List<ChatSummary> summaries = chats.stream()
+			.map(chat -> {
+				boolean hasJoined = joinedChatIds.contains(chat.getId());
+				return new ChatSummary(
 					chat,
-					false,
-					0,
-					chatMessage.getCreatedAt() == null ? getYearMonthDayTime(Instant.now()) :
-						getYearMonthDayTime(chatMessage.getCreatedAt())
-				);
+					hasJoined,
+					hasJoined ? unreadCounts.getOrDefault(chat.getId(), 0L) : 0L,
+					lastMessageTimes.getOrDefault(chat.getId(), now));
 			})
-			.filter(Objects::nonNull)
+			.sorted(sortType.equals(ChatSortType.UNREAD) ?
+				// 참여하지 않은 채팅방이 먼저, 그 다음 안읽은 메시지가 많은 순
+				comparingLong((ChatSummary summary) ->
+					summary.hasJoined() ? summary.unreadMessageCount() : Long.MAX_VALUE).reversed() :
+				comparing(ChatSummary::lastMessageTime, reverseOrder()))
 			.toList();
 
-		List<ChatSummaryResponse> result = new ArrayList<>();
-		result.addAll(joinedChats);
-		result.addAll(availableChats);
-
-		if (sortType.equals(ChatSortType.UNREAD)) {
-			result.sort(comparingLong((ChatSummaryResponse chatSummary) ->
-				chatSummary.hasJoined() ?
-					chatMessageUserRepository.countUserUnReadMessages(chatSummary.chatId(), userId) :
-					chatMessageRepository.countAll()
-			).reversed());
-		} else {
-			result.sort(comparing(msg -> parseYearMonthDayTime(msg.lastMessageTime()), reverseOrder()));
-		}
+		List<ChatSummaryResponse> result = new ArrayList<>(summaries.size());
+		summaries.forEach(summary -> result.add(ChatSummaryResponse.of(
+			summary.chat(),
+			summary.hasJoined(),
+			summary.unreadMessageCount(),
+			getYearMonthDayTime(summary.lastMessageTime()))));
 		return result;
 	}
 
 	@Transactional
 	public List<String> updateChatImages(Long userId, Long chatId, List<MultipartFile> files) {
 		// 유저가 채팅에 참여했는지 여부 체크
-		chatRepository.findById(chatId).orElseThrow(() -> new WeGoException(CHAT_NOT_FOUND));
-		List<ChatUser> chatUserList = chatUserRepository.findAllChatUserByChatID(chatId);
-		User sender = null;
-		for (ChatUser chatUser : chatUserList) {
-			if (chatUser.getUser().getId().equals(userId)) {
-				sender = chatUser.getUser();
-				break;
-			}
-		}
-		if (sender == null) {
-			throw new WeGoException(USER_NOT_FOUND);
-		}
+		membershipIndex.verifyMember(chatId, userId);
 
 		List<String> fileNames = s3.uploadFiles(files);
 		List<String> urlList = fileNames.stream()
@@ -277,53 +292,143 @@ public class ChatService {
 		Chat chat = chatRepository.findById(chatId)
 			.orElseThrow(() -> new WeGoException(CHAT_NOT_FOUND));
 
-		User sender = chatUserRepository.findByChatIdAndUserId(chatId, userId)
-			.map(ChatUser::getUser)
-			.orElseThrow(() -> new WeGoException(USER_NOT_FOUND));
-
-		Sort sort = Sort.by(
-			Sort.Order.desc("id"),
-			Sort.Order.desc("createdAt")
-		);
+		membershipIndex.verifyMember(chatId, userId);
 
-		Pageable pageable = PageRequest.of(0, size, sort);
-		List<ChatMessage> chatMessages = chatMessageRepository.findDistinctByChatIdAndIdLessThanOrderByIdDesc(
-			chatId,
-			latestChatId == 0L ? Long.MAX_VALUE : latestChatId,
-			pageable
-		);
+		// 첫 페이지는 최근 메시지 버퍼에서, 버퍼보다 오래된 커서는 DB 에서 조회
+		long beforeId = latestChatId == 0L ? Long.MAX_VALUE : latestChatId;
+		List<MessageSubscribe> messages = recentMessages.find(chatId, beforeId, size);
+		if (messages == null && latestChatId == 0L) {
+			messages = recentMessages.load(chatId, limit -> findMessages(chatId, Long.MAX_VALUE, limit), size);
+		}
+		if (messages == null) {
+			messages = findMessages(chatId, beforeId, size);
+		}
 
-		List<MessageSubscribe> messageSubscribes = chatMessages.stream()
-			.map(chatMessage -> {
-				List<String> images = chatImageRepository.findAllByChatMessageId(chatMessage.getId()).stream()
-					.map(ChatImage::getImageUrl).toList();
-				long unreadCount = chatMessageUserRepository.countUnreadByMessageId(chatMessage.getId());
-				return MessageSubscribe.of(chatMessage, images, chatMessage.getSender(), (int)unreadCount);
-			})
+		List<MessageSubscribe> messageSubscribes = messages.stream()
+			.map(message -> message.withUnreadCount(
+				(int)readWatermarks.countUnread(chatId, message.chatMessageId())))
 			.toList();
 
 		return new RecentChatResponse(chat.getName(), messageSubscribes);
 	}
 
-	public ChatOverviewResponse getChatOverview(Long userId, Long chatId) {
-		Chat chat = chatRepository.findById(chatId).orElseThrow(
-			() -> new WeGoException(CHAT_NOT_FOUND)
-		);
-		List<ChatUser> chatUserList = chatUserRepository.findAllChatUserByChatID(chatId);
-		User user = null;
-		for (ChatUser chatUser : chatUserList) {
-			if (chatUser.getUser().getId().equals(userId)) {
-				user = chatUser.getUser();
+	// 페이지 크기와 관계없이 메시지(+보낸 사람) 1회, 이미지 1회 조회
+	// chat_message 에서 페이지를 채우지 못하면 보관된 이전 메시지를 이어서 조회
+	private List<MessageSubscribe> findMessages(Long chatId, long beforeId, int size) {
+		List<MessageSubscribe> messages = withImages(
+			chatMessageRepository.findHistory(chatId, beforeId, PageRequest.of(0, size)));
+		if (messages.size() >= size) {
+			return messages;
+		}
+
+		long archivedBeforeId = messages.isEmpty() ? beforeId : messages.get(messages.size() - 1).chatMessageId();
+		List<MessageSubscribe> archived = chatMessageArchiveRepository.findHistory(chatId, archivedBeforeId,
+				PageRequest.of(0, size - messages.size())).stream()
+			.map(message -> MessageSubscribe.of(message.toHistoryMessage(), message.images(), 0))
+			.toList();
+		if (archived.isEmpty()) {
+			return messages;
+		}
+		List<MessageSubscribe> combined = new ArrayList<>(messages);
+		combined.addAll(archived);
+		return combined;
+	}
+
+	// 재구독한 클라이언트가 놓친 lastSeq 이후 메시지 - 버퍼에 없으면 DB, limit 을 넘으면 null(전체 기록을 다시 받아야 함)
+	public List<MessageSubscribe> getMessagesAfterSeq(Long chatId, long lastSeq, int limit) {
+		List<MessageSubscribe> messages = recentMessages.findAfterSeq(chatId, lastSeq, limit);
+		if (messages == null) {
+			List<ChatHistoryMessage> chatMessages = chatMessageRepository.findHistoryAfterSeq(chatId, lastSeq,
+				PageRequest.of(0, limit + 1));
+			if (chatMessages.size() > limit) {
+				return null;
+			}
+			messages = withImages(chatMessages);
+		}
+
+		return messages.stream()
+			.map(message -> message.withUnreadCount(
+				(int)readWatermarks.countUnread(chatId, message.chatMessageId())))
+			.toList();
+	}
+
+	private List<MessageSubscribe> withImages(List<ChatHistoryMessage> chatMessages) {
+		if (chatMessages.isEmpty()) {
+			return List.of();
+		}
+
+		Map<Long, List<String>> imagesByMessage = chatImageRepository.findAllByChatMessageIdIn(
+				chatMessages.stream().map(ChatHistoryMessage::chatMessageId).toList()).stream()
+			.collect(groupingBy(ChatMessageImage::chatMessageId, mapping(ChatMessageImage::imageUrl, toList())));
+
+		return chatMessages.stream()
+			.map(chatMessage -> MessageSubscribe.of(chatMessage,
+				imagesByMessage.getOrDefault(chatMessage.chatMessageId(), List.of()), 0))
+			.toList();
+	}
+
+	// 색인에서 후보 id 를 최신순으로 받아 본문으로 검색어를 다시 확인 - bigram 은 글자 순서까지 보장하지 않는다
+	public ChatSearchResponse searchMessages(Long userId, Long chatId, String query, int size, Long cursor) {
+		membershipIndex.verifyMember(chatId, userId);
+		Set<String> tokens = ChatMessageTokenizer.tokenize(query);
+		if (tokens.isEmpty() || size <= 0) {
+			throw new WeGoException(INVALID_INPUT_VALUE);
+		}
+		List<String> keywords = Arrays.stream(ChatMessageTokenizer.normalize(query).split("[^\\p{L}\\p{N}]+"))
+			.filter(keyword -> !keyword.isEmpty())
+			.toList();
+
+		List<ChatSearchResult> results = new ArrayList<>(size);
+		long beforeId = cursor == 0L ? Long.MAX_VALUE : cursor;
+		while (results.size() < size) {
+			long[] candidates = chatSearchIndex.search(chatId, tokens, beforeId, size,
+				(afterId, limit) -> chatMessageRepository.findTextsAfter(chatId, afterId, PageRequest.of(0, limit)));
+			if (candidates.length == 0) {
+				break;
+			}
+
+			Map<Long, ChatMessageText> texts = chatMessageRepository.findTextsByIdIn(chatId,
+					Arrays.stream(candidates).boxed().toList()).stream()
+				.collect(toMap(ChatMessageText::chatMessageId, text -> text));
+			for (long candidate : candidates) {
+				beforeId = candidate;
+				ChatMessageText text = texts.get(candidate);
+				String snippet = text == null ? null : snippet(text.message(), keywords);
+				if (snippet != null) {
+					results.add(ChatSearchResult.of(text, snippet));
+					if (results.size() == size) {
+						break;
+					}
+				}
+			}
+			if (candidates.length < size) {
 				break;
 			}
 		}
-		if (user == null) {
-			throw new WeGoException(USER_NOT_FOUND);
+
+		Long nextCursor = results.size() == size ? results.get(size - 1).chatMessageId() : null;
+		return new ChatSearchResponse(results, nextCursor);
+	}
+
+	// 모든 검색어가 본문에 있으면 첫 검색어 주변을 잘라서 반환, 하나라도 없으면 null
+	private String snippet(String message, List<String> keywords) {
+		String normalized = ChatMessageTokenizer.normalize(message);
+		if (keywords.stream().anyMatch(keyword -> !normalized.contains(keyword))) {
+			return null;
 		}
+		int index = Math.min(normalized.indexOf(keywords.get(0)), message.length());
+		int start = Math.max(0, index - 20);
+		int end = Math.min(message.length(), index + keywords.get(0).length() + 40);
+		return (start > 0 ? "…" : "") + message.substring(start, end) + (end < message.length() ? "…" : "");
+	}
+
+	public ChatOverviewResponse getChatOverview(Long userId, Long chatId) {
+		membershipIndex.verifyMember(chatId, userId);
+		List<ChatUser> chatUserList = chatUserRepository.findAllChatUserByChatID(chatId);
 
 		List<ParticipantsInfoResponse> participantsInfoResponses = chatUserList.stream()
 			.map(chatUser -> {
-				long userIsHost = travelUserRepository.countTravelWhereUserIsHost(chatUser.getId());
+				long userIsHost = travelUserRepository.countTravelWhereUserIsHost(chatUser.getUser().getId());
 				return ParticipantsInfoResponse.of(chatUser.getUser(), userIsHost);
 			}).toList();
 
@@ -336,16 +441,25 @@ public class ChatService {
 
 	@Transactional
 	public void readAllUnReadChatMessages(Long chatId, Long userId) {
-		chatMessageUserRepository.findAllUnReadMessageByUserIdAndChatId(userId, chatId)
-			.forEach(chatMessageUser -> {
-				chatMessageUser.markAsRead();
-				chatMessageUserRepository.flush();
-				long readCount = chatMessageUserRepository.countByChatMessageAndHasReadIsTrue(
-					chatMessageUser.getChatMessage());
-				long unreadCount = chatMessageUser.getChat().getCurrentMemberCount() - readCount;
-				messagingTemplate.convertAndSend("/sub/chat/read/" + chatId,
-					new MarkAsReadSubscribe(chatMessageUser.getChat().getId(), unreadCount));
-			});
+		long lastReadMessageId = readWatermarks.lastReadOf(chatId, userId);
+		long latestMessageId = chatMessageRepository.findLatestMessageIdByChatId(chatId).orElse(0L);
+		if (lastReadMessageId == ChatReadWatermarks.NOT_A_MEMBER || lastReadMessageId >= latestMessageId) {
+			return;
+		}
+
+		chatUserRepository.updateLastReadMessageId(chatId, userId, latestMessageId);
+		readWatermarks.advanceAfterCommit(chatId, userId, latestMessageId);
+
+		// 읽음 처리된 구간의 안읽은 수를 (messageId, unreadCount) 목록으로 묶어서 전송
+		List<MarkAsReadSubscribe> receipts = chatMessageRepository.findIdsInRange(chatId, lastReadMessageId,
+				latestMessageId).stream()
+			.map(chatMessageId -> new MarkAsReadSubscribe(chatMessageId,
+				readWatermarks.countUnreadExcept(chatId, chatMessageId, userId)))
+			.toList();
+		for (int from = 0; from < receipts.size(); from += readReceiptBatchSize) {
+			messagingTemplate.convertAndSend("/sub/chat/read/" + chatId, new MarkAsReadBatchSubscribe(chatId,
+				receipts.subList(from, Math.min(from + readReceiptBatchSize, receipts.size()))));
+		}
 	}
 
 	@Transactional
@@ -359,8 +473,10 @@ public class ChatService {
 		);
 		chatUserRepository.delete(deleteRequestUser);
 		chat.memberLeaved();
+		readWatermarks.memberLeftAfterCommit(chatId, userId);
+		membershipIndex.memberLeftAfterCommit(chatId, userId);
 
-		long userIsHost = travelUserRepository.countTravelWhereUserIsHost(deleteRequestUser.getId());
+		long userIsHost = travelUserRepository.countTravelWhereUserIsHost(userId);
 		AlarmSubscribe alarmSubscribe = new AlarmSubscribe(
 			chat.getId(),
 			chat.getCurrentMemberCount(),
@@ -369,8 +485,9 @@ public class ChatService {
 			ParticipantsInfoResponse.of(deleteRequestUser.getUser(), userIsHost)
 		);
 
-		travelUserRepository.findAllByTravel(chat.getTravel())
-			.forEach(travelUser -> messagingTemplate.convertAndSend("/sub/alarm/" + travelUser.getUser().getId(),
-				alarmSubscribe));
+		alarmDispatcher.send(travelRosterCache.userIds(chat.getTravel().getId()), alarmSubscribe);
+	}
+
+	private record ChatSummary(Chat chat, boolean hasJoined, long unreadMessageCount, Instant lastMessageTime) {
 	}
 }
@@ -0,0 +1,152 @@
+package potatoes.server.chat.service;
+
+import static potatoes.server.utils.constant.AlarmStatus.*;
+import static potatoes.server.utils.error.ErrorCode.*;
+import static potatoes.server.utils.time.DateTimeUtils.*;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.cache.ChatMembershipIndex;
+import potatoes.server.chat.cache.ChatReadWatermarks;
+import potatoes.server.chat.cache.ChatRecentMessages;
+import potatoes.server.chat.cache.ChatSequences;
+import potatoes.server.chat.dto.AlarmSubscribe;
+import potatoes.server.chat.dto.MessagePublish;
+import potatoes.server.chat.dto.MessageSubscribe;
+import potatoes.server.chat.dto.ParticipantsInfoResponse;
+import potatoes.server.chat.entity.Chat;
+import potatoes.server.chat.entity.ChatImage;
+import potatoes.server.chat.pipeline.ChatMessageWriter;
+import potatoes.server.chat.pipeline.ChatMessagesPersistedEvent;
+import potatoes.server.chat.pipeline.PendingChatMessage;
+import potatoes.server.chat.repository.ChatImageRepository;
+import potatoes.server.chat.repository.ChatRepository;
+import potatoes.server.chat.search.ChatSearchIndex;
+import potatoes.server.chat.stomp.AlarmDispatcher;
+import potatoes.server.chat.stomp.StompUserPrincipal;
+import potatoes.server.travel.cache.TravelRosterCache;
+import potatoes.server.travel.repository.TravelUserRepository;
+import potatoes.server.user.cache.UserProfileCache;
+import potatoes.server.user.entity.User;
+import potatoes.server.user.model.UserProfile;
+import potatoes.server.user.repository.UserRepository;
+import potatoes.server.utils.error.exception.WeGoException;
+import potatoes.server.utils.id.TimeOrderedIdGenerator;
+
+// chat.send.mode=WRITE_BEHIND - 메모리 상태로 검증 후 먼저 브로드캐스트하고 저장은 ChatMessageWriter 에 맡긴다
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class WriteBehindChatService {
+
+	private final SimpMessagingTemplate messagingTemplate;
+	private final ChatReadWatermarks readWatermarks;
+	private final ChatMembershipIndex membershipIndex;
+	private final ChatRecentMessages recentMessages;
+	private final ChatSequences chatSequences;
+	private final ChatSearchIndex chatSearchIndex;
+	private final UserProfileCache userProfileCache;
+	private final ChatMessageWriter chatMessageWriter;
+	private final ChatRepository chatRepository;
+	private final ChatImageRepository chatImageRepository;
+	private final TravelUserRepository travelUserRepository;
+	private final UserRepository userRepository;
+	private final TravelRosterCache travelRosterCache;
+	private final AlarmDispatcher alarmDispatcher;
+
+	public void send(Long chatId, MessagePublish message, StompUserPrincipal principal) {
+		Long senderId = principal.getUserId();
+		membershipIndex.verifyMember(chatId, senderId);
+		UserProfile sender = userProfileCache.get(senderId);
+
+		PendingChatMessage pending = new PendingChatMessage(
+			TimeOrderedIdGenerator.nextId(),
+			chatId,
+			chatSequences.next(chatId),
+			senderId,
+			principal.getSessionId(),
+			message.message(),
+			unlinkedImageUrls(message.images()),
+			Instant.now()
+		);
+
+		readWatermarks.advance(chatId, senderId, pending.id());
+		long unreadCount = readWatermarks.countUnread(chatId, pending.id());
+		messagingTemplate.convertAndSend("/sub/chat/" + chatId, MessageSubscribe.of(pending, sender, (int)unreadCount));
+
+		chatMessageWriter.write(pending);
+	}
+
+	// 업로드되었고 아직 메시지에 연결되지 않은 URL 만 브로드캐스트 - writer 도 같은 조건으로 연결하므로 기록과 어긋나지 않는다
+	private List<String> unlinkedImageUrls(String[] images) {
+		if (images == null || images.length == 0) {
+			return List.of();
+		}
+
+		List<String> imageUrls = List.of(images);
+		Set<String> unlinked = chatImageRepository.findUnlinkedByImageUrlHashIn(
+				imageUrls.stream().map(ChatImage::hashOf).distinct().toList()).stream()
+			.map(ChatImage::getImageUrl)
+			.collect(Collectors.toSet());
+		return imageUrls.stream().filter(unlinked::contains).distinct().toList();
+	}
+
+	// 최근 메시지 버퍼는 DB 조회 결과와 어긋나지 않도록 기록이 끝난 뒤에 채운다
+	@EventListener
+	public void appendRecentMessages(ChatMessagesPersistedEvent event) {
+		event.messages().forEach(message -> {
+			recentMessages.append(message.chatId(),
+				MessageSubscribe.of(message, userProfileCache.get(message.senderId()), 0));
+			chatSearchIndex.index(message.chatId(), message.id(), message.message());
+		});
+	}
+
+	// 기록이 끝난 메시지의 알림은 writer 스레드에서 채팅방 단위로 묶어서 발송
+	@EventListener
+	public void sendMessageAlarms(ChatMessagesPersistedEvent event) {
+		Map<Long, List<PendingChatMessage>> messagesByChat = event.messages().stream()
+			.collect(Collectors.groupingBy(PendingChatMessage::chatId));
+
+		messagesByChat.forEach((chatId, messages) -> {
+			Chat chat = chatRepository.findChatFetchJoinTravel(chatId).orElse(null);
+			if (chat == null) {
+				log.warn("알림 발송 대상 채팅방 없음: chatId={}", chatId);
+				return;
+			}
+
+			long[] recipients = travelRosterCache.userIds(chat.getTravel().getId());
+			Map<Long, User> senders = userRepository.findAllById(
+					messages.stream().map(PendingChatMessage::senderId).distinct().toList()).stream()
+				.collect(Collectors.toMap(User::getId, user -> user));
+			Map<Long, ParticipantsInfoResponse> participants = new HashMap<>();
+
+			messages.forEach(message -> {
+				User sender = senders.get(message.senderId());
+				if (sender == null) {
+					return;
+				}
+				ParticipantsInfoResponse participant = participants.computeIfAbsent(message.senderId(),
+					senderId -> ParticipantsInfoResponse.of(sender, travelUserRepository.countTravelWhereUserIsHost(senderId)));
+				AlarmSubscribe alarmSubscribe = new AlarmSubscribe(
+					chatId,
+					chat.getCurrentMemberCount(),
+					getYearMonthDay(message.createdAt()),
+					MESSAGE,
+					participant);
+
+				alarmDispatcher.send(recipients, alarmSubscribe);
+			});
+		});
+	}
+}
@@ -0,0 +1,63 @@
+package potatoes.server.chat.stomp;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import lombok.RequiredArgsConstructor;
+import potatoes.server.chat.cache.AlarmInbox;
+import potatoes.server.chat.dto.AlarmSubscribe;
+
+// 같은 알림을 참여자 수만큼 변환하지 않도록 한 번만 직렬화하고 인코딩된 payload 를 각 /sub/alarm/{userId} 로 전달
+@RequiredArgsConstructor
+@Component
+public class AlarmDispatcher {
+
+	private static final String ALARM_DESTINATION = "/sub/alarm/";
+
+	private final SimpMessagingTemplate messagingTemplate;
+	private final ChatPresenceRegistry presenceRegistry;
+	private final AlarmInbox alarmInbox;
+
+	public void send(long[] userIds, AlarmSubscribe alarm) {
+		if (userIds.length == 0) {
+			return;
+		}
+
+		Message<?> encoded = messagingTemplate.getMessageConverter()
+			.toMessage(alarm, SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE).getMessageHeaders());
+		if (encoded == null) {
+			throw new IllegalStateException("알림 직렬화 실패: " + alarm.getClass().getSimpleName());
+		}
+		Object payload = encoded.getPayload();
+		MimeType contentType = contentTypeOf(encoded.getHeaders());
+
+		for (long userId : userIds) {
+			// 접속중인 세션이 없는 유저는 구독자도 없으므로 보관함에 두고 재접속 시 전달
+			if (!presenceRegistry.mayBeOnline(userId)) {
+				alarmInbox.add(userId, alarm);
+				continue;
+			}
+			SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+			if (contentType != null) {
+				headerAccessor.setContentType(contentType);
+			}
+			headerAccessor.setLeaveMutable(true);
+			messagingTemplate.send(ALARM_DESTINATION + userId,
+				MessageBuilder.createMessage(payload, headerAccessor.getMessageHeaders()));
+		}
+	}
+
+	private MimeType contentTypeOf(MessageHeaders headers) {
+		Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+		if (contentType == null || contentType instanceof MimeType) {
+			return (MimeType)contentType;
+		}
+		return MimeType.valueOf(contentType.toString());
+	}
+}
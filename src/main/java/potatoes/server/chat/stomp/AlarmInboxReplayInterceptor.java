@@ -0,0 +1,57 @@
+package potatoes.server.chat.stomp;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import potatoes.server.chat.cache.AlarmInbox;
+import potatoes.server.chat.dto.MissedAlarm;
+import potatoes.server.chat.dto.MissedAlarmsSubscribe;
+
+// 브로커가 /sub/alarm/{userId} 구독을 등록한 직후 보관된 알림을 한 프레임으로 전달
+// SessionSubscribeEvent 시점에는 구독이 아직 등록되지 않았을 수 있어 브로커 처리 이후에 보낸다
+@Component
+public class AlarmInboxReplayInterceptor implements ExecutorChannelInterceptor {
+
+	private static final String ALARM_DESTINATION = "/sub/alarm/";
+
+	private final AlarmInbox alarmInbox;
+	private final SimpMessagingTemplate messagingTemplate;
+
+	public AlarmInboxReplayInterceptor(AlarmInbox alarmInbox, @Lazy SimpMessagingTemplate messagingTemplate) {
+		this.alarmInbox = alarmInbox;
+		this.messagingTemplate = messagingTemplate;
+	}
+
+	@Override
+	public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+		Exception ex) {
+		MessageHeaders headers = message.getHeaders();
+		if (ex != null || !(handler instanceof SimpleBrokerMessageHandler)
+			|| SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.SUBSCRIBE) {
+			return;
+		}
+
+		String destination = SimpMessageHeaderAccessor.getDestination(headers);
+		if (destination == null || !destination.startsWith(ALARM_DESTINATION)
+			|| !(SimpMessageHeaderAccessor.getUser(headers) instanceof StompUserPrincipal user)) {
+			return;
+		}
+
+		List<MissedAlarm> missedAlarms = alarmInbox.drain(user.getUserId());
+		if (!missedAlarms.isEmpty()) {
+			messagingTemplate.convertAndSend(ALARM_DESTINATION + user.getUserId(),
+				new MissedAlarmsSubscribe(missedAlarms));
+		}
+	}
+}
@@ -2,7 +2,6 @@ package potatoes.server.chat.stomp;
 
 import static potatoes.server.utils.error.ErrorCode.*;
 
-import java.util.List;
 import java.util.Map;
 
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
@@ -10,10 +9,7 @@ import org.springframework.stereotype.Component;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import potatoes.server.chat.entity.ChatUser;
-import potatoes.server.chat.repository.ChatRepository;
-import potatoes.server.chat.repository.ChatUserRepository;
-import potatoes.server.user.entity.User;
+import potatoes.server.chat.cache.ChatMembershipIndex;
 import potatoes.server.utils.error.exception.WeGoException;
 import potatoes.server.utils.jwt.JwtTokenUtil;
 
@@ -22,8 +18,7 @@ import potatoes.server.utils.jwt.JwtTokenUtil;
 @Component
 public class ChatEventHandler {
 
-	private final ChatUserRepository chatUserRepository;
-	private final ChatRepository chatRepository;
+	private final ChatMembershipIndex membershipIndex;
 	private final JwtTokenUtil jwtTokenProvider;
 
 	public void handleSubscribe(StompHeaderAccessor headerAccessor) {
@@ -47,10 +42,6 @@ public class ChatEventHandler {
 			throw new WeGoException(TOKEN_NOT_FOUND);
 		}
 
-		if (!jwtTokenProvider.validateToken(accessToken)) {
-			throw new WeGoException(UNAUTHORIZED);
-		}
-
 		long userId = Long.parseLong(jwtTokenProvider.getPayload(accessToken));
 		headerAccessor.setUser(new StompUserPrincipal(userId, headerAccessor.getSessionId()));
 	}
@@ -62,25 +53,13 @@ public class ChatEventHandler {
 			chatId = Long.parseLong(destinationSplit[2]);
 		} else if (destinationSplit.length == 4 && destinationSplit[2].equals("read")) {
 			chatId = Long.parseLong(destinationSplit[3]);
+		} else if (destinationSplit.length == 4 && destinationSplit[3].equals("typing")) {
+			chatId = Long.parseLong(destinationSplit[2]);
 		} else {
 			throw new WeGoException(STOMP_SUBSCRIBE_FAILED);
 		}
 
-		if (!chatRepository.existsById(chatId)) {
-			throw new WeGoException(CHAT_NOT_FOUND);
-		}
-
-		List<ChatUser> chatUserList = chatUserRepository.findAllChatUserByChatID(chatId);
-		User sender = null;
-		for (ChatUser chatUser : chatUserList) {
-			if (chatUser.getUser().getId().equals(userId)) {
-				sender = chatUser.getUser();
-				break;
-			}
-		}
-		if (sender == null) {
-			throw new WeGoException(USER_NOT_FOUND);
-		}
+		membershipIndex.verifyMember(chatId, userId);
 	}
 
 	private void alarmTopicVerification(String[] destinationSplit, Long userId) {
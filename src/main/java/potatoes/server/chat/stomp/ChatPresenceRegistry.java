@@ -0,0 +1,121 @@
+package potatoes.server.chat.stomp;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// STOMP 세션 수명주기로 관리하는 접속 현황 - userId -> sessionId 집합, chatId -> 구독중인 userId 별 세션 수
+// chat.broker.mode=REDIS 에서는 다른 노드의 세션을 모르므로 mayBeOnline / mayHaveOnlineMembers 는 항상 true
+// 그래서 REDIS 모드에서는 오프라인 알림 보관(AlarmInbox)과 구독자 없는 방의 읽음/입력중 발송 생략이 동작하지 않는다
+@Component
+public class ChatPresenceRegistry {
+
+	private final boolean authoritative;
+	private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+	private final Map<Long, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+	private final Map<Long, Map<Long, Integer>> onlineByChat = new ConcurrentHashMap<>();
+
+	public ChatPresenceRegistry(MeterRegistry meterRegistry, @Value("${chat.broker.mode:LOCAL}") String brokerMode) {
+		this.authoritative = !"REDIS".equalsIgnoreCase(brokerMode);
+		Gauge.builder("chat.presence.users", sessionsByUser, Map::size).register(meterRegistry);
+		Gauge.builder("chat.presence.sessions", sessions, Map::size).register(meterRegistry);
+	}
+
+	public synchronized void connected(String sessionId, Long userId) {
+		if (sessions.putIfAbsent(sessionId, new Session(userId)) == null) {
+			sessionsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(sessionId);
+		}
+	}
+
+	public synchronized void subscribed(String sessionId, String subscriptionId, Long chatId) {
+		Session session = sessions.get(sessionId);
+		if (session == null || session.chatBySubscription.putIfAbsent(subscriptionId, chatId) != null) {
+			return;
+		}
+		onlineByChat.computeIfAbsent(chatId, id -> new ConcurrentHashMap<>()).merge(session.userId, 1, Integer::sum);
+	}
+
+	public synchronized void unsubscribed(String sessionId, String subscriptionId) {
+		Session session = sessions.get(sessionId);
+		if (session == null) {
+			return;
+		}
+		Long chatId = session.chatBySubscription.remove(subscriptionId);
+		if (chatId != null) {
+			leaveChat(chatId, session.userId);
+		}
+	}
+
+	public synchronized void disconnected(String sessionId) {
+		Session session = sessions.remove(sessionId);
+		if (session == null) {
+			return;
+		}
+		session.chatBySubscription.values().forEach(chatId -> leaveChat(chatId, session.userId));
+		Set<String> userSessions = sessionsByUser.get(session.userId);
+		if (userSessions != null) {
+			userSessions.remove(sessionId);
+			if (userSessions.isEmpty()) {
+				sessionsByUser.remove(session.userId);
+			}
+		}
+	}
+
+	public boolean isOnline(Long userId) {
+		return sessionsByUser.containsKey(userId);
+	}
+
+	// 발송 생략 판단용 - 접속 현황을 전부 알 수 없는 구성에서는 보수적으로 true
+	public boolean mayBeOnline(Long userId) {
+		return !authoritative || isOnline(userId);
+	}
+
+	public boolean mayHaveOnlineMembers(Long chatId) {
+		return !authoritative || onlineByChat.containsKey(chatId);
+	}
+
+	public Set<Long> onlineMembers(Long chatId) {
+		Map<Long, Integer> members = onlineByChat.get(chatId);
+		return members == null ? Set.of() : Set.copyOf(members.keySet());
+	}
+
+	public Set<String> sessionsOf(Long userId) {
+		Set<String> userSessions = sessionsByUser.get(userId);
+		return userSessions == null ? Set.of() : Set.copyOf(userSessions);
+	}
+
+	public int onlineUserCount() {
+		return sessionsByUser.size();
+	}
+
+	public int sessionCount() {
+		return sessions.size();
+	}
+
+	private void leaveChat(Long chatId, Long userId) {
+		Map<Long, Integer> members = onlineByChat.get(chatId);
+		if (members == null) {
+			return;
+		}
+		members.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+		if (members.isEmpty()) {
+			onlineByChat.remove(chatId);
+		}
+	}
+
+	private static class Session {
+		private final Long userId;
+		private final Map<String, Long> chatBySubscription = new HashMap<>();
+
+		Session(Long userId) {
+			this.userId = userId;
+		}
+	}
+}
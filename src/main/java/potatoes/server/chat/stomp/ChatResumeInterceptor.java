@@ -0,0 +1,103 @@
+package potatoes.server.chat.stomp;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.dto.ChatResyncRequired;
+import potatoes.server.chat.dto.MessageSubscribe;
+import potatoes.server.chat.service.ChatService;
+
+// SUBSCRIBE /sub/chat/{chatId} 에 lastSeq 헤더가 있으면 놓친 메시지를 해당 구독에만 seq 순서로 다시 보낸다
+// 브로커가 구독을 등록한 직후 보내므로 실시간 메시지와 섞일 수 있어 클라이언트는 seq 로 중복을 거른다
+// seq 는 롤백으로 비어 있을 수 있으므로 lastSeq + 1 부터 이어지는지 따지지 않고 lastSeq 보다 큰 메시지를 모두 보낸다
+// 놓친 메시지가 max-messages 를 넘으면 resync 헤더가 붙은 ChatResyncRequired 를 보내 클라이언트가 기록을 다시 조회하게 한다
+// 모든 프레임은 brokerChannel 로 보내 ChatSubscriptionRegistry 가 해당 구독에만 전달 - 실시간 프레임과 같은 순서 보장 경로를 탄다
+@Slf4j
+@Component
+public class ChatResumeInterceptor implements ExecutorChannelInterceptor {
+
+	private static final String LAST_SEQ_HEADER = "lastSeq";
+	private static final String CHAT_DESTINATION = "/sub/chat/";
+	private static final String RESYNC_HEADER = "resync";
+
+	private final ChatService chatService;
+	private final SimpMessagingTemplate messagingTemplate;
+	private final int maxMessages;
+
+	public ChatResumeInterceptor(
+		@Lazy ChatService chatService,
+		@Lazy SimpMessagingTemplate messagingTemplate,
+		@Value("${chat.resume.max-messages:500}") int maxMessages
+	) {
+		this.chatService = chatService;
+		this.messagingTemplate = messagingTemplate;
+		this.maxMessages = maxMessages;
+	}
+
+	@Override
+	public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+		Exception ex) {
+		MessageHeaders headers = message.getHeaders();
+		if (ex != null || !(handler instanceof SimpleBrokerMessageHandler)
+			|| SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.SUBSCRIBE) {
+			return;
+		}
+
+		String lastSeq = NativeMessageHeaderAccessor.getFirstNativeHeader(LAST_SEQ_HEADER, headers);
+		String destination = SimpMessageHeaderAccessor.getDestination(headers);
+		if (lastSeq == null || destination == null || !destination.startsWith(CHAT_DESTINATION)) {
+			return;
+		}
+		String[] split = destination.substring(CHAT_DESTINATION.length()).split("/");
+		if (split.length != 1 || split[0].equals("read")) {
+			return;
+		}
+
+		try {
+			resume(Long.valueOf(split[0]), Long.parseLong(lastSeq), destination,
+				SimpMessageHeaderAccessor.getSessionId(headers), SimpMessageHeaderAccessor.getSubscriptionId(headers));
+		} catch (RuntimeException e) {
+			// 이어받기에 실패해도 구독은 유지 - 클라이언트는 seq 공백으로 감지하고 기록을 다시 조회한다
+			log.warn("채팅 이어받기 실패: destination={}, lastSeq={}, {}", destination, lastSeq, e.getMessage());
+		}
+	}
+
+	private void resume(Long chatId, long lastSeq, String destination, String sessionId, String subscriptionId) {
+		List<MessageSubscribe> missed = chatService.getMessagesAfterSeq(chatId, lastSeq, maxMessages);
+		if (missed == null) {
+			log.info("이어받을 메시지가 너무 많아 재동기화 요청: chatId={}, lastSeq={}", chatId, lastSeq);
+			send(destination, sessionId, subscriptionId, new ChatResyncRequired(chatId, lastSeq, maxMessages), true);
+			return;
+		}
+
+		for (MessageSubscribe messageSubscribe : missed) {
+			send(destination, sessionId, subscriptionId, messageSubscribe, false);
+		}
+	}
+
+	private void send(String destination, String sessionId, String subscriptionId, Object payload, boolean resync) {
+		SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		headerAccessor.setSessionId(sessionId);
+		headerAccessor.setSubscriptionId(subscriptionId);
+		headerAccessor.setHeader(ChatSubscriptionRegistry.TARGET_SUBSCRIPTION, Boolean.TRUE);
+		if (resync) {
+			headerAccessor.setNativeHeader(RESYNC_HEADER, "true");
+		}
+		headerAccessor.setLeaveMutable(true);
+		messagingTemplate.convertAndSend(destination, payload, headerAccessor.getMessageHeaders());
+	}
+}
@@ -0,0 +1,32 @@
+package potatoes.server.chat.stomp;
+
+import java.util.List;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+// TARGET_SUBSCRIPTION 헤더가 있는 프레임은 simpSessionId/simpSubscriptionId 의 구독 하나에만 전달
+// 이어받기 프레임을 브로커를 거쳐 보내 실시간 프레임과 같은 세션별 순서 보장 경로를 타게 한다
+public class ChatSubscriptionRegistry extends DefaultSubscriptionRegistry {
+
+	public static final String TARGET_SUBSCRIPTION = "wegoTargetSubscription";
+
+	@Override
+	protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+		MultiValueMap<String, String> subscriptions = super.findSubscriptionsInternal(destination, message);
+		if (!message.getHeaders().containsKey(TARGET_SUBSCRIPTION)) {
+			return subscriptions;
+		}
+
+		String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+		String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+		MultiValueMap<String, String> target = new LinkedMultiValueMap<>(1);
+		if (sessionId != null && subscriptions.getOrDefault(sessionId, List.of()).contains(subscriptionId)) {
+			target.add(sessionId, subscriptionId);
+		}
+		return target;
+	}
+}
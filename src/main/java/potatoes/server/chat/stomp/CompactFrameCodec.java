@@ -0,0 +1,291 @@
+package potatoes.server.chat.stomp;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.dto.AlarmSubscribe;
+import potatoes.server.chat.dto.MarkAsReadBatchSubscribe;
+import potatoes.server.chat.dto.MarkAsReadSubscribe;
+import potatoes.server.chat.dto.MessageSubscribe;
+import potatoes.server.chat.dto.ParticipantsInfoResponse;
+
+// CONNECT 헤더 frame-encoding: compact 를 보낸 세션에는 채팅/알림/읽음 프레임을 바이너리로 변환해서 전달
+// 변환한 프레임은 content-type application/octet-stream + frame-encoding: compact 헤더로 보낸다
+// StompSubProtocolHandler 는 octet-stream 일 때만 BinaryMessage 로 보내므로 다른 타입을 쓰면 TextMessage 로 깨진다
+// 프레임 = record 반복, 정수는 varint, 문자열은 varint(길이 + 1, 0 은 null) + UTF-8
+//   PROFILE(0)     ref, nickname, profileImage
+//   PARTICIPANT(1) ref, nickname, email, description, travelCount, profileImage
+//   MESSAGE(2)     chatMessageId, seq + 1, profileRef, imageCount, images..., content, createdAt, unreadCount
+//   ALARM(3)       chatId, currentMemberCount, sendAt, status, participantRef
+//   READ_BATCH(4)  chatId, count, (chatMessageId 이전 값과의 zigzag 차이, unreadCount)...
+// 프로필은 세션마다 처음 한 번만 정의하고 이후에는 ref 로 참조, ref 0 은 캐시하지 않는 일회성 정의
+// 세션 순서 보장이 꺼져 있으면 정의보다 참조가 먼저 도착할 수 있어 항상 ref 0 으로 보낸다
+@Slf4j
+@Component
+public class CompactFrameCodec implements ChannelInterceptor {
+
+	public static final MimeType CONTENT_TYPE = MimeTypeUtils.APPLICATION_OCTET_STREAM;
+	private static final String ENCODING_HEADER = "frame-encoding";
+	private static final String COMPACT = "compact";
+	private static final String CHAT_DESTINATION = "/sub/chat/";
+	private static final String READ_DESTINATION = "/sub/chat/read/";
+	private static final String ALARM_DESTINATION = "/sub/alarm/";
+
+	private static final int PROFILE = 0;
+	private static final int PARTICIPANT = 1;
+	private static final int MESSAGE = 2;
+	private static final int ALARM = 3;
+	private static final int READ_BATCH = 4;
+	private static final Object NOT_COMPACT = new Object();
+
+	private final ObjectMapper objectMapper;
+	private final Map<String, SessionDictionary> sessions = new ConcurrentHashMap<>();
+	// 브로커는 구독자 모두에게 같은 payload 배열을 넘기므로 JSON 해석은 브로드캐스트당 한 번
+	private final Map<byte[], Object> decoded = Collections.synchronizedMap(new WeakHashMap<>());
+	private final boolean cacheProfiles;
+	private final int maxProfiles;
+	private final DistributionSummary jsonBytes;
+	private final DistributionSummary compactBytes;
+	private final Timer encodeTimer;
+
+	public CompactFrameCodec(
+		ObjectMapper objectMapper,
+		MeterRegistry meterRegistry,
+		@Value("${chat.channel.preserve-order:true}") boolean preserveOrder,
+		@Value("${chat.codec.compact.max-profiles:1024}") int maxProfiles
+	) {
+		this.objectMapper = objectMapper;
+		this.cacheProfiles = preserveOrder;
+		this.maxProfiles = maxProfiles;
+		this.jsonBytes = DistributionSummary.builder("chat.codec.frame.bytes")
+			.tag("encoding", "json")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		this.compactBytes = DistributionSummary.builder("chat.codec.frame.bytes")
+			.tag("encoding", COMPACT)
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		this.encodeTimer = meterRegistry.timer("chat.codec.compact.encode");
+	}
+
+	// clientInboundChannel 에서는 CONNECT/DISCONNECT, clientOutboundChannel 에서는 MESSAGE 를 처리
+	@Override
+	public Message<?> preSend(Message<?> message, MessageChannel channel) {
+		SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+		String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+		if (sessionId == null || messageType == null) {
+			return message;
+		}
+
+		switch (messageType) {
+			case CONNECT -> negotiate(sessionId, message);
+			case DISCONNECT -> sessions.remove(sessionId);
+			case MESSAGE -> {
+				SessionDictionary dictionary = sessions.get(sessionId);
+				if (dictionary != null && message.getPayload() instanceof byte[] payload) {
+					return transcode(message, payload, dictionary);
+				}
+			}
+			default -> {
+			}
+		}
+		return message;
+	}
+
+	private void negotiate(String sessionId, Message<?> message) {
+		StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(message);
+		if (COMPACT.equalsIgnoreCase(headerAccessor.getFirstNativeHeader(ENCODING_HEADER))) {
+			sessions.put(sessionId, new SessionDictionary());
+		}
+	}
+
+	private Message<?> transcode(Message<?> message, byte[] payload, SessionDictionary dictionary) {
+		Object frame = decoded.get(payload);
+		if (frame == null) {
+			frame = decode(SimpMessageHeaderAccessor.getDestination(message.getHeaders()), payload);
+			decoded.put(payload, frame);
+		}
+		if (frame == NOT_COMPACT) {
+			return message;
+		}
+
+		long startedAt = System.nanoTime();
+		byte[] encoded;
+		synchronized (dictionary) {
+			FrameWriter writer = new FrameWriter();
+			if (frame instanceof MessageSubscribe messageSubscribe) {
+				writeMessage(writer, messageSubscribe, dictionary);
+			} else if (frame instanceof AlarmSubscribe alarmSubscribe) {
+				writeAlarm(writer, alarmSubscribe, dictionary);
+			} else {
+				writeReadBatch(writer, (MarkAsReadBatchSubscribe)frame);
+			}
+			encoded = writer.toByteArray();
+		}
+		encodeTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+		jsonBytes.record(payload.length);
+		compactBytes.record(encoded.length);
+
+		SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.wrap(message);
+		headerAccessor.setContentType(CONTENT_TYPE);
+		headerAccessor.setNativeHeader(ENCODING_HEADER, COMPACT);
+		return MessageBuilder.createMessage(encoded, headerAccessor.getMessageHeaders());
+	}
+
+	// 목적지로 타입을 고르고 필드로 한 번 더 확인 - 놓친 알림 묶음 같은 다른 프레임은 JSON 그대로 전달
+	private Object decode(String destination, byte[] json) {
+		if (destination == null) {
+			return NOT_COMPACT;
+		}
+		try {
+			JsonNode node = objectMapper.readTree(json);
+			if (destination.startsWith(READ_DESTINATION) && node.has("receipts")) {
+				return objectMapper.treeToValue(node, MarkAsReadBatchSubscribe.class);
+			}
+			if (destination.startsWith(CHAT_DESTINATION) && node.has("chatMessageId")) {
+				return objectMapper.treeToValue(node, MessageSubscribe.class);
+			}
+			if (destination.startsWith(ALARM_DESTINATION) && node.has("status") && node.hasNonNull("participant")) {
+				return objectMapper.treeToValue(node, AlarmSubscribe.class);
+			}
+		} catch (Exception e) {
+			log.warn("compact 변환 실패, JSON 으로 전달: destination={}, {}", destination, e.getMessage());
+		}
+		return NOT_COMPACT;
+	}
+
+	private void writeMessage(FrameWriter writer, MessageSubscribe message, SessionDictionary dictionary) {
+		int profileRef = dictionary.ref(new Profile(message.sender(), message.senderProfileImage()), (ref, profile) -> {
+			writer.writeVarInt(PROFILE);
+			writer.writeVarInt(ref);
+			writer.writeString(profile.nickname());
+			writer.writeString(profile.profileImage());
+		});
+
+		List<String> images = message.images() == null ? List.of() : message.images();
+		writer.writeVarInt(MESSAGE);
+		writer.writeVarLong(message.chatMessageId());
+		writer.writeVarLong(message.seq() == null ? 0 : message.seq() + 1);
+		writer.writeVarInt(profileRef);
+		writer.writeVarInt(images.size());
+		images.forEach(writer::writeString);
+		writer.writeString(message.content());
+		writer.writeString(message.createdAt());
+		writer.writeVarInt(message.unreadCount());
+	}
+
+	private void writeAlarm(FrameWriter writer, AlarmSubscribe alarm, SessionDictionary dictionary) {
+		int participantRef = dictionary.ref(alarm.participant(), (ref, participant) -> {
+			writer.writeVarInt(PARTICIPANT);
+			writer.writeVarInt(ref);
+			writer.writeString(participant.nickname());
+			writer.writeString(participant.email());
+			writer.writeString(participant.description());
+			writer.writeVarLong(participant.travelCount());
+			writer.writeString(participant.profileImage());
+		});
+
+		writer.writeVarInt(ALARM);
+		writer.writeVarLong(alarm.chatId());
+		writer.writeVarInt(alarm.currentMemberCount());
+		writer.writeString(alarm.sendAt());
+		writer.writeVarInt(alarm.status().ordinal());
+		writer.writeVarInt(participantRef);
+	}
+
+	private void writeReadBatch(FrameWriter writer, MarkAsReadBatchSubscribe batch) {
+		writer.writeVarInt(READ_BATCH);
+		writer.writeVarLong(batch.chatId());
+		writer.writeVarInt(batch.receipts().size());
+		long previous = 0;
+		for (MarkAsReadSubscribe receipt : batch.receipts()) {
+			long delta = receipt.chatMessageId() - previous;
+			writer.writeVarLong((delta << 1) ^ (delta >> 63));
+			writer.writeVarLong(receipt.unreadCount() == null ? 0 : receipt.unreadCount());
+			previous = receipt.chatMessageId();
+		}
+	}
+
+	private record Profile(String nickname, String profileImage) {
+	}
+
+	@FunctionalInterface
+	private interface Definition<T> {
+		void write(int ref, T value);
+	}
+
+	// 세션에 이미 보낸 프로필 -> ref, 가득 차면 이후 프로필은 ref 0 으로 매번 정의
+	private class SessionDictionary {
+		private final Map<Object, Integer> refs = new HashMap<>();
+
+		<T> int ref(T value, Definition<T> definition) {
+			Integer ref = refs.get(value);
+			if (ref != null) {
+				return ref;
+			}
+			if (!cacheProfiles || refs.size() >= maxProfiles) {
+				definition.write(0, value);
+				return 0;
+			}
+			ref = refs.size() + 1;
+			refs.put(value, ref);
+			definition.write(ref, value);
+			return ref;
+		}
+	}
+
+	private static class FrameWriter extends ByteArrayOutputStream {
+
+		FrameWriter() {
+			super(128);
+		}
+
+		void writeVarInt(int value) {
+			writeVarLong(Integer.toUnsignedLong(value));
+		}
+
+		void writeVarLong(long value) {
+			while ((value & ~0x7FL) != 0) {
+				write((int)((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			write((int)value);
+		}
+
+		void writeString(String value) {
+			if (value == null) {
+				writeVarInt(0);
+				return;
+			}
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(bytes.length + 1);
+			write(bytes, 0, bytes.length);
+		}
+	}
+}
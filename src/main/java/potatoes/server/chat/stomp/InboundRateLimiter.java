@@ -0,0 +1,189 @@
+package potatoes.server.chat.stomp;
+
+import static potatoes.server.utils.error.ErrorCode.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.dto.ChatFrameRejected;
+
+// SEND 프레임을 DB 작업 전에 토큰 버킷으로 제한 - 세션은 모든 SEND, 사용자/채팅방은 /pub/chat/{chatId} 메시지 전송
+// 입력중 표시 /pub/chat/{chatId}/typing 은 메시지 전송 한도를 쓰지 않고 사용자별 typing 버킷만 사용
+// chat.rate-limit.{session|user|room|typing}.rate-per-second / burst, rate 가 0 이하면 해당 버킷 비활성
+// 한도를 넘은 프레임은 연결을 유지한 채 버리고 보낸 세션에만 /user/sub/chat/error 로 알린다
+// STOMP ERROR 프레임을 보내면 StompSubProtocolHandler 가 세션을 닫으므로 쓰지 않는다
+@Slf4j
+@Component
+public class InboundRateLimiter {
+
+	private static final String CHAT_SEND_DESTINATION = "/pub/chat/";
+	private static final String READ_DESTINATION = "/pub/chat/read/";
+	private static final String TYPING_SUFFIX = "/typing";
+	private static final String REJECTED_DESTINATION = "/sub/chat/error";
+
+	private final Limit session;
+	private final Limit user;
+	private final Limit room;
+	private final Limit typing;
+	private final Counter unauthenticated;
+	private final ScheduledExecutorService sweeper;
+	private final SimpMessagingTemplate messagingTemplate;
+
+	public InboundRateLimiter(Environment environment, MeterRegistry meterRegistry,
+		@Lazy SimpMessagingTemplate messagingTemplate) {
+		this.messagingTemplate = messagingTemplate;
+		this.session = new Limit("session", environment, meterRegistry, 20, 40);
+		this.user = new Limit("user", environment, meterRegistry, 5, 20);
+		this.room = new Limit("room", environment, meterRegistry, 100, 300);
+		this.typing = new Limit("typing", environment, meterRegistry, 2, 5);
+		this.unauthenticated = meterRegistry.counter("chat.rate-limit.rejected", "scope", "unauthenticated");
+		this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "stomp-rate-limit-sweeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PostConstruct
+	void start() {
+		sweeper.scheduleWithFixedDelay(this::sweep, 30, 30, TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	void stop() {
+		sweeper.shutdownNow();
+	}
+
+	// 통과시킬 프레임이면 true - 사용자 한도를 적용할 SEND 에 principal 이 없으면 버킷을 건너뛰지 않고 버린다
+	public boolean tryAcquire(StompHeaderAccessor headerAccessor) {
+		long now = System.nanoTime();
+		if (!session.tryAcquire(headerAccessor.getSessionId(), now)) {
+			return false;
+		}
+
+		String destination = headerAccessor.getDestination();
+		if (destination == null || !destination.startsWith(CHAT_SEND_DESTINATION)
+			|| destination.startsWith(READ_DESTINATION)) {
+			return true;
+		}
+		if (!(headerAccessor.getUser() instanceof StompUserPrincipal principal)) {
+			unauthenticated.increment();
+			return false;
+		}
+		if (destination.endsWith(TYPING_SUFFIX)) {
+			return typing.tryAcquire(principal.getUserId(), now);
+		}
+		return user.tryAcquire(principal.getUserId(), now)
+			&& room.tryAcquire(destination.substring(CHAT_SEND_DESTINATION.length()), now);
+	}
+
+	// 입력중 표시는 다음 입력에서 다시 보내므로 알리지 않는다
+	public void notifyRejected(StompHeaderAccessor headerAccessor) {
+		String sessionId = headerAccessor.getSessionId();
+		String destination = headerAccessor.getDestination();
+		if (sessionId == null || (destination != null && destination.endsWith(TYPING_SUFFIX))) {
+			return;
+		}
+		SimpMessageHeaderAccessor noticeHeaderAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		noticeHeaderAccessor.setSessionId(sessionId);
+		noticeHeaderAccessor.setLeaveMutable(true);
+		messagingTemplate.convertAndSendToUser(sessionId, REJECTED_DESTINATION,
+			ChatFrameRejected.of(destination, STOMP_RATE_LIMITED),
+			noticeHeaderAccessor.getMessageHeaders());
+	}
+
+	// 다 채워진 버킷은 새로 만든 버킷과 같으므로 지워도 제한 결과가 달라지지 않는다
+	private void sweep() {
+		try {
+			long now = System.nanoTime();
+			session.sweep(now);
+			user.sweep(now);
+			room.sweep(now);
+			typing.sweep(now);
+		} catch (RuntimeException e) {
+			log.error("rate limit 버킷 정리 실패: {}", e.getMessage(), e);
+		}
+	}
+
+	private static class Limit {
+		private final Map<Object, TokenBucket> buckets = new ConcurrentHashMap<>();
+		private final long emissionIntervalNanos;
+		private final long burstToleranceNanos;
+		private final Counter rejected;
+
+		Limit(String scope, Environment environment, MeterRegistry meterRegistry, double defaultRate,
+			int defaultBurst) {
+			String prefix = "chat.rate-limit." + scope + ".";
+			double rate = environment.getProperty(prefix + "rate-per-second", Double.class, defaultRate);
+			int burst = Math.max(1, environment.getProperty(prefix + "burst", Integer.class, defaultBurst));
+			this.emissionIntervalNanos = rate <= 0 ? 0 : (long)(TimeUnit.SECONDS.toNanos(1) / rate);
+			this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+			this.rejected = meterRegistry.counter("chat.rate-limit.rejected", "scope", scope);
+			Gauge.builder("chat.rate-limit.buckets", buckets, Map::size).tag("scope", scope).register(meterRegistry);
+		}
+
+		boolean tryAcquire(Object key, long now) {
+			if (emissionIntervalNanos == 0) {
+				return true;
+			}
+			if (key == null) {
+				rejected.increment();
+				return false;
+			}
+			if (buckets.computeIfAbsent(key, k -> new TokenBucket(now)).tryAcquire(now, emissionIntervalNanos,
+				burstToleranceNanos)) {
+				return true;
+			}
+			rejected.increment();
+			return false;
+		}
+
+		void sweep(long now) {
+			buckets.values().removeIf(bucket -> bucket.isFull(now));
+		}
+	}
+
+	// GCRA - 다음 토큰이 이론상 도착하는 시각 하나만 CAS 로 갱신하는 lock-free 토큰 버킷
+	private static class TokenBucket {
+		private final AtomicLong theoreticalArrival;
+
+		TokenBucket(long now) {
+			this.theoreticalArrival = new AtomicLong(now);
+		}
+
+		boolean tryAcquire(long now, long emissionInterval, long burstTolerance) {
+			while (true) {
+				long arrival = theoreticalArrival.get();
+				if (arrival - burstTolerance > now) {
+					return false;
+				}
+				long next = Math.max(arrival, now) + emissionInterval;
+				if (theoreticalArrival.compareAndSet(arrival, next)) {
+					return true;
+				}
+			}
+		}
+
+		boolean isFull(long now) {
+			return theoreticalArrival.get() <= now;
+		}
+	}
+}
@@ -0,0 +1,302 @@
+package potatoes.server.chat.stomp;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import potatoes.server.utils.constant.SlowConsumerPolicy;
+
+// 세션별 전송 대기 프레임 수와 진행중인 전송 시간을 추적해 느린 세션을 판별
+// 대기 프레임 = 브로커가 세션에 보내기로 한 프레임 중 아직 STOMP 핸들러가 처리하지 않은 프레임
+// preserve-order 에서는 스프링이 세션별로 한 프레임씩만 clientOutboundChannel 에 넣고 나머지는 채널 앞에 쌓아두므로
+// 채널이 아니라 brokerChannel 에서 구독 세션마다 세고(brokerInterceptor), 처리 완료나 전송 취소 때 뺀다
+// 구독 목록은 브로커가 SUBSCRIBE 를 처리한 뒤 기록하고 UNSUBSCRIBE 를 처리하기 전에 지우므로(subscriptionTracker) 센 프레임은 반드시 전달된다
+// 핸들러가 넘긴 뒤 소켓에 쓰이지 못한 프레임은 스프링의 세션 버퍼에 쌓이므로 진행중인 소켓 전송 시간으로 판별한다
+// clientOutboundChannel 에서 느린 세션으로 가는 읽음/입력중 표시 같은 비핵심 프레임은 버리거나(DROP_NON_CRITICAL) 연결을 끊는다(DISCONNECT)
+// send-time-limit / send-buffer-size-limit 을 넘으면 스프링이 세션을 종료하므로 이 정책은 그 이전 단계의 완화 장치
+// 채널 앞에 쌓인 프레임은 스프링의 버퍼 한도에 잡히지 않으므로 max-queue-depth 를 넘으면 정책과 관계없이 연결을 끊는다
+@Slf4j
+@Component
+public class SlowConsumerGuard implements ExecutorChannelInterceptor {
+
+	private static final List<String> NON_CRITICAL_PREFIXES = List.of("/sub/chat/read/");
+	private static final List<String> NON_CRITICAL_SUFFIXES = List.of("/typing");
+	// brokerChannel 에서 센 프레임 표시 - 브로커가 세션별 프레임을 만들 때 원본 헤더를 복사한다
+	static final String COUNTED = "wegoSlowConsumerCounted";
+
+	private final Map<String, SessionFlow> flows = new ConcurrentHashMap<>();
+	// destination -> "sessionId/subscriptionId" -> 구독 세션
+	private final Map<String, Map<String, SessionFlow>> subscribers = new ConcurrentHashMap<>();
+	private final SlowConsumerPolicy policy;
+	private final int slowQueueDepth;
+	private final int maxQueueDepth;
+	private final long slowSendNanos;
+	private final Counter dropped;
+	private final Counter disconnected;
+	private final DistributionSummary queueDepth;
+
+	public SlowConsumerGuard(
+		MeterRegistry meterRegistry,
+		@Value("${chat.ws.slow-consumer.policy:DROP_NON_CRITICAL}") SlowConsumerPolicy policy,
+		@Value("${chat.ws.slow-consumer.queue-depth:200}") int slowQueueDepth,
+		@Value("${chat.ws.slow-consumer.max-queue-depth:1000}") int maxQueueDepth,
+		@Value("${chat.ws.slow-consumer.send-time:2s}") Duration slowSendTime
+	) {
+		this.policy = policy;
+		this.slowQueueDepth = slowQueueDepth;
+		this.maxQueueDepth = maxQueueDepth;
+		this.slowSendNanos = slowSendTime.toNanos();
+		this.dropped = meterRegistry.counter("chat.ws.slow-consumer.dropped");
+		this.disconnected = meterRegistry.counter("chat.ws.slow-consumer.disconnected");
+		this.queueDepth = DistributionSummary.builder("chat.ws.session.queue-depth")
+			.baseUnit("frames")
+			.register(meterRegistry);
+		Gauge.builder("chat.ws.slow-consumer.sessions", flows,
+			sessions -> sessions.values().stream().filter(this::isSlow).count()).register(meterRegistry);
+	}
+
+	public WebSocketHandler decorate(WebSocketHandler handler) {
+		return new WebSocketHandlerDecorator(handler) {
+			@Override
+			public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+				SessionFlow flow = new SessionFlow(session);
+				flows.put(session.getId(), flow);
+				super.afterConnectionEstablished(new FlowTrackingSession(session, flow));
+			}
+
+			@Override
+			public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+				SessionFlow flow = flows.remove(session.getId());
+				if (flow != null) {
+					unsubscribeAll(flow);
+				}
+				super.afterConnectionClosed(session, closeStatus);
+			}
+		};
+	}
+
+	// clientInboundChannel - 브로커 핸들러가 처리한 SUBSCRIBE / 처리하기 전의 UNSUBSCRIBE 로 구독 목록을 맞춘다
+	public ExecutorChannelInterceptor subscriptionTracker() {
+		return new ExecutorChannelInterceptor() {
+			@Override
+			public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+				if (handler instanceof AbstractBrokerMessageHandler
+					&& SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.UNSUBSCRIBE) {
+					SessionFlow flow = flowOf(message);
+					String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+					if (flow != null && subscriptionId != null) {
+						unsubscribe(flow, subscriptionId);
+					}
+				}
+				return message;
+			}
+
+			@Override
+			public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+				Exception ex) {
+				if (ex != null || !(handler instanceof AbstractBrokerMessageHandler)
+					|| SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.SUBSCRIBE) {
+					return;
+				}
+				SessionFlow flow = flowOf(message);
+				String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+				String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+				if (flow != null && subscriptionId != null && destination != null) {
+					flow.subscriptions.put(subscriptionId, destination);
+					subscribers.computeIfAbsent(destination, key -> new ConcurrentHashMap<>())
+						.put(flow.session.getId() + "/" + subscriptionId, flow);
+				}
+			}
+		};
+	}
+
+	// brokerChannel - 브로커가 구독 세션마다 내보낼 프레임을 미리 센다
+	public ChannelInterceptor brokerInterceptor() {
+		return new ChannelInterceptor() {
+			@Override
+			public Message<?> preSend(Message<?> message, MessageChannel channel) {
+				if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+					return message;
+				}
+				String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+				Map<String, SessionFlow> sessions = destination == null ? null : subscribers.get(destination);
+				if (sessions == null || sessions.isEmpty()) {
+					return message;
+				}
+				// 이어받기 프레임은 지정된 구독 하나에만 전달된다
+				Collection<SessionFlow> targets = sessions.values();
+				if (message.getHeaders().containsKey(ChatSubscriptionRegistry.TARGET_SUBSCRIPTION)) {
+					SessionFlow target = sessions.get(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()) + "/"
+						+ SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders()));
+					targets = target == null ? List.of() : List.of(target);
+				}
+				if (targets.isEmpty()) {
+					return message;
+				}
+				for (SessionFlow flow : targets) {
+					int queued = flow.queued.incrementAndGet();
+					queueDepth.record(queued);
+					if (queued > maxQueueDepth) {
+						disconnect(flow);
+					}
+				}
+				return MessageBuilder.fromMessage(message).setHeader(COUNTED, Boolean.TRUE).build();
+			}
+		};
+	}
+
+	@Override
+	public Message<?> preSend(Message<?> message, MessageChannel channel) {
+		SessionFlow flow = flowOf(message);
+		if (flow == null) {
+			return message;
+		}
+
+		if (isSlow(flow)) {
+			if (policy == SlowConsumerPolicy.DISCONNECT) {
+				disconnect(flow);
+				return null;
+			}
+			if (isNonCritical(message)) {
+				dropped.increment();
+				return null;
+			}
+		}
+		return message;
+	}
+
+	// 뒤의 인터셉터가 버렸거나 executor 에 넘기지 못한 프레임 - 핸들러까지 가지 않으므로 여기서 뺀다
+	@Override
+	public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+		if (!sent) {
+			release(message);
+		}
+	}
+
+	// 핸들러가 처리를 마친 프레임 - 소켓에 썼거나 스프링의 세션 버퍼로 넘어갔다
+	@Override
+	public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+		Exception ex) {
+		release(message);
+	}
+
+	// brokerChannel 에서 센 프레임만 뺀다 - CONNECTED, RECEIPT 처럼 브로커를 거치지 않은 프레임은 세지 않았다
+	private void release(Message<?> message) {
+		if (!message.getHeaders().containsKey(COUNTED)) {
+			return;
+		}
+		SessionFlow flow = flowOf(message);
+		if (flow != null) {
+			flow.queued.updateAndGet(queued -> Math.max(0, queued - 1));
+		}
+	}
+
+	private SessionFlow flowOf(Message<?> message) {
+		String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+		return sessionId == null ? null : flows.get(sessionId);
+	}
+
+	private void unsubscribeAll(SessionFlow flow) {
+		List.copyOf(flow.subscriptions.keySet()).forEach(subscriptionId -> unsubscribe(flow, subscriptionId));
+	}
+
+	private void unsubscribe(SessionFlow flow, String subscriptionId) {
+		String destination = flow.subscriptions.remove(subscriptionId);
+		if (destination != null) {
+			subscribers.computeIfPresent(destination, (key, sessions) -> {
+				sessions.remove(flow.session.getId() + "/" + subscriptionId);
+				return sessions.isEmpty() ? null : sessions;
+			});
+		}
+	}
+
+	int queued(String sessionId) {
+		SessionFlow flow = flows.get(sessionId);
+		return flow == null ? 0 : flow.queued.get();
+	}
+
+	private boolean isSlow(SessionFlow flow) {
+		long sendStartedAt = flow.sendStartedAt;
+		return flow.queued.get() > slowQueueDepth
+			|| (sendStartedAt != 0 && System.nanoTime() - sendStartedAt > slowSendNanos);
+	}
+
+	private boolean isNonCritical(Message<?> message) {
+		String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+		return destination != null && (NON_CRITICAL_PREFIXES.stream().anyMatch(destination::startsWith)
+			|| NON_CRITICAL_SUFFIXES.stream().anyMatch(destination::endsWith));
+	}
+
+	private void disconnect(SessionFlow flow) {
+		if (flows.remove(flow.session.getId()) == null) {
+			return;
+		}
+		unsubscribeAll(flow);
+		disconnected.increment();
+		log.warn("느린 세션 연결 종료: sessionId={}, queued={}", flow.session.getId(), flow.queued.get());
+		try {
+			flow.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+		} catch (IOException e) {
+			log.warn("느린 세션 종료 실패: sessionId={}, {}", flow.session.getId(), e.getMessage());
+		}
+	}
+
+	private static class SessionFlow {
+		private final WebSocketSession session;
+		private final AtomicInteger queued = new AtomicInteger();
+		private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+		private volatile long sendStartedAt;
+
+		SessionFlow(WebSocketSession session) {
+			this.session = session;
+		}
+	}
+
+	// 스프링의 ConcurrentWebSocketSessionDecorator 아래에서 실제 소켓 전송 시작/완료를 기록
+	// 하트비트와 ERROR 처럼 채널을 거치지 않는 프레임도 여기로 오므로 대기 프레임 수는 건드리지 않는다
+	private static class FlowTrackingSession extends WebSocketSessionDecorator {
+		private final SessionFlow flow;
+
+		FlowTrackingSession(WebSocketSession session, SessionFlow flow) {
+			super(session);
+			this.flow = flow;
+		}
+
+		@Override
+		public void sendMessage(WebSocketMessage<?> message) throws IOException {
+			flow.sendStartedAt = System.nanoTime();
+			try {
+				super.sendMessage(message);
+			} finally {
+				flow.sendStartedAt = 0;
+			}
+		}
+	}
+}
@@ -6,9 +6,11 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import potatoes.server.chat.pipeline.ChatRoomMailboxes;
 import potatoes.server.chat.service.ChatService;
 
 @Slf4j
@@ -17,10 +19,16 @@ import potatoes.server.chat.service.ChatService;
 public class WebSocketEventListener {
 
 	private final ChatService chatService;
+	private final ChatPresenceRegistry presenceRegistry;
+	private final ChatRoomMailboxes chatRoomMailboxes;
 
 	@EventListener
 	public void handleWebSocketConnectListener(SessionConnectedEvent event) {
 		log.info("새로운 웹소켓 연결 감지, {}", event);
+		StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
+		if (event.getUser() instanceof StompUserPrincipal user) {
+			presenceRegistry.connected(headerAccessor.getSessionId(), user.getUserId());
+		}
 	}
 
 	@EventListener
@@ -30,15 +38,24 @@ public class WebSocketEventListener {
 		String destination = headerAccessor.getDestination();
 		String[] split = destination.substring(1).split("/");
 		StompUserPrincipal user = (StompUserPrincipal)headerAccessor.getUser();
-		if (split.length == 3 && !split[2].equals("read")) {
-			chatService.readAllUnReadChatMessages(Long.valueOf(split[2]), user.getUserId());
+		// /sub/chat/{chatId} 구독만 해당 - /sub/alarm/{userId} 는 제외
+		if (split.length == 3 && split[1].equals("chat") && !split[2].equals("read")) {
+			Long chatId = Long.valueOf(split[2]);
+			presenceRegistry.subscribed(headerAccessor.getSessionId(), headerAccessor.getSubscriptionId(), chatId);
+			chatRoomMailboxes.run(chatId, () -> chatService.readAllUnReadChatMessages(chatId, user.getUserId()));
 		}
 	}
 
 	@EventListener
-	public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
+	public void handleWebSocketUnsubscribeListener(SessionUnsubscribeEvent event) {
 		StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
+		presenceRegistry.unsubscribed(headerAccessor.getSessionId(), headerAccessor.getSubscriptionId());
+	}
+
+	@EventListener
+	public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
 		log.info("웹소켓 연결 종료 감지, {}", event);
+		presenceRegistry.disconnected(event.getSessionId());
 	}
 
 }
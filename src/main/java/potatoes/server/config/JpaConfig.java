@@ -0,0 +1,23 @@
+package potatoes.server.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+	private static final int JDBC_BATCH_SIZE = 100;
+
+	// IDENTITY 대신 TimeOrderedId 를 사용하는 엔티티는 saveAll 시 JDBC batch 로 묶어서 INSERT
+	@Bean
+	public HibernatePropertiesCustomizer jdbcBatchCustomizer() {
+		return properties -> {
+			properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, JDBC_BATCH_SIZE);
+			properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+			properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+			properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+		};
+	}
+}
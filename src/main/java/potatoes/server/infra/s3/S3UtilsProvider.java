@@ -4,6 +4,7 @@ import static potatoes.server.utils.error.ErrorCode.*;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 
@@ -60,6 +62,21 @@ public class S3UtilsProvider {
 			.toList();
 	}
 
+	// 삭제한 객체 크기를 반환 - 이미 없는 객체는 0
+	public long deleteFileByUrl(String fileUrl) {
+		String fileName = new FileNameExtractor().extract(fileUrl);
+		try {
+			long size = amazonS3.getObjectMetadata(bucket, fileName).getContentLength();
+			amazonS3.deleteObject(bucket, fileName);
+			return size;
+		} catch (AmazonS3Exception e) {
+			if (e.getStatusCode() == 404) {
+				return 0;
+			}
+			throw e;
+		}
+	}
+
 	private class FileUploader {
 		List<String> uploadMultipartFiles(List<MultipartFile> multipartFiles) {
 			List<String> fileNameList = new ArrayList<>();
@@ -140,6 +157,15 @@ public class S3UtilsProvider {
 		}
 	}
 
+	// virtual-hosted(https://bucket.s3.../key), path-style(https://s3.../bucket/key) URL 모두 처리
+	private class FileNameExtractor {
+		String extract(String fileUrl) {
+			String path = URI.create(fileUrl).getPath().substring(1);
+			String bucketPrefix = bucket + FOLDER_DELIMITER;
+			return path.startsWith(bucketPrefix) ? path.substring(bucketPrefix.length()) : path;
+		}
+	}
+
 	private class FileUrlGenerator {
 		String generate(String fileName) {
 			return amazonS3.getUrl(bucket, fileName).toString();
@@ -1,12 +1,10 @@
 package potatoes.server.review.entity;
 
 import static jakarta.persistence.FetchType.*;
-import static jakarta.persistence.GenerationType.*;
 import static lombok.AccessLevel.*;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -15,6 +13,7 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import potatoes.server.config.BaseTimeEntity;
+import potatoes.server.utils.id.TimeOrderedId;
 
 @Getter
 @NoArgsConstructor(access = PROTECTED)
@@ -22,7 +21,7 @@ import potatoes.server.config.BaseTimeEntity;
 public class ReviewImage extends BaseTimeEntity {
 
 	@Id
-	@GeneratedValue(strategy = IDENTITY)
+	@TimeOrderedId
 	@EqualsAndHashCode.Include
 	private Long id;
 
@@ -0,0 +1,77 @@
+package potatoes.server.travel.cache;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import potatoes.server.travel.repository.TravelUserRepository;
+
+// travelId -> 참여자 userId 목록 - 채팅 알림 발송마다 TravelUser 를 조회하지 않도록 보관
+@Component
+public class TravelRosterCache {
+
+	private final TravelUserRepository travelUserRepository;
+	private final Map<Long, Roster> rosters = new ConcurrentHashMap<>();
+	private final long ttlNanos;
+	private final int maxTravels;
+
+	public TravelRosterCache(
+		TravelUserRepository travelUserRepository,
+		@Value("${travel.roster-cache.ttl:10m}") Duration ttl,
+		@Value("${travel.roster-cache.max-travels:10000}") int maxTravels
+	) {
+		this.travelUserRepository = travelUserRepository;
+		this.ttlNanos = ttl.toNanos();
+		this.maxTravels = maxTravels;
+	}
+
+	public long[] userIds(Long travelId) {
+		Roster roster = rosters.get(travelId);
+		long now = System.nanoTime();
+		if (roster != null && now - roster.loadedAt < ttlNanos) {
+			return roster.userIds;
+		}
+
+		long[] userIds = travelUserRepository.findUserIdsByTravelId(travelId).stream()
+			.mapToLong(Long::longValue)
+			.toArray();
+		rosters.put(travelId, new Roster(userIds, now));
+		if (rosters.size() > maxTravels) {
+			evictOldest();
+		}
+		return userIds;
+	}
+
+	// 변경 중인 트랜잭션이 끝나기 전에 다시 읽어 이전 목록이 캐시되지 않도록 커밋 이후에 제거
+	public void evictAfterCommit(Long travelId) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			rosters.remove(travelId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				rosters.remove(travelId);
+			}
+		});
+	}
+
+	private void evictOldest() {
+		int overflow = rosters.size() - maxTravels + Math.max(1, maxTravels / 10);
+		rosters.entrySet().stream()
+			.sorted(Comparator.comparingLong(entry -> entry.getValue().loadedAt))
+			.limit(overflow)
+			.map(Map.Entry::getKey)
+			.toList()
+			.forEach(rosters::remove);
+	}
+
+	private record Roster(long[] userIds, long loadedAt) {
+	}
+}
@@ -3,6 +3,7 @@ package potatoes.server.travel.domain.command;
 import org.springframework.stereotype.Component;
 
 import lombok.RequiredArgsConstructor;
+import potatoes.server.travel.cache.TravelRosterCache;
 import potatoes.server.travel.entity.Travel;
 import potatoes.server.travel.entity.TravelUser;
 import potatoes.server.travel.repository.TravelUserRepository;
@@ -12,18 +13,22 @@ import potatoes.server.user.entity.User;
 @Component
 public class TravelUserCommander {
 	private final TravelUserRepository travelUserRepository;
+	private final TravelRosterCache travelRosterCache;
 
 	public void createOrganizer(Travel travel, User user) {
 		TravelUser travelUser = TravelUser.createOrganizer(travel, user);
 		travelUserRepository.save(travelUser);
+		travelRosterCache.evictAfterCommit(travel.getId());
 	}
 
 	public void createAttendee(Travel travel, User user) {
 		TravelUser travelUser = TravelUser.createAttendee(travel, user);
 		travelUserRepository.save(travelUser);
+		travelRosterCache.evictAfterCommit(travel.getId());
 	}
 
 	public void deleteTravelUser(TravelUser travelUser) {
 		travelUserRepository.delete(travelUser);
+		travelRosterCache.evictAfterCommit(travelUser.getTravel().getId());
 	}
 }
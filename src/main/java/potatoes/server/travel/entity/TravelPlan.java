@@ -1,12 +1,10 @@
 package potatoes.server.travel.entity;
 
 import static jakarta.persistence.FetchType.*;
-import static jakarta.persistence.GenerationType.*;
 import static lombok.AccessLevel.*;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -14,6 +12,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import potatoes.server.travel.model.TravelPlanModel;
+import potatoes.server.utils.id.TimeOrderedId;
 
 @Getter
 @NoArgsConstructor(access = PROTECTED)
@@ -21,7 +20,7 @@ import potatoes.server.travel.model.TravelPlanModel;
 public class TravelPlan {
 
 	@Id
-	@GeneratedValue(strategy = IDENTITY)
+	@TimeOrderedId
 	private Long id;
 
 	@ManyToOne(fetch = LAZY)
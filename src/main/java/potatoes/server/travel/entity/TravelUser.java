@@ -1,14 +1,12 @@
 package potatoes.server.travel.entity;
 
 import static jakarta.persistence.FetchType.*;
-import static jakarta.persistence.GenerationType.*;
 import static lombok.AccessLevel.*;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -18,6 +16,7 @@ import lombok.NoArgsConstructor;
 import potatoes.server.config.BaseTimeEntity;
 import potatoes.server.user.entity.User;
 import potatoes.server.utils.constant.ParticipantRole;
+import potatoes.server.utils.id.TimeOrderedId;
 
 @Getter
 @NoArgsConstructor(access = PROTECTED)
@@ -25,7 +24,7 @@ import potatoes.server.utils.constant.ParticipantRole;
 public class TravelUser extends BaseTimeEntity {
 
 	@Id
-	@GeneratedValue(strategy = IDENTITY)
+	@TimeOrderedId
 	private Long id;
 
 	@Column(name = "role", nullable = false)
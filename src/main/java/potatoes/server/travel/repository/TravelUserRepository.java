@@ -19,6 +19,9 @@ public interface TravelUserRepository extends JpaRepository<TravelUser, Long> {
 	@Query("SELECT u FROM TravelUser u JOIN FETCH u.user WHERE u.travel = :travel")
 	List<TravelUser> findAllByTravel(@Param("travel") Travel travel);
 
+	@Query("SELECT t.user.id FROM TravelUser t WHERE t.travel.id = :travelId")
+	List<Long> findUserIdsByTravelId(@Param("travelId") Long travelId);
+
 	@Query("""
 		    SELECT new potatoes.server.travel.dto.GetMyTravelResponse(
 		        t.id,
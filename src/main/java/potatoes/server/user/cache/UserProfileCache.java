@@ -0,0 +1,46 @@
+package potatoes.server.user.cache;
+
+import static potatoes.server.utils.error.ErrorCode.*;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import potatoes.server.user.model.UserProfile;
+import potatoes.server.user.repository.UserRepository;
+import potatoes.server.utils.error.exception.WeGoException;
+
+// 채팅 메시지 발송 시 매번 User 를 조회하지 않도록 닉네임/프로필 이미지를 LRU 로 보관
+@Component
+public class UserProfileCache {
+
+	private final UserRepository userRepository;
+	private final Map<Long, UserProfile> profiles;
+
+	public UserProfileCache(UserRepository userRepository, @Value("${user.profile-cache.max-size:10000}") int maxSize) {
+		this.userRepository = userRepository;
+		this.profiles = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, UserProfile> eldest) {
+				return size() > maxSize;
+			}
+		});
+	}
+
+	public UserProfile get(Long userId) {
+		UserProfile profile = profiles.get(userId);
+		if (profile == null) {
+			profile = userRepository.findProfileById(userId)
+				.orElseThrow(() -> new WeGoException(USER_NOT_FOUND));
+			profiles.put(userId, profile);
+		}
+		return profile;
+	}
+
+	public void evict(Long userId) {
+		profiles.remove(userId);
+	}
+}
@@ -0,0 +1,8 @@
+package potatoes.server.user.model;
+
+public record UserProfile(
+	Long id,
+	String nickname,
+	String profileImage
+) {
+}
@@ -0,0 +1,8 @@
+package potatoes.server.user.model;
+
+public record UserProfileChangedEvent(
+	Long userId,
+	String previousNickname,
+	String previousProfileImage
+) {
+}
@@ -3,11 +3,17 @@ package potatoes.server.user.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import potatoes.server.user.entity.User;
+import potatoes.server.user.model.UserProfile;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 	Optional<User> findByEmail(String email);
 
 	boolean existsByEmail(String email);
+
+	@Query("SELECT new potatoes.server.user.model.UserProfile(u.id, u.nickname, u.profileImage) FROM User u WHERE u.id = :userId")
+	Optional<UserProfile> findProfileById(@Param("userId") Long userId);
 }
@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,12 +22,14 @@ import potatoes.server.review.entity.Review;
 import potatoes.server.review.repository.ReviewRepository;
 import potatoes.server.travel.entity.TravelUser;
 import potatoes.server.travel.repository.TravelUserRepository;
+import potatoes.server.user.cache.UserProfileCache;
 import potatoes.server.user.dto.DeleteUserRequest;
 import potatoes.server.user.dto.GetUserProfileResponse;
 import potatoes.server.user.dto.PasswordCertification;
 import potatoes.server.user.dto.PopularUserResponse;
 import potatoes.server.user.dto.ResetPasswordRequest;
 import potatoes.server.user.entity.User;
+import potatoes.server.user.model.UserProfileChangedEvent;
 import potatoes.server.user.repository.UserRepository;
 import potatoes.server.utils.crypto.PasswordEncoder;
 import potatoes.server.utils.error.exception.WeGoException;
@@ -43,6 +46,8 @@ public class UserService {
 	private final PasswordEncoder passwordEncoder;
 	private final S3UtilsProvider s3;
 	private final JwtTokenUtil jwtTokenUtil;
+	private final UserProfileCache userProfileCache;
+	private final ApplicationEventPublisher eventPublisher;
 	private static final Duration EXPIRATION = Duration.ofMinutes(5);
 	private static final String DELETE_USER_VERIFY_PREFIX = "USER:DELETE:VERIFY:";
 
@@ -70,7 +75,13 @@ public class UserService {
 		String updatedNickname = nickname != null ? nickname : getUser.getNickname();
 		String updatedDescription = description != null ? description : getUser.getDescription();
 
+		String previousNickname = getUser.getNickname();
+		String previousProfileImage = getUser.getProfileImage();
 		getUser.updateProfile(imageUrl, updatedNickname, updatedDescription);
+		userProfileCache.evict(userId);
+		if (!Objects.equals(previousNickname, updatedNickname) || !Objects.equals(previousProfileImage, imageUrl)) {
+			eventPublisher.publishEvent(new UserProfileChangedEvent(userId, previousNickname, previousProfileImage));
+		}
 	}
 
 	@Transactional
@@ -78,6 +89,7 @@ public class UserService {
 		User getUser = getUserByIdAndCheckExist(userId);
 		certificateToken(request, userId);
 		userRepository.delete(getUser);
+		userProfileCache.evict(userId);
 	}
 
 	public PasswordCertification certificateAndReturnToken(DeleteUserRequest request, Long userId) {
@@ -54,10 +54,6 @@ public class AuthorizationArgumentResolver implements HandlerMethodArgumentResol
 			throw new WeGoException(TOKEN_NOT_FOUND);
 		}
 
-		if (!jwtTokenProvider.validateToken(accessToken)) {
-			throw new WeGoException(UNAUTHORIZED);
-		}
-
 		return Long.parseLong(jwtTokenProvider.getPayload(accessToken));
 	}
 }
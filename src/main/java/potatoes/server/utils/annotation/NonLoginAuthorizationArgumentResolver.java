@@ -39,7 +39,6 @@ public class NonLoginAuthorizationArgumentResolver implements HandlerMethodArgum
 
 		return Optional.ofNullable(request.getCookies())
 			.flatMap(this::findAccessTokenCookie)
-			.filter(jwtTokenProvider::validateToken)
 			.map(jwtTokenProvider::getPayload)
 			.map(Long::parseLong);
 	}
@@ -0,0 +1,37 @@
+package potatoes.server.utils.collection;
+
+import java.util.Arrays;
+
+// 박싱 없이 long 을 이어 붙이는 가변 배열
+public final class LongArrayList {
+
+	private long[] values;
+	private int size;
+
+	public LongArrayList() {
+		this(8);
+	}
+
+	public LongArrayList(int initialCapacity) {
+		this.values = new long[Math.max(1, initialCapacity)];
+	}
+
+	public void add(long value) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, size * 2);
+		}
+		values[size++] = value;
+	}
+
+	public long get(int index) {
+		return values[index];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public long[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+}
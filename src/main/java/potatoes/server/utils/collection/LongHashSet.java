@@ -0,0 +1,113 @@
+package potatoes.server.utils.collection;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+// 박싱 없이 long 을 보관하는 불변 open addressing 해시셋 - 변경 시 새 인스턴스를 만들어 읽기는 락 없이 O(1)
+public final class LongHashSet {
+
+	private static final long EMPTY_SLOT = 0L;
+
+	private final long[] table;
+	private final boolean containsZero;
+	private final int size;
+
+	private LongHashSet(long[] table, boolean containsZero, int size) {
+		this.table = table;
+		this.containsZero = containsZero;
+		this.size = size;
+	}
+
+	public static LongHashSet of(Collection<Long> values) {
+		return of(values.stream().mapToLong(Long::longValue).toArray());
+	}
+
+	public static LongHashSet of(long... values) {
+		long[] table = new long[tableSizeFor(values.length)];
+		boolean containsZero = false;
+		int size = 0;
+		for (long value : values) {
+			if (value == EMPTY_SLOT) {
+				size += containsZero ? 0 : 1;
+				containsZero = true;
+			} else if (insert(table, value)) {
+				size++;
+			}
+		}
+		return new LongHashSet(table, containsZero, size);
+	}
+
+	public boolean contains(long value) {
+		if (value == EMPTY_SLOT) {
+			return containsZero;
+		}
+		int mask = table.length - 1;
+		for (int index = hash(value) & mask; ; index = (index + 1) & mask) {
+			long slot = table[index];
+			if (slot == value) {
+				return true;
+			}
+			if (slot == EMPTY_SLOT) {
+				return false;
+			}
+		}
+	}
+
+	public LongHashSet with(long value) {
+		if (contains(value)) {
+			return this;
+		}
+		long[] values = Arrays.copyOf(toArray(), size + 1);
+		values[size] = value;
+		return of(values);
+	}
+
+	public LongHashSet without(long value) {
+		if (!contains(value)) {
+			return this;
+		}
+		return of(Arrays.stream(toArray()).filter(element -> element != value).toArray());
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public long[] toArray() {
+		long[] values = new long[size];
+		int index = 0;
+		if (containsZero) {
+			values[index++] = EMPTY_SLOT;
+		}
+		for (long slot : table) {
+			if (slot != EMPTY_SLOT) {
+				values[index++] = slot;
+			}
+		}
+		return values;
+	}
+
+	private static boolean insert(long[] table, long value) {
+		int mask = table.length - 1;
+		for (int index = hash(value) & mask; ; index = (index + 1) & mask) {
+			long slot = table[index];
+			if (slot == value) {
+				return false;
+			}
+			if (slot == EMPTY_SLOT) {
+				table[index] = value;
+				return true;
+			}
+		}
+	}
+
+	private static int hash(long value) {
+		long mixed = value * 0x9E3779B97F4A7C15L;
+		return (int)(mixed ^ (mixed >>> 32));
+	}
+
+	// 적재율 50% 이하를 유지하는 2의 거듭제곱 크기
+	private static int tableSizeFor(int expectedSize) {
+		return Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+	}
+}
@@ -0,0 +1,7 @@
+package potatoes.server.utils.constant;
+
+public enum ChannelExecutionMode {
+	DEFAULT,
+	VIRTUAL,
+	BOUNDED
+}
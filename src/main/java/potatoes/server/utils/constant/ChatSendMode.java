@@ -0,0 +1,6 @@
+package potatoes.server.utils.constant;
+
+public enum ChatSendMode {
+	SYNC,
+	WRITE_BEHIND
+}
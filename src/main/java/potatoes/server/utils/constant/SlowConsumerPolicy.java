@@ -0,0 +1,6 @@
+package potatoes.server.utils.constant;
+
+public enum SlowConsumerPolicy {
+	DROP_NON_CRITICAL,
+	DISCONNECT
+}
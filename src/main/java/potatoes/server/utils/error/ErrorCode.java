@@ -51,9 +51,11 @@ public enum ErrorCode {
 	UNABLE_TO_JOIN_CHAT(400, "UNABLE_TO_JOIN_CHAT", "채팅에 참여할 수 없습니다."),
 	ALREADY_JOINED_CHAT(400, "ALREADY_JOINED_CHAT", "이미 참여한 채팅입니다."),
 	HAS_NOT_JOINED_CHAT(400, "HAS_NOT_JOINED_CHAT", "참여하지 않은 채팅방입니다."),
+	CHAT_MAILBOX_TIMEOUT(503, "CHAT_MAILBOX_TIMEOUT", "채팅방 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."),
 
 	// STOMP
-	STOMP_SUBSCRIBE_FAILED(400, "STOMP_SUBSCRIBE_FAILED", "토픽 구독 실패");
+	STOMP_SUBSCRIBE_FAILED(400, "STOMP_SUBSCRIBE_FAILED", "토픽 구독 실패"),
+	STOMP_RATE_LIMITED(429, "STOMP_RATE_LIMITED", "메시지를 너무 자주 보내고 있습니다. 잠시 후 다시 시도해주세요.");
 
 	private final int status;
 	private final String code;
@@ -0,0 +1,63 @@
+package potatoes.server.utils.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 53bit(JS Number 안전 범위) 시간순 id = 41bit 밀리초 | 4bit 노드 | 8bit 시퀀스
+public final class TimeOrderedIdGenerator {
+
+	private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+	private static final int NODE_BITS = 4;
+	private static final int SEQUENCE_BITS = 8;
+	private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+	private static final long NODE_ID = resolveNodeId();
+
+	private static final AtomicLong state = new AtomicLong();
+
+	private TimeOrderedIdGenerator() {
+	}
+
+	// 같은 밀리초에 시퀀스를 모두 소진하면 다음 밀리초를 미리 사용해 단조 증가를 유지
+	public static long nextId() {
+		while (true) {
+			long now = System.currentTimeMillis() - EPOCH;
+			long last = state.get();
+			long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+			if (state.compareAndSet(last, next)) {
+				long timestamp = next >>> SEQUENCE_BITS;
+				long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+				return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (NODE_ID << SEQUENCE_BITS) | sequence;
+			}
+		}
+	}
+
+	public static long nodeId() {
+		return NODE_ID;
+	}
+
+	public static Instant timestampOf(long id) {
+		return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH);
+	}
+
+	// instant 이후에 발급된 id 는 모두 이 값 이상
+	public static long minIdAt(Instant instant) {
+		return Math.max(0, instant.toEpochMilli() - EPOCH) << (NODE_BITS + SEQUENCE_BITS);
+	}
+
+	// 범위를 벗어난 값을 잘라내면 다른 노드와 같은 id 를 발급하므로 기동을 막는다
+	private static long resolveNodeId() {
+		String nodeId = System.getProperty("wego.node-id", System.getenv("WEGO_NODE_ID"));
+		if (nodeId == null) {
+			return 0;
+		}
+		try {
+			long value = Long.parseLong(nodeId.trim());
+			if (value >= 0 && value <= MAX_NODE_ID) {
+				return value;
+			}
+		} catch (NumberFormatException e) {
+			// 아래에서 같은 메시지로 실패 처리
+		}
+		throw new IllegalStateException("WEGO_NODE_ID(wego.node-id) 는 0~" + MAX_NODE_ID + " 사이 정수여야 합니다: " + nodeId);
+	}
+}
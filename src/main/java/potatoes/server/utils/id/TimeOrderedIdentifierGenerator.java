@@ -0,0 +1,17 @@
+package potatoes.server.utils.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+public class TimeOrderedIdentifierGenerator implements IdentifierGenerator {
+
+	// 세션 팩토리를 만들 때 생성되므로 여기서 노드 id 를 확인해 잘못된 설정이면 기동에 실패
+	public TimeOrderedIdentifierGenerator() {
+		TimeOrderedIdGenerator.nodeId();
+	}
+
+	@Override
+	public Object generate(SharedSessionContractImplementor session, Object object) {
+		return TimeOrderedIdGenerator.nextId();
+	}
+}
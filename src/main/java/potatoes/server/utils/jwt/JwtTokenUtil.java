@@ -8,7 +8,9 @@ import java.util.Date;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -22,12 +24,21 @@ public class JwtTokenUtil {
 	String secretKey;
 	@Value("${security.jwt.token.expire-length}")
 	private Long accessTokenExpiration;
+	@Value("${security.jwt.verified-cache.max-entries:100000}")
+	private int verifiedCacheMaxEntries;
 
 	private Key key;
+	// 불변이라 스레드 간 공유 - 요청마다 parserBuilder 로 새로 만들지 않는다
+	private JwtParser parser;
+	private VerifiedTokenCache verifiedTokens;
 
 	@PostConstruct
 	private void init() {
 		this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
+		this.parser = Jwts.parserBuilder()
+			.setSigningKey(key)
+			.build();
+		this.verifiedTokens = new VerifiedTokenCache(verifiedCacheMaxEntries);
 	}
 
 	public String createAccessToken(String payload) {
@@ -46,28 +57,27 @@ public class JwtTokenUtil {
 			.compact();
 	}
 
+	// 검증에 실패하면 UNAUTHORIZED - 한 번 검증한 토큰은 만료 전까지 서명을 다시 확인하지 않는다
 	public String getPayload(String token) {
+		long now = System.currentTimeMillis();
+		String subject = verifiedTokens.find(token, now);
+		if (subject != null) {
+			return subject;
+		}
+
 		try {
-			return Jwts.parserBuilder()
-				.setSigningKey(key)
-				.build()
-				.parseClaimsJws(token)
-				.getBody()
-				.getSubject();
-		} catch (JwtException e) {
+			Claims claims = parser.parseClaimsJws(token).getBody();
+			if (claims.getExpiration() != null && claims.getSubject() != null) {
+				verifiedTokens.put(token, claims.getSubject(), claims.getExpiration().getTime(), now);
+			}
+			return claims.getSubject();
+		} catch (JwtException | IllegalArgumentException e) {
 			throw new WeGoException(UNAUTHORIZED);
 		}
 	}
 
 	public boolean validateToken(String token) {
-		try {
-			Jwts.parserBuilder()
-				.setSigningKey(key)
-				.build()
-				.parseClaimsJws(token);
-			return true;
-		} catch (JwtException e) {
-			throw new WeGoException(UNAUTHORIZED);
-		}
+		getPayload(token);
+		return true;
 	}
 }
@@ -0,0 +1,50 @@
+package potatoes.server.utils.jwt;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 서명 검증을 마친 토큰 -> subject - 토큰의 만료 시각까지만 사용하고 지난 항목은 조회 시점에 버린다
+// 토큰 문자열 전체를 키로 써서 서명만 같은 위조 토큰이 캐시에 맞지 않도록 한다
+// 가득 차면 가장 오래 사용되지 않은 항목을 하나 내리므로 저장할 때마다 하는 일은 항목 수와 관계없이 일정하다
+final class VerifiedTokenCache {
+
+	private final Map<String, Entry> entries;
+	private final int maxEntries;
+
+	VerifiedTokenCache(int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		});
+	}
+
+	String find(String token, long nowMillis) {
+		Entry entry = entries.get(token);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expiresAtMillis <= nowMillis) {
+			entries.remove(token, entry);
+			return null;
+		}
+		return entry.subject;
+	}
+
+	void put(String token, String subject, long expiresAtMillis, long nowMillis) {
+		if (expiresAtMillis <= nowMillis || maxEntries <= 0) {
+			return;
+		}
+		entries.put(token, new Entry(subject, expiresAtMillis));
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	private record Entry(String subject, long expiresAtMillis) {
+	}
+}
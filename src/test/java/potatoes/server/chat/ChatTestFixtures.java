@@ -0,0 +1,147 @@
+package potatoes.server.chat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import potatoes.server.chat.entity.Chat;
+import potatoes.server.chat.entity.ChatImage;
+import potatoes.server.chat.entity.ChatMessage;
+import potatoes.server.chat.entity.ChatUser;
+import potatoes.server.chat.repository.ChatImageRepository;
+import potatoes.server.chat.repository.ChatMessageRepository;
+import potatoes.server.chat.repository.ChatRepository;
+import potatoes.server.chat.repository.ChatUserRepository;
+import potatoes.server.travel.entity.Travel;
+import potatoes.server.travel.entity.TravelUser;
+import potatoes.server.travel.repository.TravelRepository;
+import potatoes.server.travel.repository.TravelUserRepository;
+import potatoes.server.user.entity.User;
+import potatoes.server.user.repository.UserRepository;
+
+// 테스트용 사용자/여행/채팅방 생성 - 첫 번째 참여자가 주최자
+public class ChatTestFixtures {
+
+	private final UserRepository userRepository;
+	private final TravelRepository travelRepository;
+	private final TravelUserRepository travelUserRepository;
+	private final ChatRepository chatRepository;
+	private final ChatUserRepository chatUserRepository;
+	private final ChatMessageRepository chatMessageRepository;
+	private final ChatImageRepository chatImageRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	public ChatTestFixtures(ApplicationContext context) {
+		this.userRepository = context.getBean(UserRepository.class);
+		this.travelRepository = context.getBean(TravelRepository.class);
+		this.travelUserRepository = context.getBean(TravelUserRepository.class);
+		this.chatRepository = context.getBean(ChatRepository.class);
+		this.chatUserRepository = context.getBean(ChatUserRepository.class);
+		this.chatMessageRepository = context.getBean(ChatMessageRepository.class);
+		this.chatImageRepository = context.getBean(ChatImageRepository.class);
+		this.transactionTemplate = context.getBean(TransactionTemplate.class);
+	}
+
+	public record Room(Long chatId, List<Long> userIds) {
+	}
+
+	public List<Long> createUsers(String key, int count) {
+		return transactionTemplate.execute(status -> {
+			List<User> users = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				users.add(User.builder()
+					.email(key + "-" + i + "@wego.test")
+					.password("test")
+					.name(key + i)
+					.nickname(key + "-" + i)
+					.birthDate(19900101)
+					.contact("010-0000-0000")
+					.build());
+			}
+			return userRepository.saveAll(users).stream().map(User::getId).toList();
+		});
+	}
+
+	public Room createRoom(String key, int memberCount) {
+		return createRoom(key, createUsers(key, memberCount));
+	}
+
+	public Room createRoom(String key, List<Long> userIds) {
+		return transactionTemplate.execute(status -> {
+			List<User> members = new ArrayList<>(userRepository.findAllById(userIds));
+			members.sort(Comparator.comparingInt(user -> userIds.indexOf(user.getId())));
+			Instant now = Instant.now();
+			Travel travel = travelRepository.save(Travel.builder()
+				.name("travel-" + key)
+				.description("test")
+				.image("")
+				.minTravelMateCount(1)
+				.maxTravelMateCount(members.size())
+				.hashTags("")
+				.isDomestic(true)
+				.travelLocation("서울")
+				.departureLocation("서울")
+				.startAt(now.plus(Duration.ofDays(30)))
+				.endAt(now.plus(Duration.ofDays(33)))
+				.registrationEnd(now.plus(Duration.ofDays(20)))
+				.tripDuration(3)
+				.build());
+
+			Chat chat = chatRepository.save(Chat.builder()
+				.name(travel.getName())
+				.host(members.get(0))
+				.travel(travel)
+				.currentMemberCount(members.size())
+				.maxMemberCount(members.size())
+				.build());
+
+			List<TravelUser> travelUsers = new ArrayList<>(members.size());
+			List<ChatUser> chatUsers = new ArrayList<>(members.size());
+			for (int i = 0; i < members.size(); i++) {
+				User user = members.get(i);
+				travelUsers.add(i == 0 ? TravelUser.createOrganizer(travel, user) :
+					TravelUser.createAttendee(travel, user));
+				chatUsers.add(ChatUser.builder().chat(chat).user(user).lastReadMessageId(0L).build());
+			}
+			travelUserRepository.saveAll(travelUsers);
+			chatUserRepository.saveAll(chatUsers);
+			return new Room(chat.getId(), members.stream().map(User::getId).toList());
+		});
+	}
+
+	// 여행에만 참여하고 채팅방에는 아직 들어가지 않은 사용자
+	public Long createTravelMember(String key, Long chatId) {
+		Long userId = createUsers(key, 1).get(0);
+		transactionTemplate.executeWithoutResult(status -> travelUserRepository.save(TravelUser.createAttendee(
+			chatRepository.findById(chatId).orElseThrow().getTravel(), userRepository.getReferenceById(userId))));
+		return userId;
+	}
+
+	// 방의 마지막 seq 다음부터 차례로 저장하고 메시지마다 이미지 imagesPerMessage 개를 연결
+	public void createMessages(Long chatId, Long senderId, int count, int imagesPerMessage) {
+		transactionTemplate.executeWithoutResult(status -> {
+			Chat chat = chatRepository.getReferenceById(chatId);
+			User sender = userRepository.getReferenceById(senderId);
+			long seq = chatMessageRepository.findMaxSeqByChatId(chatId);
+			for (int i = 0; i < count; i++) {
+				ChatMessage chatMessage = chatMessageRepository.save(ChatMessage.builder()
+					.chat(chat)
+					.sender(sender)
+					.message("message-" + i)
+					.seq(++seq)
+					.build());
+				for (int image = 0; image < imagesPerMessage; image++) {
+					ChatImage chatImage = new ChatImage(
+						"https://images.wego.test/" + chatId + "/" + seq + "-" + image + ".png");
+					chatImage.messageSent(chatMessage);
+					chatImageRepository.save(chatImage);
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,84 @@
+package potatoes.server.chat.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import potatoes.server.chat.dto.AlarmSubscribe;
+import potatoes.server.chat.dto.MissedAlarm;
+import potatoes.server.utils.constant.AlarmStatus;
+
+class AlarmInboxTest {
+
+	private static final Long USER_ID = 1L;
+	private static final int WRITERS = 8;
+	private static final int ALARMS_PER_WRITER = 20_000;
+
+	@Test
+	void 같은_방의_메시지_알림은_하나로_합치고_개수를_센다() {
+		AlarmInbox inbox = new AlarmInbox(100, Duration.ofHours(1), 100);
+		inbox.add(USER_ID, alarm(10L, AlarmStatus.MESSAGE));
+		inbox.add(USER_ID, alarm(10L, AlarmStatus.MESSAGE));
+		inbox.add(USER_ID, alarm(10L, AlarmStatus.JOIN));
+
+		assertThat(inbox.drain(USER_ID)).extracting(MissedAlarm::count).containsExactly(2, 1);
+		assertThat(inbox.drain(USER_ID)).isEmpty();
+	}
+
+	@Test
+	void 재접속과_알림_추가가_겹쳐도_알림을_잃지_않는다() throws Exception {
+		AlarmInbox inbox = new AlarmInbox(Integer.MAX_VALUE, Duration.ofHours(1), 100);
+		ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+		AtomicBoolean writing = new AtomicBoolean(true);
+		long drained = 0;
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int writer = 0; writer < WRITERS; writer++) {
+				long chatId = writer;
+				futures.add(writers.submit(() -> {
+					for (int i = 0; i < ALARMS_PER_WRITER; i++) {
+						inbox.add(USER_ID, alarm(chatId, AlarmStatus.MESSAGE));
+					}
+				}));
+			}
+			Thread watcher = new Thread(() -> {
+				futures.forEach(future -> {
+					try {
+						future.get();
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				});
+				writing.set(false);
+			});
+			watcher.start();
+
+			// 재접속할 때마다 보관함을 비운다
+			while (writing.get()) {
+				drained += count(inbox.drain(USER_ID));
+			}
+			watcher.join();
+			drained += count(inbox.drain(USER_ID));
+		} finally {
+			writers.shutdownNow();
+		}
+
+		assertThat(drained).isEqualTo((long)WRITERS * ALARMS_PER_WRITER);
+	}
+
+	private long count(List<MissedAlarm> alarms) {
+		return alarms.stream().mapToLong(MissedAlarm::count).sum();
+	}
+
+	private AlarmSubscribe alarm(Long chatId, AlarmStatus status) {
+		return new AlarmSubscribe(chatId, 2, "2024-01-01 00:00", status, null);
+	}
+}
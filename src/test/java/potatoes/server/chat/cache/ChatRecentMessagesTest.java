@@ -0,0 +1,92 @@
+package potatoes.server.chat.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import potatoes.server.chat.dto.MessageSubscribe;
+import potatoes.server.user.model.UserProfileChangedEvent;
+
+class ChatRecentMessagesTest {
+
+	private static final int ROOM_CAPACITY = 50;
+
+	@Test
+	void 프로필이_바뀐_사용자의_메시지가_있는_방만_비운다() {
+		ChatRecentMessages recentMessages = recentMessages(DataSize.ofMegabytes(1));
+		recentMessages.load(1L, limit -> List.of(message(1, "before", "before.png")), 10);
+		recentMessages.load(2L, limit -> List.of(message(2, "other", "other.png")), 10);
+
+		recentMessages.evictChangedProfile(new UserProfileChangedEvent(100L, "before", "before.png"));
+
+		assertThat(recentMessages.find(1L, Long.MAX_VALUE, 10)).isNull();
+		assertThat(recentMessages.find(2L, Long.MAX_VALUE, 10)).hasSize(1);
+	}
+
+	@Test
+	void 메모리_한도를_넘으면_오래_쓰지_않은_방부터_제거한다() {
+		ChatRecentMessages recentMessages = recentMessages(DataSize.ofKilobytes(1));
+		recentMessages.load(1L, limit -> List.of(message(1, "sender", null)), 10);
+		recentMessages.load(2L, limit -> List.of(message(2, "sender", null)), 10);
+		recentMessages.find(1L, Long.MAX_VALUE, 10);
+
+		recentMessages.load(3L, limit -> List.of(message(3, "x".repeat(300), null)), 10);
+
+		assertThat(recentMessages.find(2L, Long.MAX_VALUE, 10)).isNull();
+		assertThat(recentMessages.find(3L, Long.MAX_VALUE, 10)).hasSize(1);
+	}
+
+	@Test
+	void 여러_방에_동시에_추가해도_방마다_순서대로_보관한다() throws Exception {
+		ChatRecentMessages recentMessages = recentMessages(DataSize.ofMegabytes(64));
+		int rooms = 8;
+		for (long chatId = 1; chatId <= rooms; chatId++) {
+			recentMessages.load(chatId, limit -> List.of(), 10);
+		}
+
+		ExecutorService writers = Executors.newFixedThreadPool(rooms);
+		List<Future<?>> futures = new ArrayList<>();
+		for (long chatId = 1; chatId <= rooms; chatId++) {
+			long room = chatId;
+			futures.add(writers.submit(() -> {
+				for (long id = 1; id <= 1_000; id++) {
+					recentMessages.append(room, message(id, "sender", null));
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		writers.shutdown();
+
+		for (long chatId = 1; chatId <= rooms; chatId++) {
+			List<MessageSubscribe> page = recentMessages.find(chatId, Long.MAX_VALUE, ROOM_CAPACITY);
+			assertThat(page).extracting(MessageSubscribe::chatMessageId)
+				.containsExactlyElementsOf(descending(1_000, ROOM_CAPACITY));
+		}
+	}
+
+	private ChatRecentMessages recentMessages(DataSize maxMemory) {
+		return new ChatRecentMessages(true, "LOCAL", ROOM_CAPACITY, maxMemory);
+	}
+
+	private static MessageSubscribe message(long id, String sender, String profileImage) {
+		return new MessageSubscribe(id, id, List.of(), "message-" + id, sender, profileImage, "2024-01-01 12:00:00", 0);
+	}
+
+	private static List<Long> descending(long from, int count) {
+		List<Long> ids = new ArrayList<>(count);
+		for (long id = from; id > from - count; id--) {
+			ids.add(id);
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,99 @@
+package potatoes.server.chat.cache;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import potatoes.server.chat.repository.ChatMessageArchiveRepository;
+import potatoes.server.chat.repository.ChatMessageRepository;
+
+class ChatSequencesTest {
+
+	private static final Long CHAT_ID = 1L;
+
+	private final ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+	private final ChatMessageArchiveRepository chatMessageArchiveRepository = mock(ChatMessageArchiveRepository.class);
+	private final InMemorySequenceRedis redis = new InMemorySequenceRedis();
+
+	@Test
+	void 여러_노드가_같은_방의_seq_를_겹치지_않게_발급한다() throws Exception {
+		when(chatMessageRepository.findMaxSeqByChatId(CHAT_ID)).thenReturn(5L);
+		List<ChatSequences> nodes = List.of(node(), node(), node());
+
+		ExecutorService senders = Executors.newFixedThreadPool(nodes.size());
+		List<Future<List<Long>>> futures = new ArrayList<>();
+		for (ChatSequences node : nodes) {
+			futures.add(senders.submit(() -> {
+				List<Long> issued = new ArrayList<>();
+				for (int i = 0; i < 1_000; i++) {
+					issued.add(node.next(CHAT_ID));
+				}
+				return issued;
+			}));
+		}
+		Set<Long> issued = new HashSet<>();
+		for (Future<List<Long>> future : futures) {
+			issued.addAll(future.get(10, TimeUnit.SECONDS));
+		}
+		senders.shutdown();
+
+		assertThat(issued).hasSize(3_000);
+		assertThat(issued.stream().mapToLong(Long::longValue).min().orElseThrow()).isEqualTo(6L);
+	}
+
+	@Test
+	void Redis_의_키가_사라지면_DB_의_마지막_seq_로_다시_시작한다() {
+		ChatSequences sequences = node();
+		when(chatMessageArchiveRepository.findMaxSeqByChatId(CHAT_ID)).thenReturn(3L);
+		assertThat(sequences.next(CHAT_ID)).isEqualTo(4L);
+
+		redis.flushAll();
+		when(chatMessageRepository.findMaxSeqByChatId(CHAT_ID)).thenReturn(10L);
+
+		assertThat(sequences.next(CHAT_ID)).isEqualTo(11L);
+	}
+
+	@Test
+	void 최근에_발급한_방은_내리지_않는다() {
+		ChatSequences sequences = local(10, Duration.ofMinutes(10));
+		when(chatMessageRepository.findMaxSeqByChatId(CHAT_ID)).thenReturn(5L);
+		assertThat(sequences.next(CHAT_ID)).isEqualTo(6L);
+
+		// 커밋 전인 6 이 DB 에 없어도 다시 읽지 않고 이어서 발급
+		sequences.evict(CHAT_ID);
+
+		assertThat(sequences.next(CHAT_ID)).isEqualTo(7L);
+	}
+
+	@Test
+	void 용량을_넘으면_쓰이지_않은_방을_내리고_DB_에서_다시_시작한다() {
+		ChatSequences sequences = local(2, Duration.ZERO);
+		for (long chatId = 1; chatId <= 3; chatId++) {
+			sequences.next(chatId);
+		}
+		when(chatMessageRepository.findMaxSeqByChatId(CHAT_ID)).thenReturn(20L);
+
+		assertThat(sequences.next(CHAT_ID)).isEqualTo(21L);
+	}
+
+	private ChatSequences node() {
+		return new ChatSequences(chatMessageRepository, chatMessageArchiveRepository, redis, "REDIS", 10_000,
+			Duration.ofMinutes(10));
+	}
+
+	private ChatSequences local(int maxRooms, Duration idleTimeout) {
+		return new ChatSequences(chatMessageRepository, chatMessageArchiveRepository, redis, "LOCAL", maxRooms,
+			idleTimeout);
+	}
+}
@@ -0,0 +1,39 @@
+package potatoes.server.chat.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+// ChatSequences 의 두 Lua 스크립트(INCREMENT_IF_PRESENT, SEED_AND_INCREMENT)만 메모리에서 흉내내는 RedisTemplate
+// 여러 노드(애플리케이션 컨텍스트)가 한 인스턴스를 공유하면 같은 Redis 를 보는 것과 같다
+public class InMemorySequenceRedis extends RedisTemplate<String, String> {
+
+	private final Map<String, AtomicLong> values = new ConcurrentHashMap<>();
+
+	public InMemorySequenceRedis() {
+		// 빈으로 등록되면 afterPropertiesSet 이 연결 팩토리를 요구한다 - 실제로 연결하지는 않는다
+		setConnectionFactory(new LettuceConnectionFactory());
+	}
+
+	// Redis 재시작으로 키가 사라진 상황
+	public void flushAll() {
+		values.clear();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+		String key = keys.get(0);
+		if (script.getScriptAsString().contains("'NX'")) {
+			long seed = Long.parseLong(args[0].toString());
+			return (T)Long.valueOf(values.computeIfAbsent(key, k -> new AtomicLong(seed)).incrementAndGet());
+		}
+		AtomicLong value = values.get(key);
+		return (T)Long.valueOf(value == null ? -1L : value.incrementAndGet());
+	}
+}
@@ -0,0 +1,94 @@
+package potatoes.server.chat.pipeline;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import potatoes.server.chat.dto.ChatMessageAck;
+import potatoes.server.utils.constant.ChatSendMode;
+
+class ChatMessageWriterTest {
+
+	private static final Long CHAT_ID = 1L;
+	private static final String SESSION_ID = "sender";
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+
+	@Test
+	void 재시도_대기_중에_인터럽트되어도_기록을_마치고_인터럽트_상태를_되돌린다() {
+		ChatMessageWriter writer = writer(ChatSendMode.SYNC);
+		doThrow(new DataAccessResourceFailureException("down")).doReturn(1)
+			.when(jdbcTemplate).update(anyString(), any(Object[].class));
+
+		Thread.currentThread().interrupt();
+		writer.write(message(1L));
+
+		assertThat(Thread.interrupted()).isTrue();
+		assertThat(acks()).extracting(ChatMessageAck::persisted).containsExactly(true);
+	}
+
+	@Test
+	void 종료하면_버퍼에_남은_메시지를_모두_기록한다() throws Exception {
+		ChatMessageWriter writer = writer(ChatSendMode.WRITE_BEHIND);
+		// 첫 기록을 붙잡아 두는 동안 나머지가 버퍼에 쌓인다
+		CountDownLatch insertStarted = new CountDownLatch(1);
+		CountDownLatch insertReleased = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			insertStarted.countDown();
+			insertReleased.await(5, TimeUnit.SECONDS);
+			return 1;
+		}).doReturn(1).when(jdbcTemplate).update(anyString(), any(Object[].class));
+		writer.start();
+
+		writer.write(message(1L));
+		assertThat(insertStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		for (long id = 2; id <= 5; id++) {
+			writer.write(message(id));
+		}
+		Thread stopping = new Thread(() -> {
+			try {
+				writer.stop();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		stopping.start();
+		insertReleased.countDown();
+		stopping.join(TimeUnit.SECONDS.toMillis(10));
+
+		assertThat(acks()).extracting(ChatMessageAck::chatMessageId).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+		assertThat(acks()).extracting(ChatMessageAck::persisted).containsOnly(true);
+		assertThat(writer.pendingCount()).isZero();
+	}
+
+	private ChatMessageWriter writer(ChatSendMode sendMode) {
+		return new ChatMessageWriter(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+			messagingTemplate, mock(ApplicationEventPublisher.class), 100, 10, 20, 3, sendMode);
+	}
+
+	private PendingChatMessage message(long id) {
+		return new PendingChatMessage(id, CHAT_ID, id, 10L, SESSION_ID, "hello", List.of(), Instant.now());
+	}
+
+	private List<ChatMessageAck> acks() {
+		ArgumentCaptor<ChatMessageAck> acks = ArgumentCaptor.forClass(ChatMessageAck.class);
+		verify(messagingTemplate, atLeastOnce()).convertAndSendToUser(eq(SESSION_ID), eq("/sub/chat/ack"),
+			acks.capture(), anyMap());
+		return acks.getAllValues();
+	}
+}
@@ -0,0 +1,192 @@
+package potatoes.server.chat.pipeline;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import potatoes.server.utils.error.ErrorCode;
+import potatoes.server.utils.error.exception.WeGoException;
+
+class ChatRoomMailboxesTest {
+
+	private static final int ROOMS = 8;
+	private static final int CALLERS = 32;
+	private static final int CALLS_PER_CALLER = 2_000;
+
+	private final List<ChatRoomMailboxes> created = new ArrayList<>();
+	private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		callers.shutdownNow();
+		for (ChatRoomMailboxes mailboxes : created) {
+			mailboxes.stop();
+		}
+	}
+
+	@Test
+	void 같은_방의_작업은_경합해도_하나씩_실행된다() throws Exception {
+		ChatRoomMailboxes mailboxes = mailboxes(Duration.ofSeconds(30));
+		// 잠금 없이 증가시키는 방별 카운터 - 동시에 실행되면 갱신이 유실된다
+		long[] counters = new long[ROOMS];
+		AtomicInteger[] running = new AtomicInteger[ROOMS];
+		AtomicBoolean overlapped = new AtomicBoolean();
+		for (int room = 0; room < ROOMS; room++) {
+			running[room] = new AtomicInteger();
+		}
+
+		List<Future<?>> futures = new ArrayList<>();
+		for (int caller = 0; caller < CALLERS; caller++) {
+			futures.add(callers.submit(() -> {
+				for (int call = 0; call < CALLS_PER_CALLER; call++) {
+					int room = call % ROOMS;
+					mailboxes.run((long)room, () -> {
+						if (running[room].incrementAndGet() != 1) {
+							overlapped.set(true);
+						}
+						counters[room]++;
+						running[room].decrementAndGet();
+					});
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get(60, TimeUnit.SECONDS);
+		}
+
+		assertThat(overlapped).isFalse();
+		assertThat(counters).containsOnly((long)CALLERS * CALLS_PER_CALLER / ROOMS);
+	}
+
+	@Test
+	void 다른_방의_작업은_막히지_않고_병렬로_실행된다() throws Exception {
+		ChatRoomMailboxes mailboxes = mailboxes(Duration.ofSeconds(30));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<?> blocked = callers.submit(() -> mailboxes.run(1L, () -> {
+			started.countDown();
+			await(release);
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		Integer result = CompletableFuture.supplyAsync(() -> mailboxes.call(2L, () -> 42), callers)
+			.get(5, TimeUnit.SECONDS);
+
+		assertThat(result).isEqualTo(42);
+		assertThat(blocked).isNotDone();
+		release.countDown();
+		blocked.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void 같은_방의_작업_안에서_다시_요청하면_바로_실행된다() {
+		ChatRoomMailboxes mailboxes = mailboxes(Duration.ofSeconds(5));
+
+		Integer result = mailboxes.call(1L, () -> mailboxes.call(1L, () -> 7) + 1);
+
+		assertThat(result).isEqualTo(8);
+	}
+
+	@Test
+	void 다른_방의_작업_안에서_요청하면_기다리지_않고_거부한다() {
+		ChatRoomMailboxes mailboxes = mailboxes(Duration.ofSeconds(5));
+
+		assertThatThrownBy(() -> mailboxes.call(1L, () -> mailboxes.call(2L, () -> 7)))
+			.isInstanceOf(IllegalStateException.class);
+		assertThat(mailboxes.call(2L, () -> 7)).isEqualTo(7);
+	}
+
+	@Test
+	void 작업이_끝난_방의_mailbox_는_제거된다() throws Exception {
+		ChatRoomMailboxes mailboxes = mailboxes(Duration.ofSeconds(30));
+
+		List<Future<?>> futures = new ArrayList<>();
+		for (int caller = 0; caller < CALLERS; caller++) {
+			int offset = caller;
+			futures.add(callers.submit(() -> {
+				for (int call = 0; call < CALLS_PER_CALLER; call++) {
+					mailboxes.run((long)((call + offset) % (ROOMS * 100)), () -> {
+					});
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get(60, TimeUnit.SECONDS);
+		}
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (mailboxes.rooms() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(mailboxes.rooms()).isZero();
+	}
+
+	@Test
+	void 작업에서_발생한_예외를_호출한_스레드에_그대로_전달한다() {
+		ChatRoomMailboxes mailboxes = mailboxes(Duration.ofSeconds(5));
+
+		assertThatThrownBy(() -> mailboxes.run(1L, () -> {
+			throw new WeGoException(ErrorCode.CHAT_NOT_FOUND);
+		})).isInstanceOf(WeGoException.class)
+			.hasMessage(ErrorCode.CHAT_NOT_FOUND.getMessage());
+		assertThat(mailboxes.call(1L, () -> "next")).isEqualTo("next");
+	}
+
+	@Test
+	void 시간_안에_시작하지_못한_작업은_실행하지_않는다() throws Exception {
+		ChatRoomMailboxes mailboxes = mailboxes(Duration.ofMillis(100));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<?> blocked = callers.submit(() -> mailboxes.run(1L, () -> {
+			started.countDown();
+			await(release);
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		AtomicBoolean executed = new AtomicBoolean();
+		assertThatThrownBy(() -> mailboxes.run(1L, () -> executed.set(true)))
+			.isInstanceOf(WeGoException.class)
+			.hasMessage(ErrorCode.CHAT_MAILBOX_TIMEOUT.getMessage());
+
+		release.countDown();
+		blocked.get(5, TimeUnit.SECONDS);
+		assertThat(mailboxes.call(1L, () -> "after")).isEqualTo("after");
+		assertThat(executed).isFalse();
+	}
+
+	@Test
+	void 비활성화하면_호출한_스레드에서_바로_실행한다() {
+		ChatRoomMailboxes mailboxes = new ChatRoomMailboxes(new SimpleMeterRegistry(), false, 64, Duration.ofSeconds(5));
+		created.add(mailboxes);
+
+		assertThat(mailboxes.call(1L, Thread::currentThread)).isSameAs(Thread.currentThread());
+	}
+
+	private ChatRoomMailboxes mailboxes(Duration timeout) {
+		ChatRoomMailboxes mailboxes = new ChatRoomMailboxes(new SimpleMeterRegistry(), true, 64, timeout);
+		created.add(mailboxes);
+		return mailboxes;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
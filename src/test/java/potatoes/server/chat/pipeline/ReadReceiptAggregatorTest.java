@@ -0,0 +1,87 @@
+package potatoes.server.chat.pipeline;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import potatoes.server.chat.cache.ChatReadWatermarks;
+import potatoes.server.chat.dto.MarkAsReadBatchSubscribe;
+import potatoes.server.chat.dto.MarkAsReadSubscribe;
+import potatoes.server.chat.repository.ChatMessageRepository;
+import potatoes.server.chat.stomp.ChatPresenceRegistry;
+
+// chat.read-receipt.window-ms=0 으로 요청마다 바로 기록하는 경로에서 재시도와 읽음 프레임 구성을 확인
+class ReadReceiptAggregatorTest {
+
+	private static final Long CHAT_ID = 1L;
+	private static final Long USER_ID = 7L;
+	private static final int MAX_RETRIES = 3;
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+	private final ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+	private final ChatReadWatermarks readWatermarks = mock(ChatReadWatermarks.class);
+	private final ChatPresenceRegistry presenceRegistry = mock(ChatPresenceRegistry.class);
+	private ReadReceiptAggregator aggregator;
+
+	@BeforeEach
+	void setUp() {
+		aggregator = new ReadReceiptAggregator(jdbcTemplate,
+			new TransactionTemplate(mock(PlatformTransactionManager.class)), messagingTemplate, chatMessageRepository,
+			readWatermarks, presenceRegistry, new SimpleMeterRegistry(), 0, MAX_RETRIES, 1000);
+
+		when(readWatermarks.lastReadOf(CHAT_ID, USER_ID)).thenReturn(10L);
+		when(readWatermarks.advance(CHAT_ID, USER_ID, 15L)).thenReturn(true);
+		when(presenceRegistry.mayHaveOnlineMembers(CHAT_ID)).thenReturn(true);
+		when(chatMessageRepository.findIdsInRange(CHAT_ID, 10L, 15L)).thenReturn(List.of(11L, 12L, 13L, 14L, 15L));
+	}
+
+	@Test
+	void 읽음_위치가_움직인_구간의_메시지를_모두_프레임에_싣는다() {
+		aggregator.submit(CHAT_ID, USER_ID, 15L);
+
+		assertThat(sentFrame().receipts()).extracting(MarkAsReadSubscribe::chatMessageId)
+			.containsExactly(11L, 12L, 13L, 14L, 15L);
+	}
+
+	@Test
+	void 기록에_실패하면_다시_시도한다() {
+		when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+			.thenThrow(new DataAccessResourceFailureException("down"))
+			.thenThrow(new DataAccessResourceFailureException("down"))
+			.thenReturn(new int[] {1});
+
+		aggregator.submit(CHAT_ID, USER_ID, 15L);
+
+		verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+		assertThat(sentFrame().receipts()).hasSize(5);
+	}
+
+	@Test
+	void 재시도_횟수를_넘기면_버리고_프레임을_보내지_않는다() {
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+		aggregator.submit(CHAT_ID, USER_ID, 15L);
+
+		verify(readWatermarks, never()).advance(anyLong(), anyLong(), anyLong());
+		verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+	}
+
+	private MarkAsReadBatchSubscribe sentFrame() {
+		ArgumentCaptor<MarkAsReadBatchSubscribe> frame = ArgumentCaptor.forClass(MarkAsReadBatchSubscribe.class);
+		verify(messagingTemplate).convertAndSend(eq("/sub/chat/read/" + CHAT_ID), frame.capture());
+		return frame.getValue();
+	}
+}
@@ -0,0 +1,70 @@
+package potatoes.server.chat.pipeline;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import potatoes.server.chat.cache.ChatMembershipIndex;
+import potatoes.server.chat.dto.TypingSubscribe;
+import potatoes.server.chat.relay.BrokerRelay;
+import potatoes.server.chat.stomp.ChatPresenceRegistry;
+
+// 여러 노드의 입력중 목록을 합쳐 한 프레임으로 보내는지 확인
+class TypingIndicatorAggregatorTest {
+
+	private static final Long CHAT_ID = 1L;
+	private static final String DESTINATION = "/sub/chat/" + CHAT_ID + "/typing";
+
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+	private final ChatPresenceRegistry presenceRegistry = mock(ChatPresenceRegistry.class);
+	private final BrokerRelay brokerRelay = mock(BrokerRelay.class);
+	private TypingIndicatorAggregator aggregator;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		ObjectProvider<BrokerRelay> relayProvider = mock(ObjectProvider.class);
+		when(relayProvider.getIfAvailable()).thenReturn(brokerRelay);
+		when(presenceRegistry.mayHaveOnlineMembers(CHAT_ID)).thenReturn(true);
+		aggregator = new TypingIndicatorAggregator(messagingTemplate, mock(ChatMembershipIndex.class),
+			presenceRegistry, relayProvider, new SimpleMeterRegistry(), 10, 5_000);
+		aggregator.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		aggregator.stop();
+	}
+
+	@Test
+	void 다른_노드의_입력중_사용자를_합쳐서_보내고_자기_노드의_목록만_relay_한다() {
+		aggregator.submit(CHAT_ID, 1L, true);
+		aggregator.remoteTyping("node-b", CHAT_ID, List.of(2L));
+
+		verify(messagingTemplate, timeout(1_000))
+			.convertAndSend(eq(DESTINATION), eq(new TypingSubscribe(CHAT_ID, List.of(1L, 2L))));
+		verify(brokerRelay, timeout(1_000)).publishTyping(CHAT_ID, List.of(1L));
+		verify(brokerRelay, never()).publishTyping(eq(CHAT_ID), argThat(userIds -> userIds.contains(2L)));
+	}
+
+	@Test
+	void 다른_노드에서_입력을_멈추면_그_노드의_사용자만_빠진다() {
+		aggregator.submit(CHAT_ID, 1L, true);
+		aggregator.remoteTyping("node-b", CHAT_ID, List.of(2L));
+		verify(messagingTemplate, timeout(1_000))
+			.convertAndSend(eq(DESTINATION), eq(new TypingSubscribe(CHAT_ID, List.of(1L, 2L))));
+
+		aggregator.remoteTyping("node-b", CHAT_ID, List.of());
+
+		verify(messagingTemplate, timeout(1_000))
+			.convertAndSend(eq(DESTINATION), eq(new TypingSubscribe(CHAT_ID, List.of(1L))));
+	}
+}
@@ -0,0 +1,165 @@
+package potatoes.server.chat.relay;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import potatoes.server.ServerApplication;
+import potatoes.server.chat.ChatTestFixtures;
+import potatoes.server.chat.cache.ChatMembershipIndex;
+import potatoes.server.chat.cache.InMemorySequenceRedis;
+import potatoes.server.chat.service.ChatService;
+import potatoes.server.utils.jwt.JwtTokenUtil;
+
+// 같은 DB 를 보는 두 노드를 띄우고 InMemoryRelayTransport 로 브로커 채널을 잇는다
+// seq 는 두 노드가 공유하는 InMemorySequenceRedis 로 ChatSequences 의 REDIS 경로를 탄다
+class BrokerRelayTwoNodeTest {
+
+	private final InMemorySequenceRedis sequenceRedis = new InMemorySequenceRedis();
+	private ConfigurableApplicationContext nodeA;
+	private ConfigurableApplicationContext nodeB;
+	private WebSocketStompClient stompClient;
+
+	@BeforeEach
+	void setUp() {
+		String database = "jdbc:h2:mem:relay-" + UUID.randomUUID() + ";MODE=MariaDB;DB_CLOSE_DELAY=-1";
+		String channel = "wego:stomp:" + UUID.randomUUID();
+		nodeA = startNode(database, channel, "create-drop");
+		nodeB = startNode(database, channel, "none");
+		stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+		stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+	}
+
+	@AfterEach
+	void tearDown() {
+		stompClient.stop();
+		nodeB.close();
+		nodeA.close();
+	}
+
+	@Test
+	void 노드_A_로_보낸_메시지를_노드_B_의_구독자가_받는다() throws Exception {
+		ChatTestFixtures.Room room = new ChatTestFixtures(nodeA).createRoom("relay", 2);
+		Long chatId = room.chatId();
+
+		BlockingQueue<Map<?, ?>> received = subscribe(connect(nodeB, room.userIds().get(1)), chatId);
+		StompSession sender = connect(nodeA, room.userIds().get(0));
+
+		Map<?, ?> frame = sendUntilReceived(sender, chatId, "hello from A", received);
+
+		assertThat(frame).isNotNull();
+		assertThat(frame.get("content")).isEqualTo("hello from A");
+	}
+
+	@Test
+	void 노드_A_에서_입장한_사용자가_노드_B_에서_보낸_메시지가_전달된다() throws Exception {
+		ChatTestFixtures fixtures = new ChatTestFixtures(nodeA);
+		ChatTestFixtures.Room room = fixtures.createRoom("join", 2);
+		Long chatId = room.chatId();
+		Long newcomer = fixtures.createTravelMember("join-newcomer", chatId);
+		// 노드 B 가 입장 전의 참여자 목록을 캐시한 상태
+		ChatMembershipIndex membershipOnB = nodeB.getBean(ChatMembershipIndex.class);
+		assertThat(membershipOnB.isMember(chatId, newcomer)).isFalse();
+
+		nodeA.getBean(ChatService.class).joinChat(newcomer, chatId);
+
+		assertThat(membershipOnB.isMember(chatId, newcomer)).isTrue();
+		BlockingQueue<Map<?, ?>> received = subscribe(connect(nodeB, room.userIds().get(1)), chatId);
+		Map<?, ?> fromB = sendUntilReceived(connect(nodeB, newcomer), chatId, "hello from B", received);
+		assertThat(fromB).isNotNull();
+
+		// 두 노드가 같은 방에 발급한 seq 는 겹치지 않고 계속 증가한다
+		Map<?, ?> fromA = sendUntilReceived(connect(nodeA, room.userIds().get(0)), chatId, "hello from A", received);
+		assertThat(fromA).isNotNull();
+		assertThat(((Number)fromA.get("seq")).longValue()).isGreaterThan(((Number)fromB.get("seq")).longValue());
+	}
+
+	private BlockingQueue<Map<?, ?>> subscribe(StompSession session, Long chatId) {
+		BlockingQueue<Map<?, ?>> received = new LinkedBlockingQueue<>();
+		session.subscribe("/sub/chat/" + chatId, new StompFrameHandler() {
+			@Override
+			public Type getPayloadType(StompHeaders headers) {
+				return Map.class;
+			}
+
+			@Override
+			public void handleFrame(StompHeaders headers, Object payload) {
+				received.add((Map<?, ?>)payload);
+			}
+		});
+		return received;
+	}
+
+	// SUBSCRIBE 처리 완료 시점을 알 수 없으므로 받을 때까지 다시 보낸다
+	private Map<?, ?> sendUntilReceived(StompSession sender, Long chatId, String content,
+		BlockingQueue<Map<?, ?>> received) throws InterruptedException {
+		for (int attempt = 0; attempt < 50; attempt++) {
+			sender.send("/pub/chat/" + chatId, Map.of("message", content, "images", List.of()));
+			Map<?, ?> frame;
+			while ((frame = received.poll(200, TimeUnit.MILLISECONDS)) != null) {
+				if (content.equals(frame.get("content"))) {
+					return frame;
+				}
+			}
+		}
+		return null;
+	}
+
+	private ConfigurableApplicationContext startNode(String database, String channel, String ddlAuto) {
+		return new SpringApplicationBuilder(ServerApplication.class)
+			.profiles("test")
+			.initializers(context -> registerSequenceRedis((GenericApplicationContext)context))
+			.properties(
+				"server.port=0",
+				"spring.datasource.url=" + database,
+				"spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+				"chat.broker.mode=REDIS",
+				"chat.broker.relay-transport=MEMORY",
+				"chat.broker.redis-channel=" + channel)
+			.run();
+	}
+
+	// ChatSequences 가 주입받는 RedisTemplate<String, String> 을 두 노드가 공유하는 인스턴스로 바꾼다
+	private void registerSequenceRedis(GenericApplicationContext context) {
+		RootBeanDefinition definition = new RootBeanDefinition();
+		definition.setTargetType(ResolvableType.forClassWithGenerics(RedisTemplate.class, String.class, String.class));
+		definition.setInstanceSupplier(() -> sequenceRedis);
+		definition.setPrimary(true);
+		context.registerBeanDefinition("sharedSequenceRedis", definition);
+	}
+
+	private StompSession connect(ConfigurableApplicationContext node, Long userId) {
+		int port = ((ServletWebServerApplicationContext)node).getWebServer().getPort();
+		WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+		handshakeHeaders.add("Cookie",
+			"accessToken=" + node.getBean(JwtTokenUtil.class).createAccessToken(String.valueOf(userId)));
+		return stompClient.connectAsync("ws://localhost:" + port + "/ws", handshakeHeaders, new StompHeaders(),
+			new StompSessionHandlerAdapter() {
+			}).orTimeout(10, TimeUnit.SECONDS).join();
+	}
+}
@@ -0,0 +1,90 @@
+package potatoes.server.chat.service;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import jakarta.persistence.EntityManagerFactory;
+import potatoes.server.chat.ChatTestFixtures;
+import potatoes.server.chat.dto.RecentChatResponse;
+import potatoes.server.utils.constant.ChatSortType;
+
+// GET /chat, GET /chat/{chatId} 가 쓰는 조회의 SQL 실행 수가 결과 크기와 관계없이 일정한지 확인
+// 최근 메시지 버퍼를 끄고 매번 DB 에서 읽는다
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	"chat.hot-tail.enabled=false"
+})
+class ChatServiceQueryCountTest {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private ChatService chatService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private ChatTestFixtures fixtures;
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		fixtures = new ChatTestFixtures(context);
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void 채팅_기록_조회는_페이지_크기와_관계없이_같은_수의_쿼리를_실행한다() {
+		ChatTestFixtures.Room room = fixtures.createRoom("history", 2);
+		Long reader = room.userIds().get(1);
+		fixtures.createMessages(room.chatId(), room.userIds().get(0), 40, 2);
+		// 멤버십 인덱스와 읽음 워터마크를 미리 적재
+		chatService.getRecentChatMessages(reader, room.chatId(), 1, 0L);
+
+		long smallPage = statementsOf(() -> assertThat(
+			chatService.getRecentChatMessages(reader, room.chatId(), 5, 0L).chatMessages()).hasSize(5));
+		long largePage = statementsOf(() -> assertThat(
+			chatService.getRecentChatMessages(reader, room.chatId(), 30, 0L).chatMessages()).hasSize(30));
+
+		assertThat(largePage).isEqualTo(smallPage);
+		// 채팅방, 메시지 + 보낸 사람, 이미지
+		assertThat(largePage).isLessThanOrEqualTo(3);
+	}
+
+	@Test
+	void 채팅방_목록_조회는_채팅방_수와_관계없이_같은_수의_쿼리를_실행한다() {
+		Long fewRoomsUser = fixtures.createUsers("few-rooms", 1).get(0);
+		Long manyRoomsUser = fixtures.createUsers("many-rooms", 1).get(0);
+		for (int i = 0; i < 2; i++) {
+			fixtures.createRoom("few-rooms-" + i, List.of(fewRoomsUser));
+		}
+		for (int i = 0; i < 12; i++) {
+			fixtures.createRoom("many-rooms-" + i, List.of(manyRoomsUser));
+		}
+
+		long fewRooms = statementsOf(() -> assertThat(
+			chatService.getChatSummaryList(fewRoomsUser, ChatSortType.UNREAD)).hasSize(2));
+		long manyRooms = statementsOf(() -> assertThat(
+			chatService.getChatSummaryList(manyRoomsUser, ChatSortType.UNREAD)).hasSize(12));
+
+		assertThat(manyRooms).isEqualTo(fewRooms);
+	}
+
+	private long statementsOf(Runnable query) {
+		statistics.clear();
+		query.run();
+		return statistics.getPrepareStatementCount();
+	}
+}
@@ -0,0 +1,120 @@
+package potatoes.server.chat.stomp;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+
+import potatoes.server.chat.dto.MessageSubscribe;
+import potatoes.server.chat.service.ChatService;
+
+// 이어받기 프레임이 브로커를 거쳐 lastSeq 를 보낸 구독에만 전달되는지 확인
+class ChatResumeInterceptorTest {
+
+	private static final Long CHAT_ID = 1L;
+	private static final String DESTINATION = "/sub/chat/" + CHAT_ID;
+	private static final int MAX_MESSAGES = 2;
+
+	private final ChatService chatService = mock(ChatService.class);
+	private final List<Message<?>> delivered = new CopyOnWriteArrayList<>();
+	private final ExecutorSubscribableChannel clientInboundChannel = new ExecutorSubscribableChannel();
+	private SimpleBrokerMessageHandler broker;
+
+	@BeforeEach
+	void setUp() {
+		ExecutorSubscribableChannel clientOutboundChannel = new ExecutorSubscribableChannel();
+		ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+		clientOutboundChannel.subscribe(message -> {
+			if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+				delivered.add(message);
+			}
+		});
+
+		SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+		messagingTemplate.setMessageConverter(new MappingJackson2MessageConverter());
+		clientInboundChannel.addInterceptor(new ChatResumeInterceptor(chatService, messagingTemplate, MAX_MESSAGES));
+
+		broker = new SimpleBrokerMessageHandler(clientInboundChannel, clientOutboundChannel, brokerChannel,
+			List.of("/sub"));
+		broker.setSubscriptionRegistry(new ChatSubscriptionRegistry());
+		broker.setPreservePublishOrder(true);
+		broker.start();
+
+		connect("live");
+		connect("resuming");
+		clientInboundChannel.send(subscribe("live", null));
+	}
+
+	@AfterEach
+	void tearDown() {
+		broker.stop();
+	}
+
+	@Test
+	void 놓친_메시지는_lastSeq_를_보낸_구독에만_순서대로_보낸다() {
+		when(chatService.getMessagesAfterSeq(CHAT_ID, 5L, MAX_MESSAGES))
+			.thenReturn(List.of(message(6L), message(7L)));
+
+		clientInboundChannel.send(subscribe("resuming", "5"));
+
+		assertThat(delivered).hasSize(2)
+			.allSatisfy(message -> {
+				assertThat(SimpMessageHeaderAccessor.getSessionId(message.getHeaders())).isEqualTo("resuming");
+				assertThat(SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders())).isEqualTo("sub-resuming");
+			});
+		assertThat(delivered).extracting(message -> new String((byte[])message.getPayload()))
+			.satisfiesExactly(
+				payload -> assertThat(payload).contains("\"seq\":6"),
+				payload -> assertThat(payload).contains("\"seq\":7"));
+	}
+
+	@Test
+	void 놓친_메시지가_너무_많으면_재동기화_프레임을_보낸다() {
+		when(chatService.getMessagesAfterSeq(CHAT_ID, 5L, MAX_MESSAGES)).thenReturn(null);
+
+		clientInboundChannel.send(subscribe("resuming", "5"));
+
+		assertThat(delivered).singleElement().satisfies(message -> {
+			assertThat(SimpMessageHeaderAccessor.getSessionId(message.getHeaders())).isEqualTo("resuming");
+			assertThat(NativeMessageHeaderAccessor.getFirstNativeHeader("resync", message.getHeaders()))
+				.isEqualTo("true");
+			assertThat(new String((byte[])message.getPayload())).contains("\"lastSeq\":5");
+		});
+	}
+
+	private void connect(String sessionId) {
+		SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+		headerAccessor.setSessionId(sessionId);
+		clientInboundChannel.send(MessageBuilder.createMessage(new byte[0], headerAccessor.getMessageHeaders()));
+	}
+
+	private Message<byte[]> subscribe(String sessionId, String lastSeq) {
+		SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+		headerAccessor.setSessionId(sessionId);
+		headerAccessor.setSubscriptionId("sub-" + sessionId);
+		headerAccessor.setDestination(DESTINATION);
+		if (lastSeq != null) {
+			headerAccessor.setNativeHeader("lastSeq", lastSeq);
+		}
+		return MessageBuilder.createMessage(new byte[0], headerAccessor.getMessageHeaders());
+	}
+
+	private MessageSubscribe message(long seq) {
+		return new MessageSubscribe(seq * 100, seq, List.of(), "message " + seq, "sender", null,
+			"2024-01-01 00:00", 0);
+	}
+}
@@ -0,0 +1,97 @@
+package potatoes.server.chat.stomp;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import potatoes.server.chat.dto.MessageSubscribe;
+
+class CompactFrameCodecTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final MessageChannel channel = mock(MessageChannel.class);
+	private final StompSubProtocolHandler protocolHandler = new StompSubProtocolHandler();
+	private CompactFrameCodec codec;
+
+	@BeforeEach
+	void setUp() {
+		codec = new CompactFrameCodec(objectMapper, new SimpleMeterRegistry(), true, 1024);
+	}
+
+	@Test
+	void compact_세션의_채팅_프레임은_BinaryMessage_로_전달된다() throws Exception {
+		connect("compact-session", "compact");
+
+		WebSocketMessage<?> sent = deliver("compact-session", chatFrame());
+
+		assertThat(sent).isInstanceOf(BinaryMessage.class);
+		String frameHeaders = new String(((BinaryMessage)sent).getPayload().array(), StandardCharsets.ISO_8859_1);
+		assertThat(frameHeaders).contains("content-type:application/octet-stream", "frame-encoding:compact");
+	}
+
+	@Test
+	void compact_를_요청하지_않은_세션은_JSON_TextMessage_로_전달된다() throws Exception {
+		connect("json-session", null);
+
+		WebSocketMessage<?> sent = deliver("json-session", chatFrame());
+
+		assertThat(sent).isInstanceOf(TextMessage.class);
+		assertThat(((TextMessage)sent).getPayload()).contains("\"content\":\"안녕하세요\"");
+	}
+
+	private void connect(String sessionId, String encoding) {
+		StompHeaderAccessor headerAccessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+		headerAccessor.setSessionId(sessionId);
+		if (encoding != null) {
+			headerAccessor.setNativeHeader("frame-encoding", encoding);
+		}
+		codec.preSend(MessageBuilder.createMessage(new byte[0], headerAccessor.getMessageHeaders()), channel);
+	}
+
+	private byte[] chatFrame() throws Exception {
+		return objectMapper.writeValueAsBytes(new MessageSubscribe(1L, 1L, List.of(), "안녕하세요", "sender", null,
+			"2024-01-01 12:00:00", 0));
+	}
+
+	// 브로커가 보낸 MESSAGE 를 codec 에 통과시킨 뒤 StompSubProtocolHandler 가 소켓에 쓴 메시지를 반환
+	private WebSocketMessage<?> deliver(String sessionId, byte[] payload) throws Exception {
+		SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		headerAccessor.setSessionId(sessionId);
+		headerAccessor.setSubscriptionId("sub-0");
+		headerAccessor.setDestination("/sub/chat/1");
+		headerAccessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+		Message<?> transcoded = codec.preSend(
+			MessageBuilder.createMessage(payload, headerAccessor.getMessageHeaders()), channel);
+
+		WebSocketSession session = mock(WebSocketSession.class);
+		when(session.getId()).thenReturn(sessionId);
+		when(session.isOpen()).thenReturn(true);
+		protocolHandler.handleMessageToClient(session, transcoded);
+
+		ArgumentCaptor<WebSocketMessage> sent = ArgumentCaptor.forClass(WebSocketMessage.class);
+		verify(session).sendMessage(sent.capture());
+		return sent.getValue();
+	}
+}
@@ -0,0 +1,58 @@
+package potatoes.server.chat.stomp;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import potatoes.server.chat.dto.ChatFrameRejected;
+
+class InboundRateLimiterTest {
+
+	private static final String SESSION_ID = "session-1";
+
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+	private final InboundRateLimiter rateLimiter = new InboundRateLimiter(new MockEnvironment()
+		.withProperty("chat.rate-limit.session.rate-per-second", "1")
+		.withProperty("chat.rate-limit.session.burst", "1"), new SimpleMeterRegistry(), messagingTemplate);
+
+	@Test
+	void 한도를_넘은_메시지는_보낸_세션에만_거부를_알린다() {
+		StompHeaderAccessor first = send("/pub/chat/1");
+		StompHeaderAccessor second = send("/pub/chat/1");
+
+		assertThat(rateLimiter.tryAcquire(first)).isTrue();
+		assertThat(rateLimiter.tryAcquire(second)).isFalse();
+		rateLimiter.notifyRejected(second);
+
+		ArgumentCaptor<Object> notice = ArgumentCaptor.forClass(Object.class);
+		verify(messagingTemplate).convertAndSendToUser(eq(SESSION_ID), eq("/sub/chat/error"), notice.capture(),
+			anyMap());
+		assertThat(notice.getValue()).isInstanceOfSatisfying(ChatFrameRejected.class, rejected -> {
+			assertThat(rejected.destination()).isEqualTo("/pub/chat/1");
+			assertThat(rejected.code()).isEqualTo("STOMP_RATE_LIMITED");
+		});
+	}
+
+	@Test
+	void 거부된_입력중_표시는_알리지_않는다() {
+		rateLimiter.notifyRejected(send("/pub/chat/1/typing"));
+
+		verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any(), anyMap());
+	}
+
+	private StompHeaderAccessor send(String destination) {
+		StompHeaderAccessor headerAccessor = StompHeaderAccessor.create(StompCommand.SEND);
+		headerAccessor.setSessionId(SESSION_ID);
+		headerAccessor.setDestination(destination);
+		headerAccessor.setUser(new StompUserPrincipal(1L, SESSION_ID));
+		return headerAccessor;
+	}
+}
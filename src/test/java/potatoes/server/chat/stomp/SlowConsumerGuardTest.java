@@ -0,0 +1,172 @@
+package potatoes.server.chat.stomp;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import potatoes.server.utils.constant.SlowConsumerPolicy;
+
+// 운영과 같이 preserve-order 를 켠 SimpleBroker 로 clientOutboundChannel 까지 프레임을 흘려보낸다
+// 스프링은 세션별로 한 프레임씩만 채널에 넣고 나머지는 채널 앞에 쌓아두므로 대기 수는 brokerChannel 에서 세야 한다
+class SlowConsumerGuardTest {
+
+	private static final String SESSION_ID = "stalled";
+	private static final int QUEUE_DEPTH = 3;
+	private static final int MAX_QUEUE_DEPTH = 20;
+
+	private final CountDownLatch socketReleased = new CountDownLatch(1);
+	private final CountDownLatch writeStarted = new CountDownLatch(1);
+	private final List<String> written = new CopyOnWriteArrayList<>();
+	private final ExecutorSubscribableChannel clientInboundChannel = new ExecutorSubscribableChannel();
+	private final ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+	private final ThreadPoolTaskExecutor outboundExecutor = new ThreadPoolTaskExecutor();
+	private SlowConsumerGuard guard;
+	private WebSocketSession socket;
+	private WebSocketSession trackedSession;
+	private SimpleBrokerMessageHandler broker;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		guard = new SlowConsumerGuard(new SimpleMeterRegistry(), SlowConsumerPolicy.DROP_NON_CRITICAL, QUEUE_DEPTH,
+			MAX_QUEUE_DEPTH, Duration.ofSeconds(30));
+
+		// 소켓 쓰기가 풀릴 때까지 멈춰 있는 세션
+		socket = mock(WebSocketSession.class);
+		when(socket.getId()).thenReturn(SESSION_ID);
+		doAnswer(invocation -> {
+			writeStarted.countDown();
+			return socketReleased.await(10, TimeUnit.SECONDS);
+		}).when(socket).sendMessage(any());
+
+		AtomicReference<WebSocketSession> decorated = new AtomicReference<>();
+		guard.decorate(new AbstractWebSocketHandler() {
+			@Override
+			public void afterConnectionEstablished(WebSocketSession session) {
+				decorated.set(session);
+			}
+		}).afterConnectionEstablished(socket);
+		trackedSession = decorated.get();
+
+		outboundExecutor.initialize();
+		ExecutorSubscribableChannel clientOutboundChannel = new ExecutorSubscribableChannel(outboundExecutor);
+		clientOutboundChannel.addInterceptor(guard);
+		clientOutboundChannel.subscribe(this::writeToSocket);
+		clientInboundChannel.addInterceptor(guard.subscriptionTracker());
+		brokerChannel.addInterceptor(guard.brokerInterceptor());
+
+		broker = new SimpleBrokerMessageHandler(clientInboundChannel, clientOutboundChannel, brokerChannel,
+			List.of("/sub"));
+		broker.setPreservePublishOrder(true);
+		broker.start();
+
+		clientInboundChannel.send(frame(SimpMessageType.CONNECT, null, null));
+		clientInboundChannel.send(frame(SimpMessageType.SUBSCRIBE, "/sub/chat/1", "chat"));
+		clientInboundChannel.send(frame(SimpMessageType.SUBSCRIBE, "/sub/chat/read/1", "read"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		socketReleased.countDown();
+		broker.stop();
+		outboundExecutor.shutdown();
+	}
+
+	@Test
+	void 채널_앞에_쌓인_프레임도_대기_수에_포함하고_비핵심_프레임을_버린다() throws Exception {
+		publish("/sub/chat/1");
+		assertThat(writeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		publish("/sub/chat/read/1");
+		for (int i = 0; i < 5; i++) {
+			publish("/sub/chat/1");
+		}
+
+		// 처리중인 1개 외에는 모두 스프링의 세션별 순서 보장 큐에 있다
+		assertThat(guard.queued(SESSION_ID)).isEqualTo(7);
+
+		socketReleased.countDown();
+		awaitQueued(0);
+		assertThat(written).containsOnly("/sub/chat/1").hasSize(6);
+	}
+
+	@Test
+	void 대기_수가_최대치를_넘으면_연결을_끊는다() throws Exception {
+		publish("/sub/chat/1");
+		assertThat(writeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		for (int i = 0; i < MAX_QUEUE_DEPTH; i++) {
+			publish("/sub/chat/1");
+		}
+
+		verify(socket).close(CloseStatus.SESSION_NOT_RELIABLE);
+		assertThat(guard.queued(SESSION_ID)).isZero();
+	}
+
+	@Test
+	void 구독을_해지한_destination_의_프레임은_세지_않는다() throws Exception {
+		clientInboundChannel.send(frame(SimpMessageType.UNSUBSCRIBE, null, "chat"));
+
+		publish("/sub/chat/1");
+
+		assertThat(guard.queued(SESSION_ID)).isZero();
+		assertThat(writeStarted.await(200, TimeUnit.MILLISECONDS)).isFalse();
+	}
+
+	private void writeToSocket(Message<?> message) {
+		if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+			return;
+		}
+		String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+		written.add(destination);
+		try {
+			trackedSession.sendMessage(new TextMessage(destination));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void publish(String destination) {
+		SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		headerAccessor.setDestination(destination);
+		brokerChannel.send(MessageBuilder.createMessage(new byte[0], headerAccessor.getMessageHeaders()));
+	}
+
+	private Message<byte[]> frame(SimpMessageType type, String destination, String subscriptionId) {
+		SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(type);
+		headerAccessor.setSessionId(SESSION_ID);
+		headerAccessor.setDestination(destination);
+		headerAccessor.setSubscriptionId(subscriptionId);
+		return MessageBuilder.createMessage(new byte[0], headerAccessor.getMessageHeaders());
+	}
+
+	private void awaitQueued(int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (guard.queued(SESSION_ID) != expected && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(guard.queued(SESSION_ID)).isEqualTo(expected);
+	}
+}
@@ -0,0 +1,71 @@
+package potatoes.server.utils.jwt;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import potatoes.server.utils.error.exception.WeGoException;
+
+class JwtTokenUtilTest {
+
+	private static final String SECRET_KEY = "jwt-token-util-test-secret-key-0123456789abcdef";
+
+	@Test
+	void 만료된_토큰은_캐시에서_꺼내지_않는다() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10);
+		cache.put("token", "1", 2_000, 1_000);
+
+		assertThat(cache.find("token", 1_999)).isEqualTo("1");
+		assertThat(cache.find("token", 2_000)).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void 가득_차면_가장_오래_사용되지_않은_토큰을_내린다() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(2);
+		cache.put("first", "1", 10_000, 1_000);
+		cache.put("second", "2", 10_000, 1_000);
+		assertThat(cache.find("first", 1_000)).isEqualTo("1");
+
+		cache.put("third", "3", 10_000, 1_000);
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.find("second", 1_000)).isNull();
+		assertThat(cache.find("first", 1_000)).isEqualTo("1");
+		assertThat(cache.find("third", 1_000)).isEqualTo("3");
+	}
+
+	@Test
+	void 캐시된_토큰도_만료되면_인증에_실패한다() throws InterruptedException {
+		JwtTokenUtil jwtTokenUtil = jwtTokenUtil(1_000L);
+		String token = jwtTokenUtil.createAccessToken("1");
+		assertThat(jwtTokenUtil.getPayload(token)).isEqualTo("1");
+		assertThat(jwtTokenUtil.getPayload(token)).isEqualTo("1");
+
+		// exp 는 초 단위로 잘리므로 넉넉히 기다린다
+		Thread.sleep(2_000);
+
+		assertThatThrownBy(() -> jwtTokenUtil.getPayload(token)).isInstanceOf(WeGoException.class);
+	}
+
+	@Test
+	void 서명이_다른_토큰은_거부한다() {
+		JwtTokenUtil jwtTokenUtil = jwtTokenUtil(60_000L);
+		String token = jwtTokenUtil.createAccessToken("1");
+		jwtTokenUtil.getPayload(token);
+
+		String forged = token.substring(0, token.lastIndexOf('.') + 1) + "forged";
+
+		assertThatThrownBy(() -> jwtTokenUtil.getPayload(forged)).isInstanceOf(WeGoException.class);
+	}
+
+	private JwtTokenUtil jwtTokenUtil(long expiration) {
+		JwtTokenUtil jwtTokenUtil = new JwtTokenUtil();
+		ReflectionTestUtils.setField(jwtTokenUtil, "secretKey", SECRET_KEY);
+		ReflectionTestUtils.setField(jwtTokenUtil, "accessTokenExpiration", expiration);
+		ReflectionTestUtils.setField(jwtTokenUtil, "verifiedCacheMaxEntries", 100);
+		ReflectionTestUtils.invokeMethod(jwtTokenUtil, "init");
+		return jwtTokenUtil;
+	}
+}